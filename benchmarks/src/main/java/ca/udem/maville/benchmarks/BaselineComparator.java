@@ -0,0 +1,109 @@
+package ca.udem.maville.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compare deux résultats JMH (-rf json) : une référence (benchmarks/baselines/) et une exécution courante
+ *
+ * Une régression est signalée quand l'écart dépasse le seuil (10 % par défaut) dans le mauvais sens
+ * (temps plus long, ou débit plus faible en mode thrpt) ET que les intervalles d'erreur des deux
+ * mesures ne se chevauchent pas. Code de sortie 1 s'il y a au moins une régression.
+ *
+ * Usage : java -cp target/benchmarks.jar ca.udem.maville.benchmarks.BaselineComparator \
+ *             baselines/reference.json resultats.json [seuil%]
+ */
+public final class BaselineComparator {
+    
+    private BaselineComparator() {}
+    
+    record Mesure(String mode, double score, double erreur, String unite) {}
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <reference.json> <courant.json> [seuil%]");
+            System.exit(2);
+        }
+        double seuil = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        
+        Map<String, Mesure> reference = lire(new File(args[0]));
+        Map<String, Mesure> courant = lire(new File(args[1]));
+        
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %-8s %8s  %s%n", "benchmark", "reference", "courant", "unite", "ecart", "verdict");
+        for (Map.Entry<String, Mesure> entree : courant.entrySet()) {
+            Mesure actuelle = entree.getValue();
+            Mesure base = reference.get(entree.getKey());
+            if (base == null) {
+                System.out.printf("%-70s %14s %14.3f %-8s %8s  %s%n", entree.getKey(), "-",
+                                  actuelle.score(), actuelle.unite(), "-", "NOUVEAU");
+                continue;
+            }
+            
+            double ecart = (actuelle.score() - base.score()) / base.score() * 100.0;
+            // En mode débit (thrpt), une baisse du score est une régression ; sinon, une hausse
+            double degradation = "thrpt".equals(actuelle.mode()) ? -ecart : ecart;
+            boolean significatif = Math.abs(actuelle.score() - base.score())
+                                   > erreurOuZero(actuelle) + erreurOuZero(base);
+            
+            String verdict = "OK";
+            if (significatif && degradation > seuil) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (significatif && degradation < -seuil) {
+                verdict = "AMELIORATION";
+            }
+            System.out.printf("%-70s %14.3f %14.3f %-8s %+7.1f%%  %s%n", entree.getKey(),
+                              base.score(), actuelle.score(), actuelle.unite(), ecart, verdict);
+        }
+        for (String disparu : reference.keySet()) {
+            if (!courant.containsKey(disparu)) {
+                System.out.printf("%-70s %14.3f %14s %-8s %8s  %s%n", disparu,
+                                  reference.get(disparu).score(), "-", reference.get(disparu).unite(), "-", "ABSENT");
+            }
+        }
+        
+        System.out.printf("%n%d régression(s) au-delà de %.1f %%%n", regressions, seuil);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+    
+    /**
+     * Clé : nom court du benchmark et paramètres triés, ex. TravauxBenchmark.fusionnerEtPaginer{projets=1000, quartier=}
+     */
+    static Map<String, Mesure> lire(File fichier) throws IOException {
+        JsonNode resultats = new ObjectMapper().readTree(fichier);
+        Map<String, Mesure> mesures = new LinkedHashMap<>();
+        for (JsonNode resultat : resultats) {
+            String benchmark = resultat.path("benchmark").asText();
+            int dernierPoint = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1);
+            String nom = benchmark.substring(dernierPoint + 1);
+            
+            Map<String, String> parametres = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> champs = resultat.path("params").fields();
+            while (champs.hasNext()) {
+                Map.Entry<String, JsonNode> champ = champs.next();
+                parametres.put(champ.getKey(), champ.getValue().asText());
+            }
+            
+            JsonNode metrique = resultat.path("primaryMetric");
+            mesures.put(parametres.isEmpty() ? nom : nom + parametres, new Mesure(
+                resultat.path("mode").asText(),
+                metrique.path("score").asDouble(),
+                metrique.path("scoreError").asDouble(),
+                metrique.path("scoreUnit").asText()
+            ));
+        }
+        return mesures;
+    }
+    
+    private static double erreurOuZero(Mesure mesure) {
+        return Double.isNaN(mesure.erreur()) ? 0.0 : mesure.erreur();
+    }
+}
@@ -0,0 +1,158 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.entity.CandidatureEntity;
+import ca.udem.maville.entity.NotificationEntity;
+import ca.udem.maville.entity.PrestataireEntity;
+import ca.udem.maville.entity.ProblemeEntity;
+import ca.udem.maville.entity.ProjetEntity;
+import ca.udem.maville.entity.ResidentEntity;
+import ca.udem.maville.modele.Priorite;
+import ca.udem.maville.modele.StatutProjet;
+import ca.udem.maville.modele.TypeTravaux;
+import ca.udem.maville.repository.projection.ProjetListView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Jeux de données déterministes (graine fixe) partagés par les benchmarks
+ * 
+ * Les formes reprennent celles de l'application : projections ProjetListView,
+ * maps produites par MontrealApiService.extraireTravaux, entités JPA détachées.
+ */
+final class Donnees {
+    
+    static final String[] LOCALISATIONS = {
+        "1234 rue Saint-Denis, Plateau",
+        "5000 boul. Rosemont",
+        "100 rue Sherbrooke Est, Mercier",
+        "2500 chemin de la Côte-des-Neiges, CDN",
+        "800 rue Wellington, Verdun",
+        "45 avenue Laurier, Outremont",
+        "3000 rue Jarry, Villeray",
+        "10 rue Inconnue, Saint-Laurent"
+    };
+    
+    private static final String[] ARRONDISSEMENTS = {
+        "Rosemont", "Ville-Marie", "Plateau", "Verdun", "Mercier", "Villeray", "Ahuntsic", "LaSalle"
+    };
+    
+    private Donnees() {}
+    
+    static List<ProjetListView> projets(int nombre) {
+        Random random = new Random(42);
+        TypeTravaux[] types = TypeTravaux.values();
+        StatutProjet[] statuts = StatutProjet.values();
+        List<ProjetListView> projets = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            LocalDate debut = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            projets.add(new Projet(
+                (long) i + 1,
+                "Réfection de la chaussée et des trottoirs, lot " + i,
+                LOCALISATIONS[random.nextInt(LOCALISATIONS.length)],
+                statuts[random.nextInt(statuts.length)],
+                types[random.nextInt(types.length)],
+                debut,
+                debut.plusDays(30 + random.nextInt(120)),
+                10_000.0 + random.nextInt(500_000)
+            ));
+        }
+        return projets;
+    }
+    
+    /**
+     * Travaux au format de MontrealApiService (maps non modifiables, comme celles du cache)
+     */
+    static List<Map<String, Object>> travauxMontreal(int nombre) {
+        Random random = new Random(7);
+        List<Map<String, Object>> travaux = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            Map<String, Object> travail = new HashMap<>();
+            travail.put("id", 100_000 + i);
+            travail.put("arrondissement", ARRONDISSEMENTS[random.nextInt(ARRONDISSEMENTS.length)]);
+            travail.put("statut", "InProgress");
+            travail.put("motif", random.nextBoolean() ? "Construction/rénovation sans excavation" : "Réseaux routiers");
+            travail.put("organisation", "Ville de Montréal");
+            travail.put("categorie_soumissionnaire", "Entrepreneur");
+            travail.put("date_debut", "2025-05-01T00:00:00");
+            travail.put("date_fin", "2025-10-31T00:00:00");
+            travaux.add(Map.copyOf(travail));
+        }
+        return travaux;
+    }
+    
+    static ResidentEntity resident() {
+        ResidentEntity resident = new ResidentEntity("Marie", "Tremblay", "marie@test.com",
+                                                     "514-555-0101", "1234 rue Saint-Denis, Plateau");
+        resident.setId(1L);
+        return resident;
+    }
+    
+    static PrestataireEntity prestataire() {
+        PrestataireEntity prestataire = new PrestataireEntity("1234567890", "Construction ABC inc.",
+                                                              "Jean Roy", "514-555-0202", "contact@abc.ca");
+        prestataire.setId(1L);
+        return prestataire;
+    }
+    
+    static ProblemeEntity probleme(long id, ResidentEntity declarant) {
+        ProblemeEntity probleme = new ProblemeEntity(LOCALISATIONS[(int) (id % LOCALISATIONS.length)],
+                                                     TypeTravaux.TRAVAUX_ROUTIERS,
+                                                     "Nid de poule important devant l'école", declarant,
+                                                     Priorite.ELEVEE);
+        probleme.setId(id);
+        return probleme;
+    }
+    
+    static ProjetEntity projet(int nombreProblemes) {
+        ResidentEntity resident = resident();
+        List<ProblemeEntity> problemes = new ArrayList<>(nombreProblemes);
+        for (int i = 1; i <= nombreProblemes; i++) {
+            problemes.add(probleme(i, resident));
+        }
+        PrestataireEntity prestataire = prestataire();
+        CandidatureEntity candidature = new CandidatureEntity(prestataire, problemes,
+            "Réparation de la chaussée", 25_000.0, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 7, 15));
+        candidature.setId(1L);
+        ProjetEntity projet = new ProjetEntity(candidature, problemes, prestataire);
+        projet.setId(1L);
+        projet.setLocalisation(problemes.get(0).getLieu());
+        projet.setStatut(StatutProjet.EN_COURS);
+        projet.setPriorite(Priorite.ELEVEE);
+        projet.setTypeTravail(TypeTravaux.TRAVAUX_ROUTIERS);
+        projet.setDateCreation(LocalDateTime.of(2025, 5, 20, 9, 0));
+        projet.setDerniereMiseAJour(LocalDateTime.of(2025, 6, 2, 14, 30));
+        projet.setNombreRapports(0);
+        return projet;
+    }
+    
+    static NotificationEntity notification() {
+        NotificationEntity notification = new NotificationEntity(
+            "Le projet #12 (Réfection de la chaussée, Plateau) est maintenant en cours",
+            "STATUT", "marie@test.com", 12L, "RESIDENT");
+        notification.setId(4242L);
+        notification.setDateCreation(LocalDateTime.of(2025, 6, 2, 14, 30));
+        return notification;
+    }
+    
+    /**
+     * Implémentation simple de la projection Spring Data
+     */
+    private record Projet(Long id, String descriptionProjet, String localisation, StatutProjet statut,
+                          TypeTravaux typeTravail, LocalDate dateDebutPrevue, LocalDate dateFinPrevue,
+                          Double cout) implements ProjetListView {
+        @Override public Long getId() { return id; }
+        @Override public String getDescriptionProjet() { return descriptionProjet; }
+        @Override public String getLocalisation() { return localisation; }
+        @Override public StatutProjet getStatut() { return statut; }
+        @Override public TypeTravaux getTypeTravail() { return typeTravail; }
+        @Override public LocalDate getDateDebutPrevue() { return dateDebutPrevue; }
+        @Override public LocalDate getDateFinPrevue() { return dateFinPrevue; }
+        @Override public Double getCout() { return cout; }
+    }
+}
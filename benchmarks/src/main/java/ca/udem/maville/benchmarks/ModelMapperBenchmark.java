@@ -0,0 +1,58 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.entity.ProblemeEntity;
+import ca.udem.maville.entity.ProjetEntity;
+import ca.udem.maville.entity.ResidentEntity;
+import ca.udem.maville.modele.Probleme;
+import ca.udem.maville.modele.Projet;
+import ca.udem.maville.service.ModelMapperService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions entité JPA ↔ modèle de ModelMapperService (entités détachées, sans proxy Hibernate)
+ * 
+ * Avec -prof gc, le taux d'allocation par opération mesure le coût des DTO intermédiaires.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelMapperBenchmark {
+    
+    @Param({"1", "20"})
+    public int problemesParProjet;
+    
+    private ModelMapperService mapper;
+    private ResidentEntity resident;
+    private ProblemeEntity problemeEntity;
+    private Probleme probleme;
+    private ProjetEntity projetEntity;
+    
+    @Setup
+    public void preparer() {
+        mapper = new ModelMapperService();
+        resident = Donnees.resident();
+        problemeEntity = Donnees.probleme(1, resident);
+        probleme = mapper.toModel(problemeEntity);
+        projetEntity = Donnees.projet(problemesParProjet);
+    }
+    
+    @Benchmark
+    public Probleme problemeVersModele() {
+        return mapper.toModel(problemeEntity);
+    }
+    
+    @Benchmark
+    public ProblemeEntity problemeVersEntite() {
+        return mapper.toEntity(probleme, resident);
+    }
+    
+    @Benchmark
+    public Projet projetVersModele() {
+        return mapper.toModel(projetEntity);
+    }
+}
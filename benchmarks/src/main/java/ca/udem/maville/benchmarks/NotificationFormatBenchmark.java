@@ -0,0 +1,36 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.api.service.NotificationService;
+import ca.udem.maville.entity.NotificationEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationService.formatNotificationAsJson : exécuté une fois par notification poussée en SSE
+ * 
+ * Seul l'ObjectMapper est utilisé par le formatage : les autres dépendances restent nulles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationFormatBenchmark {
+    
+    private NotificationService notificationService;
+    private NotificationEntity notification;
+    
+    @Setup
+    public void preparer() {
+        notificationService = new NotificationService(null, null, null, new ObjectMapper());
+        notification = Donnees.notification();
+    }
+    
+    @Benchmark
+    public String formatNotificationAsJson() {
+        return notificationService.formatNotificationAsJson(notification);
+    }
+}
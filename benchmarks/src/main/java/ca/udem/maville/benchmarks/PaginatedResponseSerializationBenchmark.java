@@ -0,0 +1,53 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.service.ApiService;
+import ca.udem.maville.api.service.TravauxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation d'une page de /api/residents/travaux dans les formats négociés par l'API
+ * (JSON, Smile, CBOR — voir « Compression and binary formats » dans le README)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaginatedResponseSerializationBenchmark {
+    
+    @Param({"json", "smile", "cbor"})
+    public String format;
+    
+    @Param({"10", "100"})
+    public int taillePage;
+    
+    private ObjectMapper mapper;
+    private PaginatedResponse<Map<String, Object>> page;
+    
+    @Setup
+    public void preparer() {
+        mapper = switch (format) {
+            case "smile" -> new SmileMapper();
+            case "cbor" -> new CBORMapper();
+            default -> new ObjectMapper();
+        };
+        TravauxService travauxService = new TravauxService(new ApiService());
+        List<Map<String, Object>> travaux = travauxService.fusionnerTravaux(
+            Donnees.projets(taillePage), Donnees.travauxMontreal(50), null, null);
+        page = travauxService.paginer(travaux, 0, taillePage);
+    }
+    
+    @Benchmark
+    public byte[] serialiser() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+}
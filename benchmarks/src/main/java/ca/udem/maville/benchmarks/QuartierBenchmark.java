@@ -0,0 +1,41 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.api.service.ApiService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiService.extraireQuartier : appelé pour chaque projet MaVille de /api/residents/travaux
+ * 
+ * Les paramètres couvrent un quartier trouvé tôt, trouvé en dernier (CDN),
+ * le repli sur la dernière virgule et le quartier par défaut.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuartierBenchmark {
+    
+    @Param({
+        "5000 boul. Rosemont",
+        "2500 chemin de la Côte-des-Neiges, CDN",
+        "10 rue Inconnue, Saint-Laurent",
+        "Adresse sans quartier"
+    })
+    public String localisation;
+    
+    private ApiService apiService;
+    
+    @Setup
+    public void preparer() {
+        apiService = new ApiService();
+    }
+    
+    @Benchmark
+    public String extraireQuartier() {
+        return apiService.extraireQuartier(localisation);
+    }
+}
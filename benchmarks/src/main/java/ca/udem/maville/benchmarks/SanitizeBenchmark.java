@@ -0,0 +1,44 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.api.util.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ValidationUtil.sanitize : appliqué aux champs texte des signalements et candidatures
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SanitizeBenchmark {
+    
+    /**
+     * court : un lieu ; description : texte libre de ~2 Ko avec quelques caractères à échapper
+     */
+    @Param({"court", "description"})
+    public String entree;
+    
+    private String texte;
+    
+    @Setup
+    public void preparer() {
+        if ("court".equals(entree)) {
+            texte = "  1234 rue Saint-Denis, Plateau  ";
+        } else {
+            StringBuilder description = new StringBuilder();
+            while (description.length() < 2048) {
+                description.append("Nid de poule de 30 cm devant l'école, \"très dangereux\" pour les cyclistes <urgent>. ");
+            }
+            texte = description.toString();
+        }
+    }
+    
+    @Benchmark
+    public String sanitize() {
+        return ValidationUtil.sanitize(texte);
+    }
+}
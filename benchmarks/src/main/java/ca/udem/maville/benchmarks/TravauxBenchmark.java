@@ -0,0 +1,51 @@
+package ca.udem.maville.benchmarks;
+
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.service.ApiService;
+import ca.udem.maville.api.service.TravauxService;
+import ca.udem.maville.repository.projection.ProjetListView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fusion, filtres et pagination de /api/residents/travaux (TravauxService), hors base et réseau :
+ * projets MaVille déjà chargés, 50 travaux de Montréal comme dans le cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TravauxBenchmark {
+    
+    @Param({"10", "1000"})
+    public int projets;
+    
+    /**
+     * Vide : aucun filtre
+     */
+    @Param({"", "Rosemont"})
+    public String quartier;
+    
+    private TravauxService travauxService;
+    private List<ProjetListView> projetsMaVille;
+    private List<Map<String, Object>> travauxMontreal;
+    
+    @Setup
+    public void preparer() {
+        travauxService = new TravauxService(new ApiService());
+        projetsMaVille = Donnees.projets(projets);
+        travauxMontreal = Donnees.travauxMontreal(50);
+    }
+    
+    @Benchmark
+    public PaginatedResponse<Map<String, Object>> fusionnerEtPaginer() {
+        List<Map<String, Object>> tousTravaux = travauxService.fusionnerTravaux(
+            projetsMaVille, travauxMontreal, quartier, null);
+        return travauxService.paginer(tousTravaux, 0, 10);
+    }
+}
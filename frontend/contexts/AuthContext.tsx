@@ -1,6 +1,7 @@
 "use client"
 
 import { createContext, useContext, useState, useEffect } from "react"
+import { AUTH_CLEARED_EVENT, AUTH_STORAGE_KEY, authHeaders, getAuthToken } from "@/lib/auth-storage"
 
 export type UserType = "RESIDENT" | "PRESTATAIRE" | "STPM" | null
 
@@ -30,15 +31,18 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
   useEffect(() => {
     // Charger depuis localStorage au démarrage
     if (typeof window !== "undefined") {
-      const saved = localStorage.getItem("auth")
+      const saved = localStorage.getItem(AUTH_STORAGE_KEY)
       if (saved) {
         try {
-          const { user, type } = JSON.parse(saved)
-          setUser(user)
-          setUserType(type)
+          const { user, type, token } = JSON.parse(saved)
+          // Jeton expiré : getAuthToken() efface la session stockée
+          if (!token || getAuthToken()) {
+            setUser(user)
+            setUserType(type)
+          }
         } catch (e) {
           // Ignorer les erreurs de parsing
-          localStorage.removeItem("auth")
+          localStorage.removeItem(AUTH_STORAGE_KEY)
         }
       }
       // Marquer le chargement comme terminé
@@ -48,6 +52,16 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
     }
   }, [])
 
+  useEffect(() => {
+    // Session effacée par fetchAPI (401) ou à expiration du jeton
+    const onCleared = () => {
+      setUser(null)
+      setUserType(null)
+    }
+    window.addEventListener(AUTH_CLEARED_EVENT, onCleared)
+    return () => window.removeEventListener(AUTH_CLEARED_EVENT, onCleared)
+  }, [])
+
   const login = async (identifier: string, password: string) => {
     try {
       const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:7000/api';
@@ -62,7 +76,12 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
         setUser(data.user)
         setUserType(data.type)
         if (typeof window !== "undefined") {
-          localStorage.setItem("auth", JSON.stringify({ user: data.user, type: data.type }))
+          localStorage.setItem(AUTH_STORAGE_KEY, JSON.stringify({
+            user: data.user,
+            type: data.type,
+            token: data.token,
+            expiresAt: data.expiresIn ? Date.now() + data.expiresIn * 1000 : undefined,
+          }))
         }
         return true
       }
@@ -74,9 +93,15 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
   }
 
   const logout = () => {
+    // Révoquer le jeton côté serveur (sans attendre la réponse)
+    const headers = authHeaders()
+    if (headers.Authorization) {
+      const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:7000/api';
+      fetch(`${API_BASE_URL}/auth/logout`, { method: "POST", headers }).catch(() => {})
+    }
     // Nettoyer immédiatement l'état et le localStorage
     if (typeof window !== "undefined") {
-      localStorage.removeItem("auth")
+      localStorage.removeItem(AUTH_STORAGE_KEY)
     }
     // Mettre à jour l'état de manière synchrone
     setUser(null)
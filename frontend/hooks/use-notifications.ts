@@ -4,6 +4,7 @@ import { useEffect, useState } from "react"
 import { useSSE, type SSEStatus } from "./use-sse"
 import { useWebSocket, type WebSocketStatus } from "./use-websocket"
 import type { WebSocketMessage } from "@/lib/websocket"
+import { authHeaders } from "@/lib/auth-storage"
 
 export type NotificationMethod = "websocket" | "sse" | "both" | "polling"
 
@@ -56,7 +57,9 @@ export function useNotifications(
     // Fonction pour récupérer les notifications
     const fetchNotifications = async () => {
       try {
-        const response = await fetch(`${apiUrl}/notifications/unread/${encodeURIComponent(userIdentifier)}`)
+        const response = await fetch(`${apiUrl}/notifications/unread/${encodeURIComponent(userIdentifier)}`, {
+          headers: authHeaders(),
+        })
         if (response.ok) {
           const notifications = await response.json()
           notifications.forEach((notification: any) => {
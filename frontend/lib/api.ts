@@ -4,6 +4,7 @@
  */
 
 import { reportError } from './error-handler';
+import { authHeaders, clearStoredAuth, getAuthToken } from './auth-storage';
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || 'http://localhost:7000/api';
 
@@ -96,11 +97,17 @@ async function fetchAPI<T>(
       ...options,
       headers: {
         'Content-Type': 'application/json',
+        ...authHeaders(),
         ...options?.headers,
       },
     });
 
     if (!response.ok) {
+      // Jeton refusé (expiré, révoqué, secret changé) : la session locale n'est plus valable
+      if (response.status === 401 && getAuthToken()) {
+        clearStoredAuth();
+      }
+      
       let errorMessage = `HTTP ${response.status}: ${response.statusText}`;
       let errorDetails: any = null;
       
@@ -0,0 +1,65 @@
+/**
+ * Session stockée après connexion (localStorage "auth") et jeton Bearer associé
+ *
+ * Le jeton est envoyé par fetchAPI : le backend résout alors l'identité sans accès à la base
+ * (SessionAuthenticationFilter). Il est effacé à la déconnexion, à expiration ou sur une réponse 401.
+ */
+
+export const AUTH_STORAGE_KEY = 'auth';
+
+// Émis quand la session stockée est effacée hors de logout() (401, expiration)
+export const AUTH_CLEARED_EVENT = 'maville:auth-cleared';
+
+interface StoredAuth {
+  token?: string;
+  expiresAt?: number;
+}
+
+function readStoredAuth(): StoredAuth | null {
+  if (typeof window === 'undefined') {
+    return null;
+  }
+  const saved = localStorage.getItem(AUTH_STORAGE_KEY);
+  if (!saved) {
+    return null;
+  }
+  try {
+    return JSON.parse(saved) as StoredAuth;
+  } catch {
+    return null;
+  }
+}
+
+/**
+ * Jeton de la session courante, ou null s'il est absent ou expiré
+ */
+export function getAuthToken(): string | null {
+  const auth = readStoredAuth();
+  if (!auth?.token) {
+    return null;
+  }
+  if (auth.expiresAt && auth.expiresAt <= Date.now()) {
+    clearStoredAuth();
+    return null;
+  }
+  return auth.token;
+}
+
+/**
+ * En-tête Authorization à joindre aux appels de l'API (vide sans session)
+ */
+export function authHeaders(): Record<string, string> {
+  const token = getAuthToken();
+  return token ? { Authorization: `Bearer ${token}` } : {};
+}
+
+/**
+ * Efface la session stockée et prévient AuthContext
+ */
+export function clearStoredAuth(): void {
+  if (typeof window === 'undefined') {
+    return;
+  }
+  localStorage.removeItem(AUTH_STORAGE_KEY);
+  window.dispatchEvent(new Event(AUTH_CLEARED_EVENT));
+}
@@ -0,0 +1,230 @@
+package ca.udem.maville.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Abonnés aux notifications en temps réel pendant la charge
+ *
+ * - SSE : /api/reactive/notifications/stream/{destinataire} (NotificationStreamHub)
+ * - WebSocket : STOMP sur /ws/websocket (transport WebSocket brut de SockJS), abonnement à
+ *   /topic/notifications/{destinataire}
+ *
+ * Le délai de livraison est l'écart entre le champ "timestamp" du message (instant de publication
+ * côté serveur) et sa réception : l'application et le test tournent sur la même machine.
+ * Les connexions sont ouvertes progressivement (OUVERTURES_PAR_SECONDE) pour ne pas mesurer
+ * la file d'acceptation TCP.
+ */
+final class Abonnes implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Abonnes.class);
+    
+    static final String SSE_CONNEXION = "sse (connexion)";
+    static final String SSE_LIVRAISON = "sse (livraison)";
+    static final String WS_CONNEXION = "websocket (connexion)";
+    static final String WS_LIVRAISON = "websocket (livraison)";
+    
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int OUVERTURES_PAR_SECONDE = 200;
+    
+    private final HttpClient client;
+    private final String urlBase;
+    private final String destinataire;
+    // Métriques courantes : remplacées à la fin du préchauffage
+    private final AtomicReference<Metriques> metriques;
+    private final List<Stream<String>> flux = new CopyOnWriteArrayList<>();
+    private final List<WebSocket> sockets = new CopyOnWriteArrayList<>();
+    
+    Abonnes(HttpClient client, String urlBase, String destinataire, Metriques metriques) {
+        this.client = client;
+        this.urlBase = urlBase;
+        this.destinataire = destinataire;
+        this.metriques = new AtomicReference<>(metriques);
+    }
+    
+    void mesurerDans(Metriques courantes) {
+        metriques.set(courantes);
+    }
+    
+    int connectesSse() {
+        return flux.size();
+    }
+    
+    int connectesWebSocket() {
+        return sockets.size();
+    }
+    
+    /**
+     * Ouvre les connexions et attend leur établissement (au plus une minute)
+     */
+    void connecter(int sse, int webSocket) throws InterruptedException {
+        CountDownLatch prets = new CountDownLatch(sse + webSocket);
+        long intervalle = TimeUnit.SECONDS.toNanos(1) / OUVERTURES_PAR_SECONDE;
+        for (int i = 0; i < Math.max(sse, webSocket); i++) {
+            if (i < sse) {
+                Thread.ofVirtual().start(() -> ecouterSse(prets));
+            }
+            if (i < webSocket) {
+                ouvrirWebSocket(prets);
+            }
+            TimeUnit.NANOSECONDS.sleep(intervalle);
+        }
+        if (!prets.await(1, TimeUnit.MINUTES)) {
+            logger.warn("Abonnés non connectés après une minute: {}", prets.getCount());
+        }
+        logger.info("Abonnés connectés: {} SSE, {} WebSocket", flux.size(), sockets.size());
+    }
+    
+    private void ecouterSse(CountDownLatch prets) {
+        long debut = System.nanoTime();
+        HttpRequest requete = HttpRequest.newBuilder(
+                URI.create(urlBase + "/api/reactive/notifications/stream/" + destinataire))
+            .header("Accept", "text/event-stream")
+            .GET()
+            .build();
+        boolean connecte = false;
+        try {
+            HttpResponse<Stream<String>> reponse = client.send(requete, HttpResponse.BodyHandlers.ofLines());
+            if (reponse.statusCode() != 200) {
+                metriques.get().enregistrer(SSE_CONNEXION, System.nanoTime() - debut, reponse.statusCode());
+                return;
+            }
+            flux.add(reponse.body());
+            String evenement = null;
+            for (String ligne : (Iterable<String>) reponse.body()::iterator) {
+                if (ligne.startsWith("event:")) {
+                    evenement = ligne.substring(6).trim();
+                } else if (ligne.startsWith("data:")) {
+                    if ("connected".equals(evenement) && !connecte) {
+                        connecte = true;
+                        metriques.get().enregistrer(SSE_CONNEXION, System.nanoTime() - debut, 200);
+                        prets.countDown();
+                    } else if ("notification".equals(evenement)) {
+                        livraison(SSE_LIVRAISON, ligne.substring(5));
+                    }
+                } else if (ligne.isEmpty()) {
+                    evenement = null;
+                }
+            }
+        } catch (Exception e) {
+            // Fermeture en fin de test ou échec de connexion
+            if (!connecte) {
+                metriques.get().echec(SSE_CONNEXION, System.nanoTime() - debut);
+            }
+        } finally {
+            if (!connecte) {
+                prets.countDown();
+            }
+        }
+    }
+    
+    private void ouvrirWebSocket(CountDownLatch prets) {
+        long debut = System.nanoTime();
+        URI uri = URI.create(urlBase.replaceFirst("^http", "ws") + "/ws/websocket");
+        client.newWebSocketBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .buildAsync(uri, new Stomp(debut, prets))
+            .whenComplete((socket, erreur) -> {
+                if (erreur != null) {
+                    metriques.get().echec(WS_CONNEXION, System.nanoTime() - debut);
+                    prets.countDown();
+                }
+            });
+    }
+    
+    /**
+     * Client STOMP minimal : CONNECT sans heart-beat, SUBSCRIBE, puis lecture des MESSAGE
+     */
+    private final class Stomp implements WebSocket.Listener {
+        private final long debut;
+        private final CountDownLatch prets;
+        private final StringBuilder tampon = new StringBuilder();
+        
+        Stomp(long debut, CountDownLatch prets) {
+            this.debut = debut;
+            this.prets = prets;
+        }
+        
+        @Override
+        public void onOpen(WebSocket socket) {
+            socket.sendText("CONNECT\naccept-version:1.2\nhost:localhost\nheart-beat:0,0\n\n\0", true);
+            socket.request(1);
+        }
+        
+        @Override
+        public CompletionStage<?> onText(WebSocket socket, CharSequence donnees, boolean dernier) {
+            tampon.append(donnees);
+            if (dernier) {
+                for (String trame : tampon.toString().split("\0")) {
+                    traiter(socket, trame.stripLeading());
+                }
+                tampon.setLength(0);
+            }
+            socket.request(1);
+            return null;
+        }
+        
+        private void traiter(WebSocket socket, String trame) {
+            if (trame.startsWith("CONNECTED")) {
+                socket.sendText("SUBSCRIBE\nid:sub-0\ndestination:/topic/notifications/" + destinataire + "\n\n\0", true);
+                sockets.add(socket);
+                metriques.get().enregistrer(WS_CONNEXION, System.nanoTime() - debut, 200);
+                prets.countDown();
+            } else if (trame.startsWith("MESSAGE")) {
+                int corps = trame.indexOf("\n\n");
+                if (corps >= 0) {
+                    livraison(WS_LIVRAISON, trame.substring(corps + 2));
+                }
+            } else if (trame.startsWith("ERROR")) {
+                metriques.get().echec(WS_CONNEXION, System.nanoTime() - debut);
+                prets.countDown();
+            }
+        }
+        
+        @Override
+        public void onError(WebSocket socket, Throwable erreur) {
+            sockets.remove(socket);
+        }
+    }
+    
+    private void livraison(String canal, String json) {
+        try {
+            JsonNode timestamp = JSON.readTree(json).get("timestamp");
+            if (timestamp != null) {
+                Duration delai = Duration.between(Instant.parse(timestamp.asText()), Instant.now());
+                metriques.get().enregistrer(canal, Math.max(0, delai.toNanos()), 200);
+            }
+        } catch (Exception e) {
+            metriques.get().echec(canal, 0);
+        }
+    }
+    
+    @Override
+    public void close() {
+        flux.forEach(Stream::close);
+        CompletableFuture.allOf(sockets.stream()
+                .map(socket -> socket.sendClose(WebSocket.NORMAL_CLOSURE, "fin du test")
+                    .exceptionally(e -> socket))
+                .toArray(CompletableFuture[]::new))
+            .completeOnTimeout(null, 5, TimeUnit.SECONDS)
+            .join();
+        sockets.forEach(WebSocket::abort);
+    }
+}
@@ -0,0 +1,80 @@
+package ca.udem.maville.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Générateur en boucle ouverte : les requêtes partent à débit constant, qu'elles soient
+ * terminées ou non (comme des utilisateurs indépendants), chacune sur un thread virtuel
+ *
+ * La latence est mesurée depuis l'instant d'envoi prévu. Au-delà de MAX_EN_VOL requêtes en
+ * cours, le client refuse d'en créer d'autres et les compte dans "client (saturé)" :
+ * le serveur ne suit plus le débit demandé.
+ */
+final class Charge {
+    
+    private static final int MAX_EN_VOL = 10_000;
+    
+    private final HttpClient client;
+    private final Trafic trafic;
+    private final Semaphore enVol = new Semaphore(MAX_EN_VOL);
+    
+    Charge(HttpClient client, Trafic trafic) {
+        this.client = client;
+        this.trafic = trafic;
+    }
+    
+    void executer(int debit, Duration duree, Metriques metriques) throws InterruptedException {
+        long intervalle = 1_000_000_000L / Math.max(1, debit);
+        long debut = System.nanoTime();
+        long fin = debut + duree.toNanos();
+        
+        for (long prevu = debut; prevu < fin; prevu += intervalle) {
+            long attente = prevu - System.nanoTime();
+            if (attente > 0) {
+                LockSupport.parkNanos(attente);
+            }
+            Trafic.Operation operation = trafic.tirer();
+            if (!enVol.tryAcquire()) {
+                metriques.echec("client (saturé)", 0);
+                continue;
+            }
+            long instantPrevu = prevu;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    envoyer(operation, instantPrevu, metriques);
+                } finally {
+                    enVol.release();
+                }
+            });
+        }
+        
+        // Laisser finir les requêtes en cours (dans la limite de leur délai)
+        enVol.acquire(MAX_EN_VOL);
+        enVol.release(MAX_EN_VOL);
+    }
+    
+    private void envoyer(Trafic.Operation operation, long instantPrevu, Metriques metriques) {
+        HttpRequest requete = operation.requete().get();
+        if (requete == null) {
+            return;
+        }
+        try {
+            HttpResponse<String> reponse = client.send(requete, HttpResponse.BodyHandlers.ofString());
+            metriques.enregistrer(operation.nom(), System.nanoTime() - instantPrevu, reponse.statusCode());
+            reponse.headers().firstValue("ETag").ifPresent(etag -> trafic.etag(requete.uri(), etag));
+            if (reponse.statusCode() == 200) {
+                operation.reponse().accept(reponse.body());
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            metriques.echec(operation.nom(), System.nanoTime() - instantPrevu);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ca.udem.maville.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Écriture en masse d'une table : COPY ... FROM STDIN (CSV, par blocs de 1 Mo) ou INSERT par lots
+ *
+ * COPY est le mode par défaut ; les INSERT par lots (avec reWriteBatchedInserts=true dans l'URL JDBC)
+ * servent quand COPY n'est pas permis (droits restreints, proxy de connexions).
+ */
+abstract class Chargeur implements AutoCloseable {
+    
+    protected long lignes;
+    
+    static Chargeur ouvrir(Connection connexion, String table, String colonnes, boolean copy) throws SQLException {
+        return copy ? new Copy(connexion, table, colonnes) : new Lots(connexion, table, colonnes);
+    }
+    
+    abstract void ligne(Object... valeurs) throws SQLException;
+    
+    long lignes() {
+        return lignes;
+    }
+    
+    @Override
+    public abstract void close() throws SQLException;
+    
+    private static final class Copy extends Chargeur {
+        private static final int TAILLE_BLOC = 1 << 20;
+        
+        private final CopyIn copie;
+        private final StringBuilder tampon = new StringBuilder(TAILLE_BLOC + 4096);
+        
+        Copy(Connection connexion, String table, String colonnes) throws SQLException {
+            this.copie = connexion.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + colonnes + ") FROM STDIN WITH (FORMAT csv)");
+        }
+        
+        @Override
+        void ligne(Object... valeurs) throws SQLException {
+            for (int i = 0; i < valeurs.length; i++) {
+                if (i > 0) {
+                    tampon.append(',');
+                }
+                csv(valeurs[i]);
+            }
+            tampon.append('\n');
+            lignes++;
+            if (tampon.length() >= TAILLE_BLOC) {
+                vider();
+            }
+        }
+        
+        /**
+         * NULL : champ vide sans guillemets ; texte : toujours entre guillemets (guillemets doublés)
+         */
+        private void csv(Object valeur) {
+            if (valeur == null) {
+                return;
+            }
+            if (valeur instanceof String texte) {
+                tampon.append('"').append(texte.replace("\"", "\"\"")).append('"');
+            } else if (valeur instanceof Boolean booleen) {
+                tampon.append(booleen ? 't' : 'f');
+            } else {
+                tampon.append(valeur);
+            }
+        }
+        
+        private void vider() throws SQLException {
+            byte[] octets = tampon.toString().getBytes(StandardCharsets.UTF_8);
+            copie.writeToCopy(octets, 0, octets.length);
+            tampon.setLength(0);
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            if (!copie.isActive()) {
+                return;
+            }
+            vider();
+            copie.endCopy();
+        }
+    }
+    
+    private static final class Lots extends Chargeur {
+        private static final int TAILLE_LOT = 5000;
+        
+        private final PreparedStatement insertion;
+        
+        Lots(Connection connexion, String table, String colonnes) throws SQLException {
+            String parametres = "?" + ",?".repeat(colonnes.split(",").length - 1);
+            this.insertion = connexion.prepareStatement(
+                "INSERT INTO " + table + " (" + colonnes + ") VALUES (" + parametres + ")");
+        }
+        
+        @Override
+        void ligne(Object... valeurs) throws SQLException {
+            for (int i = 0; i < valeurs.length; i++) {
+                if (valeurs[i] == null) {
+                    insertion.setNull(i + 1, Types.OTHER);
+                } else {
+                    insertion.setObject(i + 1, valeurs[i]);
+                }
+            }
+            insertion.addBatch();
+            lignes++;
+            if (lignes % TAILLE_LOT == 0) {
+                insertion.executeBatch();
+            }
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            try {
+                insertion.executeBatch();
+            } finally {
+                insertion.close();
+            }
+        }
+    }
+}
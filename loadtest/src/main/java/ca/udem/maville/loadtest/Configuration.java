@@ -0,0 +1,94 @@
+package ca.udem.maville.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options de la ligne de commande
+ */
+record Configuration(
+    String cible,
+    Path jarApplication,
+    String argumentsApplication,
+    String argumentsJvm,
+    String imagePostgres,
+    String scenario,
+    int debit,
+    Duration duree,
+    Duration prechauffage,
+    int abonnesSse,
+    int abonnesWebSocket,
+    String destinataire,
+    long latenceMontrealMs,
+    long residentsSynthetiques,
+    Path sortie
+) {
+    
+    static final String AIDE = """
+        Usage: java -jar target/loadtest.jar [options]
+    
+          --scenario mix|pool|login   mélange réaliste (défaut), saturation du pool JDBC, rafale de connexions
+          --rate N                    requêtes par seconde visées (défaut 200)
+          --duration S                durée de mesure en secondes (défaut 60)
+          --warmup S                  préchauffage au même débit, non mesuré (défaut 15)
+          --sse N / --ws N            abonnés SSE / WebSocket STOMP simultanés (défaut 1000 / 1000 pour mix)
+          --subscriber ID             destinataire écouté par les abonnés (défaut stpm)
+          --montreal-latency MS       latence du bouchon de l'API de Montréal (défaut 200)
+          --dataset N                 charge N résidents synthétiques et les données associées
+                                      avant le test (DonneesSynthetiques, ignoré avec --target)
+          --out FICHIER               résumé JSON
+    
+          --target URL                application déjà démarrée (pas de conteneur ni de bouchon)
+          --app-jar CHEMIN            jar exécutable (défaut ../target/maville-1.0-SNAPSHOT-exec.jar)
+          --app-args "..."            arguments Spring supplémentaires, ex. --spring.profiles.active=virtual
+          --jvm-args "..."            options JVM de l'application, ex. -Xmx512m
+          --postgres-image IMAGE      défaut postgres:15-alpine
+        """;
+    
+    static Configuration depuisArguments(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Option inattendue: " + args[i]);
+            }
+            String cle = args[i].substring(2);
+            if (cle.equals("help")) {
+                options.put(cle, "true");
+            } else if (i + 1 < args.length) {
+                options.put(cle, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Valeur manquante pour --" + cle);
+            }
+        }
+        if (options.containsKey("help")) {
+            System.out.println(AIDE);
+            System.exit(0);
+        }
+        
+        String scenario = options.getOrDefault("scenario", "mix");
+        if (!scenario.matches("mix|pool|login")) {
+            throw new IllegalArgumentException("Scénario inconnu: " + scenario);
+        }
+        int abonnesParDefaut = scenario.equals("mix") ? 1000 : 0;
+        
+        return new Configuration(
+            options.get("target"),
+            Path.of(options.getOrDefault("app-jar", "../target/maville-1.0-SNAPSHOT-exec.jar")),
+            options.getOrDefault("app-args", ""),
+            options.getOrDefault("jvm-args", ""),
+            options.getOrDefault("postgres-image", "postgres:15-alpine"),
+            scenario,
+            Integer.parseInt(options.getOrDefault("rate", "200")),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+            Integer.parseInt(options.getOrDefault("sse", String.valueOf(abonnesParDefaut))),
+            Integer.parseInt(options.getOrDefault("ws", String.valueOf(abonnesParDefaut))),
+            options.getOrDefault("subscriber", "stpm"),
+            Long.parseLong(options.getOrDefault("montreal-latency", "200")),
+            Long.parseLong(options.getOrDefault("dataset", "0")),
+            options.containsKey("out") ? Path.of(options.get("out")) : null
+        );
+    }
+}
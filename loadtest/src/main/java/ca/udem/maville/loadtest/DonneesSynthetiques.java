@@ -0,0 +1,551 @@
+package ca.udem.maville.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Générateur de données synthétiques pour les tests à grande échelle (PostgreSQL)
+ *
+ * Résidents, prestataires, problèmes, candidatures, projets, abonnements et notifications sont
+ * chargés par COPY (ou INSERT par lots), une transaction par table, à la suite des données
+ * existantes. Les distributions imitent l'usage réel :
+ * - quartiers pondérés (mêmes noms que ApiService.extraireQuartier), types de travaux
+ *   dominés par les travaux routiers
+ * - quelques résidents très actifs, quelques prestataires qui déposent la plupart des candidatures
+ * - dates récentes plus fréquentes, anciens problèmes plus souvent résolus
+ * - un projet par candidature approuvée, sur les mêmes problèmes
+ *
+ * Chaque ligne est dérivée de (graine, table, index) : deux chargements avec la même graine
+ * donnent les mêmes données, et rien n'est gardé en mémoire entre les tables.
+ * Le schéma doit exister (démarrer l'application une fois : ddl-auto=update). Les séquences
+ * d'identifiants sont repositionnées à la fin, y compris notifications_part_id_seq quand la
+ * table des notifications est partitionnée.
+ *
+ * Usage : java -cp target/loadtest.jar ca.udem.maville.loadtest.DonneesSynthetiques --help
+ */
+public final class DonneesSynthetiques {
+    private static final Logger logger = LoggerFactory.getLogger(DonneesSynthetiques.class);
+    
+    static final String AIDE = """
+        Usage: java -cp target/loadtest.jar ca.udem.maville.loadtest.DonneesSynthetiques [options]
+        
+          --jdbc-url URL        défaut jdbc:postgresql://localhost:5432/maville?reWriteBatchedInserts=true
+          --user U / --password P
+          --residents N         défaut 100000 ; les autres volumes en découlent :
+                                prestataires N/500, problèmes N, candidatures 0,3 N,
+                                abonnements 0,6 N, notifications 5 N
+          --prestataires N --problemes N --candidatures N --abonnements N --notifications N
+          --seed N              graine (défaut 42)
+          --mode copy|batch     COPY (défaut) ou INSERT par lots
+        
+        Mot de passe de tous les comptes générés : password123
+        """;
+    
+    private static final List<String> TABLES = List.of(
+        "residents", "prestataires", "problemes", "candidatures", "projets", "abonnements", "notifications");
+    
+    // Mêmes quartiers que ApiService.extraireQuartier
+    private static final Tirage<String> QUARTIERS = new Tirage<String>()
+        .avec("Ville-Marie", 16).avec("Plateau", 14).avec("Rosemont", 14).avec("Villeray", 10)
+        .avec("Hochelaga", 9).avec("Ahuntsic", 9).avec("CDN", 8).avec("Centre-ville", 8)
+        .avec("Mercier", 7).avec("Verdun", 6).avec("LaSalle", 5).avec("Outremont", 2);
+    
+    // Valeurs de ca.udem.maville.modele.TypeTravaux
+    private static final Tirage<String> TYPES = new Tirage<String>()
+        .avec("TRAVAUX_ROUTIERS", 30).avec("ENTRETIEN_URBAIN", 15).avec("TRAVAUX_SIGNALISATION_ECLAIRAGE", 12)
+        .avec("CONSTRUCTION_RENOVATION", 10).avec("TRAVAUX_SOUTERRAINS", 8).avec("TRAVAUX_GAZ_ELECTRICITE", 7)
+        .avec("ENTRETIEN_PAYSAGER", 6).avec("TRAVAUX_TRANSPORTS_COMMUN", 5).avec("TRAVAUX_RESIDENTIEL", 4)
+        .avec("ENTRETIEN_RESEAUX_TELECOM", 3);
+    
+    // Valeurs de Priorite, StatutCandidature et StatutProjet
+    private static final Tirage<String> PRIORITES = new Tirage<String>()
+        .avec("FAIBLE", 35).avec("MOYENNE", 45).avec("ELEVEE", 20);
+    private static final Tirage<String> STATUTS_CANDIDATURE = new Tirage<String>()
+        .avec("SOUMISE", 25).avec("APPROUVEE", 40).avec("REJETEE", 30).avec("ANNULEE", 5);
+    private static final Tirage<String> STATUTS_PROJET = new Tirage<String>()
+        .avec("APPROUVE", 10).avec("EN_COURS", 25).avec("SUSPENDU", 5).avec("TERMINE", 55).avec("ANNULE", 5);
+    private static final Tirage<String> DESTINATAIRES = new Tirage<String>()
+        .avec("RESIDENT", 85).avec("PRESTATAIRE", 10).avec("STPM", 5);
+    
+    private static final Map<String, String> DESCRIPTIONS = Map.of(
+        "TRAVAUX_ROUTIERS", "Nid de poule profond sur la chaussée",
+        "ENTRETIEN_URBAIN", "Trottoir fissuré et déchets accumulés",
+        "TRAVAUX_SIGNALISATION_ECLAIRAGE", "Lampadaire éteint et feu de circulation défectueux",
+        "CONSTRUCTION_RENOVATION", "Façade endommagée à rénover",
+        "TRAVAUX_SOUTERRAINS", "Affaissement au-dessus d'une conduite d'égout",
+        "TRAVAUX_GAZ_ELECTRICITE", "Odeur de gaz près d'une borne électrique",
+        "ENTRETIEN_PAYSAGER", "Arbre tombé et pelouse du parc à entretenir",
+        "TRAVAUX_TRANSPORTS_COMMUN", "Abribus brisé près de l'arrêt d'autobus",
+        "TRAVAUX_RESIDENTIEL", "Entrée charretière abîmée devant un immeuble",
+        "ENTRETIEN_RESEAUX_TELECOM", "Câbles de télécommunication pendants"
+    );
+    private static final String[] PRECISIONS = {
+        "dangereux pour les cyclistes", "signalé par plusieurs voisins", "près d'une école",
+        "s'aggrave depuis le dégel", "bloque une voie", "devant un commerce", "", ""
+    };
+    private static final String[] PRENOMS = {
+        "Marie", "Jean", "Sophie", "Luc", "Amélie", "Olivier", "Camille", "Félix", "Léa", "Mathieu",
+        "Émilie", "Gabriel", "Chloé", "Samuel", "Julie", "Alexandre", "Nadia", "Karim", "Mei", "Diego"
+    };
+    private static final String[] NOMS = {
+        "Tremblay", "Gagnon", "Roy", "Côté", "Bouchard", "Gauthier", "Morin", "Lavoie", "Fortin", "Gagné",
+        "Ouellet", "Pelletier", "Bélanger", "Lévesque", "Bergeron", "Leblanc", "Paquette", "Nguyen", "Haddad", "Martin"
+    };
+    // Formes sans accents pour les courriels, calculées une fois
+    private static final String[] PRENOMS_ASCII = ascii(PRENOMS);
+    private static final String[] NOMS_ASCII = ascii(NOMS);
+    private static final String[] RUES = {
+        "rue Saint-Denis", "boulevard Saint-Laurent", "rue Sherbrooke", "avenue du Parc", "rue Beaubien",
+        "rue Ontario", "boulevard Rosemont", "rue Wellington", "avenue Papineau", "rue Jarry",
+        "rue Notre-Dame", "avenue Laurier", "rue Fleury", "boulevard Décarie", "rue Sainte-Catherine"
+    };
+    private static final String[] ENTREPRISES = {
+        "Construction", "Pavage", "Électricité", "Excavation", "Paysagement", "Signalisation", "Infrastructures"
+    };
+    
+    /**
+     * Nombre de lignes par table ; pour(residents) applique les proportions par défaut
+     */
+    record Volumes(long residents, long prestataires, long problemes, long candidatures,
+                   long abonnements, long notifications) {
+        static Volumes pour(long residents) {
+            return new Volumes(residents, Math.max(10, residents / 500), residents,
+                               residents * 3 / 10, residents * 6 / 10, residents * 5);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Generateur {
+        void ecrire(Chargeur chargeur, long index) throws SQLException;
+    }
+    
+    private record Resident(long id, String prenom, String nom, String email, String quartier) {}
+    
+    private record Probleme(long id, String lieu, String quartier, String type, String priorite,
+                            LocalDateTime signalement, boolean resolu) {}
+    
+    private record Candidature(long id, long prestataireId, long[] problemes, Probleme premier, String statut,
+                               LocalDateTime depot, LocalDate debut, LocalDate fin, double cout) {}
+    
+    private final Connection connexion;
+    private final Volumes volumes;
+    private final long graine;
+    private final boolean copy;
+    private final LocalDateTime maintenant = LocalDateTime.now().withNano(0);
+    private final String motDePasse = new BCryptPasswordEncoder(10).encode("password123");
+    private final Map<String, Long> premiersIds = new HashMap<>();
+    private long projetsCrees;
+    
+    DonneesSynthetiques(Connection connexion, Volumes volumes, long graine, boolean copy) {
+        this.connexion = connexion;
+        this.volumes = volumes;
+        this.graine = graine;
+        this.copy = copy;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String cle = args[i].replaceFirst("^--", "");
+            if (cle.equals("help")) {
+                System.out.println(AIDE);
+                return;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Valeur manquante pour --" + cle);
+            }
+            options.put(cle, args[++i]);
+        }
+        
+        Volumes defaut = Volumes.pour(Long.parseLong(options.getOrDefault("residents", "100000")));
+        Volumes volumes = new Volumes(
+            defaut.residents(),
+            Long.parseLong(options.getOrDefault("prestataires", String.valueOf(defaut.prestataires()))),
+            Long.parseLong(options.getOrDefault("problemes", String.valueOf(defaut.problemes()))),
+            Long.parseLong(options.getOrDefault("candidatures", String.valueOf(defaut.candidatures()))),
+            Long.parseLong(options.getOrDefault("abonnements", String.valueOf(defaut.abonnements()))),
+            Long.parseLong(options.getOrDefault("notifications", String.valueOf(defaut.notifications())))
+        );
+        String mode = options.getOrDefault("mode", "copy");
+        if (!mode.matches("copy|batch")) {
+            throw new IllegalArgumentException("Mode inconnu: " + mode);
+        }
+        
+        try (Connection connexion = DriverManager.getConnection(
+                options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/maville?reWriteBatchedInserts=true"),
+                options.getOrDefault("user", "maville_user"),
+                options.getOrDefault("password", "maville_password"))) {
+            new DonneesSynthetiques(connexion, volumes, Long.parseLong(options.getOrDefault("seed", "42")),
+                                    mode.equals("copy")).charger();
+        }
+    }
+    
+    void charger() throws SQLException {
+        if (volumes.residents() < 1 || volumes.prestataires() < 1 || volumes.problemes() < 1) {
+            throw new IllegalArgumentException("Au moins un résident, un prestataire et un problème sont nécessaires");
+        }
+        verifierSchema();
+        for (String table : TABLES) {
+            premiersIds.put(table, valeur("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table));
+        }
+        logger.info("Chargement de {} ({})", volumes, copy ? "COPY" : "INSERT par lots");
+        long debut = System.nanoTime();
+        
+        boolean autoCommit = connexion.getAutoCommit();
+        try (Statement statement = connexion.createStatement()) {
+            // Durabilité relâchée pour ce chargement seulement (session courante)
+            statement.execute("SET synchronous_commit = off");
+        }
+        connexion.setAutoCommit(false);
+        try {
+            table("residents", "id, prenom, nom, email, telephone, adresse, password_hash",
+                  volumes.residents(), this::ecrireResident);
+            table("prestataires", "id, numero_entreprise, nom_entreprise, contact_nom, telephone, email, password_hash",
+                  volumes.prestataires(), this::ecrirePrestataire);
+            table("problemes", "id, lieu, type_probleme, description, declarant_id, date_signalement, priorite, resolu",
+                  volumes.problemes(), this::ecrireProbleme);
+            table("candidatures", "id, prestataire_id, description_projet, cout_estime, date_debut_prevue, " +
+                  "date_fin_prevue, date_depot, statut, commentaire_rejet",
+                  volumes.candidatures(), this::ecrireCandidature);
+            table("candidature_problemes", "candidature_id, probleme_id",
+                  volumes.candidatures(), this::ecrireCandidatureProblemes);
+            projetsCrees = 0;
+            table("projets", "id, candidature_id, localisation, statut, priorite, type_travail, date_debut_prevue, " +
+                  "date_fin_prevue, date_debut_reelle, date_fin_reelle, prestataire_id, description_projet, cout, " +
+                  "date_creation, derniere_mise_a_jour, nombre_rapports",
+                  volumes.candidatures(), this::ecrireProjet);
+            projetsCrees = 0;
+            table("projet_problemes", "projet_id, probleme_id",
+                  volumes.candidatures(), this::ecrireProjetProblemes);
+            table("abonnements", "id, resident_email, type, valeur, resident_id",
+                  volumes.abonnements(), this::ecrireAbonnement);
+            table("notifications", "id, message, type_changement, date_creation, lu, resident_email, projet_id, " +
+                  "type_destinataire, destinataire",
+                  volumes.notifications(), this::ecrireNotification);
+        } catch (SQLException | RuntimeException e) {
+            connexion.rollback();
+            throw e;
+        } finally {
+            connexion.setAutoCommit(autoCommit);
+        }
+        
+        reinitialiserSequences();
+        try (Statement statement = connexion.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        logger.info("Données synthétiques chargées en {} s", (System.nanoTime() - debut) / 1_000_000_000L);
+    }
+    
+    private void table(String table, String colonnes, long nombre, Generateur generateur) throws SQLException {
+        long debut = System.nanoTime();
+        long lignes;
+        try (Chargeur chargeur = Chargeur.ouvrir(connexion, table, colonnes, copy)) {
+            for (long index = 0; index < nombre; index++) {
+                generateur.ecrire(chargeur, index);
+            }
+            lignes = chargeur.lignes();
+        }
+        connexion.commit();
+        double secondes = Math.max((System.nanoTime() - debut) / 1e9, 0.001);
+        logger.info("{}: {} lignes en {} s ({} lignes/s)", table, lignes,
+                    String.format("%.1f", secondes), Math.round(lignes / secondes));
+    }
+    
+    // ---------- Lignes ----------
+    
+    private void ecrireResident(Chargeur chargeur, long index) throws SQLException {
+        Resident resident = resident(index);
+        SplittableRandom aleatoire = aleatoire(11, index);
+        chargeur.ligne(resident.id(), resident.prenom(), resident.nom(), resident.email(), telephone(aleatoire),
+                       adresse(aleatoire, resident.quartier()), motDePasse);
+    }
+    
+    private void ecrirePrestataire(Chargeur chargeur, long index) throws SQLException {
+        SplittableRandom aleatoire = aleatoire(2, index);
+        long id = premiersIds.get("prestataires") + index;
+        int nom = aleatoire.nextInt(NOMS.length);
+        String entreprise = choisir(aleatoire, ENTREPRISES) + " " + NOMS[nom] + (aleatoire.nextBoolean() ? " Inc." : " Ltée");
+        chargeur.ligne(id, neq(index), entreprise, choisir(aleatoire, PRENOMS) + " " + NOMS[nom], telephone(aleatoire),
+                       "contact" + id + "@" + NOMS_ASCII[nom] + ".test", motDePasse);
+    }
+    
+    private void ecrireProbleme(Chargeur chargeur, long index) throws SQLException {
+        Probleme probleme = probleme(index);
+        SplittableRandom aleatoire = aleatoire(13, index);
+        String precision = choisir(aleatoire, PRECISIONS);
+        String description = DESCRIPTIONS.get(probleme.type()) + (precision.isEmpty() ? "" : ", " + precision);
+        chargeur.ligne(probleme.id(), probleme.lieu(), probleme.type(), description,
+                       premiersIds.get("residents") + declarant(index), probleme.signalement(),
+                       probleme.priorite(), probleme.resolu());
+    }
+    
+    private void ecrireCandidature(Chargeur chargeur, long index) throws SQLException {
+        Candidature candidature = candidature(index);
+        chargeur.ligne(candidature.id(), candidature.prestataireId(),
+                       "Réparation : " + DESCRIPTIONS.get(candidature.premier().type()).toLowerCase(),
+                       candidature.cout(), candidature.debut(), candidature.fin(), candidature.depot(),
+                       candidature.statut(),
+                       candidature.statut().equals("REJETEE") ? "Coût trop élevé ou échéancier incompatible" : null);
+    }
+    
+    private void ecrireCandidatureProblemes(Chargeur chargeur, long index) throws SQLException {
+        Candidature candidature = candidature(index);
+        for (long probleme : candidature.problemes()) {
+            chargeur.ligne(candidature.id(), premiersIds.get("problemes") + probleme);
+        }
+    }
+    
+    private void ecrireProjet(Chargeur chargeur, long index) throws SQLException {
+        Candidature candidature = candidature(index);
+        if (!candidature.statut().equals("APPROUVEE")) {
+            return;
+        }
+        long id = premiersIds.get("projets") + projetsCrees++;
+        SplittableRandom aleatoire = aleatoire(5, index);
+        String statut = STATUTS_PROJET.tirer(aleatoire);
+        LocalDateTime creation = plusTot(candidature.depot().plusHours(1 + aleatoire.nextInt(24 * 10)));
+        boolean demarre = statut.equals("EN_COURS") || statut.equals("SUSPENDU") || statut.equals("TERMINE");
+        LocalDate debutReel = demarre ? candidature.debut().plusDays(aleatoire.nextInt(15)) : null;
+        LocalDate finReelle = statut.equals("TERMINE") ? candidature.fin().plusDays(aleatoire.nextInt(-5, 30)) : null;
+        Probleme premier = candidature.premier();
+        chargeur.ligne(id, candidature.id(), premier.lieu(), statut, premier.priorite(), premier.type(),
+                       candidature.debut(), candidature.fin(), debutReel, finReelle, candidature.prestataireId(),
+                       DESCRIPTIONS.get(premier.type()) + " (" + premier.quartier() + ")", candidature.cout(),
+                       creation, plusTot(creation.plusDays(aleatoire.nextInt(60))), candidature.problemes().length);
+    }
+    
+    private void ecrireProjetProblemes(Chargeur chargeur, long index) throws SQLException {
+        Candidature candidature = candidature(index);
+        if (!candidature.statut().equals("APPROUVEE")) {
+            return;
+        }
+        long id = premiersIds.get("projets") + projetsCrees++;
+        for (long probleme : candidature.problemes()) {
+            chargeur.ligne(id, premiersIds.get("problemes") + probleme);
+        }
+    }
+    
+    private void ecrireAbonnement(Chargeur chargeur, long index) throws SQLException {
+        SplittableRandom aleatoire = aleatoire(6, index);
+        Resident resident = resident(aleatoire.nextLong(volumes.residents()));
+        boolean quartier = aleatoire.nextInt(100) < 70;
+        chargeur.ligne(premiersIds.get("abonnements") + index, resident.email(),
+                       quartier ? "QUARTIER" : "TYPE_TRAVAUX",
+                       quartier ? resident.quartier() : TYPES.tirer(aleatoire), resident.id());
+    }
+    
+    private void ecrireNotification(Chargeur chargeur, long index) throws SQLException {
+        SplittableRandom aleatoire = aleatoire(7, index);
+        long id = premiersIds.get("notifications") + index;
+        double jours = ageJours(aleatoire, 180, 30);
+        LocalDateTime creation = maintenant.minusMinutes((long) (jours * 24 * 60));
+        // Les anciennes notifications sont presque toutes lues
+        boolean lu = aleatoire.nextDouble() < Math.min(0.95, jours / 20);
+        Long projet = projetsCrees > 0 ? premiersIds.get("projets") + aleatoire.nextLong(projetsCrees) : null;
+        
+        switch (DESTINATAIRES.tirer(aleatoire)) {
+            case "RESIDENT" -> {
+                Resident resident = resident(biaise(aleatoire, volumes.residents(), 2.0));
+                boolean nouveau = aleatoire.nextBoolean();
+                chargeur.ligne(id, (nouveau ? "Nouveau projet de travaux dans votre quartier (" : "Changement de statut d'un projet (")
+                               + resident.quartier() + ")", nouveau ? "NOUVEAU_PROJET" : "CHANGEMENT_STATUT",
+                               creation, lu, resident.email(), projet, "RESIDENT", resident.email());
+            }
+            case "PRESTATAIRE" -> {
+                Probleme probleme = probleme(aleatoire.nextLong(volumes.problemes()));
+                chargeur.ligne(id, "Nouveau problème " + probleme.type() + " à " + probleme.quartier()
+                               + " (priorité " + probleme.priorite() + ")", "NOUVEAU_PROBLEME", creation, lu, null,
+                               probleme.id(), "PRESTATAIRE", neq(biaise(aleatoire, volumes.prestataires(), 2.0)));
+            }
+            default -> {
+                Probleme probleme = probleme(aleatoire.nextLong(volumes.problemes()));
+                chargeur.ligne(id, "Nouveau problème signalé: " + probleme.lieu(), "NOUVEAU_PROBLEME",
+                               creation, lu, null, probleme.id(), "STPM", "STPM");
+            }
+        }
+    }
+    
+    // ---------- Entités dérivées de (graine, index) ----------
+    
+    private Resident resident(long index) {
+        SplittableRandom aleatoire = aleatoire(1, index);
+        long id = premiersIds.get("residents") + index;
+        int prenom = aleatoire.nextInt(PRENOMS.length);
+        int nom = aleatoire.nextInt(NOMS.length);
+        String email = PRENOMS_ASCII[prenom] + "." + NOMS_ASCII[nom] + "." + id + "@synthetique.test";
+        return new Resident(id, PRENOMS[prenom], NOMS[nom], email, QUARTIERS.tirer(aleatoire));
+    }
+    
+    /**
+     * Déclarant d'un problème : quelques résidents signalent beaucoup
+     */
+    private long declarant(long indexProbleme) {
+        return biaise(aleatoire(8, indexProbleme), volumes.residents(), 1.6);
+    }
+    
+    private Probleme probleme(long index) {
+        SplittableRandom aleatoire = aleatoire(3, index);
+        // Le plus souvent dans le quartier du déclarant
+        String quartier = aleatoire.nextInt(100) < 80 ? resident(declarant(index)).quartier() : QUARTIERS.tirer(aleatoire);
+        String type = TYPES.tirer(aleatoire);
+        String priorite = PRIORITES.tirer(aleatoire);
+        double jours = ageJours(aleatoire, 730, 120);
+        boolean resolu = aleatoire.nextDouble() < Math.min(0.85, jours / 400);
+        return new Probleme(premiersIds.get("problemes") + index, adresse(aleatoire, quartier), quartier, type,
+                            priorite, maintenant.minusMinutes((long) (jours * 24 * 60)), resolu);
+    }
+    
+    private Candidature candidature(long index) {
+        SplittableRandom aleatoire = aleatoire(4, index);
+        long prestataire = premiersIds.get("prestataires") + biaise(aleatoire, volumes.prestataires(), 2.0);
+        int nombre = aleatoire.nextInt(100) < 75 ? 1 : aleatoire.nextInt(100) < 80 ? 2 : 3;
+        long[] problemes = LongStream.generate(() -> aleatoire.nextLong(volumes.problemes()))
+            .limit(nombre).distinct().toArray();
+        Probleme premier = probleme(problemes[0]);
+        
+        LocalDateTime depot = plusTot(premier.signalement().plusHours(1 + aleatoire.nextInt(24 * 20)));
+        // Candidatures récentes : surtout encore en attente de décision
+        boolean recente = depot.isAfter(maintenant.minusDays(14));
+        String statut = recente && aleatoire.nextInt(100) < 70 ? "SOUMISE" : STATUTS_CANDIDATURE.tirer(aleatoire);
+        LocalDate debut = depot.toLocalDate().plusDays(14 + aleatoire.nextInt(60));
+        LocalDate fin = debut.plusDays(7 + aleatoire.nextInt(120));
+        double cout = Math.round(8000 * Math.exp(0.8 * aleatoire.nextGaussian()));
+        return new Candidature(premiersIds.get("candidatures") + index, prestataire, problemes, premier, statut,
+                               depot, debut, fin, cout);
+    }
+    
+    // ---------- Outils ----------
+    
+    private SplittableRandom aleatoire(int table, long index) {
+        return new SplittableRandom(graine * 0x9E3779B97F4A7C15L + table * 0xBF58476D1CE4E5B9L + index);
+    }
+    
+    /**
+     * Index dans [0, borne) concentré vers 0 (exposant > 1 : loi de puissance)
+     */
+    private static long biaise(SplittableRandom aleatoire, long borne, double exposant) {
+        return Math.min(borne - 1, (long) (borne * Math.pow(aleatoire.nextDouble(), exposant)));
+    }
+    
+    /**
+     * Âge en jours, exponentiel (moyenne donnée) et tronqué : les dates récentes dominent
+     */
+    private static double ageJours(SplittableRandom aleatoire, double maximum, double moyenne) {
+        return Math.min(maximum, -moyenne * Math.log(1 - aleatoire.nextDouble()));
+    }
+    
+    private LocalDateTime plusTot(LocalDateTime date) {
+        return date.isAfter(maintenant) ? maintenant : date;
+    }
+    
+    /**
+     * NEQ à 10 chiffres (3 000 000 000 + id), distincts des NEQ du test de charge (1 000 000 000 + n)
+     */
+    private String neq(long indexPrestataire) {
+        return String.valueOf(3_000_000_000L + premiersIds.get("prestataires") + indexPrestataire);
+    }
+    
+    private static String adresse(SplittableRandom aleatoire, String quartier) {
+        return (100 + aleatoire.nextInt(9900)) + " " + choisir(aleatoire, RUES) + ", " + quartier;
+    }
+    
+    private static String telephone(SplittableRandom aleatoire) {
+        return "514-" + (200 + aleatoire.nextInt(800)) + "-" + (1000 + aleatoire.nextInt(9000));
+    }
+    
+    private static String choisir(SplittableRandom aleatoire, String[] valeurs) {
+        return valeurs[aleatoire.nextInt(valeurs.length)];
+    }
+    
+    private static String[] ascii(String[] noms) {
+        String[] resultat = new String[noms.length];
+        for (int i = 0; i < noms.length; i++) {
+            resultat[i] = Normalizer.normalize(noms[i], Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase();
+        }
+        return resultat;
+    }
+    
+    private void verifierSchema() throws SQLException {
+        List<String> absentes = new ArrayList<>();
+        for (String table : TABLES) {
+            try (PreparedStatement requete = connexion.prepareStatement("SELECT to_regclass(?)")) {
+                requete.setString(1, table);
+                try (ResultSet resultat = requete.executeQuery()) {
+                    if (!resultat.next() || resultat.getString(1) == null) {
+                        absentes.add(table);
+                    }
+                }
+            }
+        }
+        if (!absentes.isEmpty()) {
+            throw new IllegalStateException("Tables absentes " + absentes
+                + " : démarrer l'application une fois sur cette base (ddl-auto=update) avant le chargement");
+        }
+    }
+    
+    /**
+     * Séquences IDENTITY (ou notifications_part_id_seq, possédée par notifications.id une fois partitionnée)
+     * placées après les identifiants insérés explicitement
+     */
+    private void reinitialiserSequences() throws SQLException {
+        for (String table : TABLES) {
+            try (PreparedStatement requete = connexion.prepareStatement(
+                    "SELECT setval(s::regclass, (SELECT MAX(id) FROM " + table + ")) " +
+                    "FROM pg_get_serial_sequence(?, 'id') AS s WHERE s IS NOT NULL")) {
+                requete.setString(1, table);
+                requete.execute();
+            }
+        }
+    }
+    
+    private long valeur(String sql) throws SQLException {
+        try (Statement statement = connexion.createStatement();
+             ResultSet resultat = statement.executeQuery(sql)) {
+            resultat.next();
+            return resultat.getLong(1);
+        }
+    }
+    
+    /**
+     * Choix pondéré parmi des valeurs fixes
+     */
+    private static final class Tirage<T> {
+        private final List<T> valeurs = new ArrayList<>();
+        private final List<Integer> cumuls = new ArrayList<>();
+        private int total;
+        
+        Tirage<T> avec(T valeur, int poids) {
+            total += poids;
+            valeurs.add(valeur);
+            cumuls.add(total);
+            return this;
+        }
+        
+        T tirer(SplittableRandom aleatoire) {
+            int tirage = aleatoire.nextInt(total);
+            for (int i = 0; i < valeurs.size(); i++) {
+                if (tirage < cumuls.get(i)) {
+                    return valeurs.get(i);
+                }
+            }
+            return valeurs.get(valeurs.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package ca.udem.maville.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Application sous test : PostgreSQL (Testcontainers), bouchon de l'API de Montréal et jar
+ * exécutable lancé dans un processus séparé, pour que le générateur de charge ne partage
+ * pas la JVM (ni le GC) de l'application mesurée
+ *
+ * Avec --dataset, l'application est démarrée une première fois (création du schéma), arrêtée
+ * pendant le chargement des données synthétiques, puis redémarrée : les index et caches en
+ * mémoire sont construits sur les données chargées.
+ *
+ * Avec --target, l'application existe déjà : rien n'est démarré.
+ */
+final class Environnement implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Environnement.class);
+    
+    private static final Duration DEMARRAGE_MAX = Duration.ofMinutes(3);
+    
+    private PostgreSQLContainer<?> postgres;
+    private MontrealStub montreal;
+    private Process application;
+    private final String urlBase;
+    
+    private Environnement(String urlBase) {
+        this.urlBase = urlBase;
+    }
+    
+    static Environnement demarrer(Configuration configuration) throws Exception {
+        if (configuration.cible() != null) {
+            logger.info("Cible existante: {}", configuration.cible());
+            Environnement existant = new Environnement(configuration.cible().replaceAll("/$", ""));
+            existant.attendrePret(null);
+            return existant;
+        }
+        
+        if (!Files.isRegularFile(configuration.jarApplication())) {
+            throw new IllegalStateException("Jar introuvable: " + configuration.jarApplication()
+                + " (mvn package à la racine, ou --app-jar)");
+        }
+        
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Environnement environnement = new Environnement("http://127.0.0.1:" + port);
+        try {
+            environnement.postgres = new PostgreSQLContainer<>(
+                    DockerImageName.parse(configuration.imagePostgres()).asCompatibleSubstituteFor("postgres"))
+                .withDatabaseName("maville")
+                .withUsername("maville_user")
+                .withPassword("maville_password")
+                // Plus de connexions que le pool par défaut : les scénarios peuvent augmenter le pool
+                .withCommand("postgres", "-c", "max_connections=300");
+            environnement.postgres.start();
+            logger.info("PostgreSQL prêt: {}", environnement.postgres.getJdbcUrl());
+            
+            environnement.montreal = new MontrealStub(configuration.latenceMontrealMs());
+            logger.info("Bouchon de l'API de Montréal: {}", environnement.montreal.url());
+            
+            environnement.application = environnement.lancer(configuration, port);
+            environnement.attendrePret(environnement.application);
+            
+            if (configuration.residentsSynthetiques() > 0) {
+                environnement.arreterApplication();
+                environnement.chargerDonnees(configuration.residentsSynthetiques());
+                environnement.application = environnement.lancer(configuration, port);
+                environnement.attendrePret(environnement.application);
+            }
+            return environnement;
+        } catch (Exception e) {
+            environnement.close();
+            throw e;
+        }
+    }
+    
+    private Process lancer(Configuration configuration, int port) throws IOException {
+        List<String> commande = new ArrayList<>();
+        commande.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        commande.addAll(decouper(configuration.argumentsJvm()));
+        commande.add("-jar");
+        commande.add(configuration.jarApplication().toString());
+        commande.add("--server.port=" + port);
+        commande.add("--spring.datasource.url=" + postgres.getJdbcUrl());
+        commande.add("--spring.datasource.username=" + postgres.getUsername());
+        commande.add("--spring.datasource.password=" + postgres.getPassword());
+        commande.add("--api.montreal.url=" + montreal.url());
+        commande.add("--logging.level.ca.udem.maville=INFO");
+        commande.addAll(decouper(configuration.argumentsApplication()));
+        
+        Path journal = Path.of("target", "application.log");
+        Files.createDirectories(journal.getParent());
+        if (application == null) {
+            Files.deleteIfExists(journal);
+        }
+        logger.info("Démarrage de l'application (journal: {})", journal);
+        return new ProcessBuilder(commande)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(journal.toFile()))
+            .start();
+    }
+    
+    private void chargerDonnees(long residents) throws SQLException {
+        try (Connection connexion = DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            new DonneesSynthetiques(connexion, DonneesSynthetiques.Volumes.pour(residents), 42, true).charger();
+        }
+    }
+    
+    private void attendrePret(Process processus) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest sante = HttpRequest.newBuilder(URI.create(urlBase + "/api/health"))
+            .timeout(Duration.ofSeconds(2)).build();
+        long limite = System.nanoTime() + DEMARRAGE_MAX.toNanos();
+        while (System.nanoTime() < limite) {
+            if (processus != null && !processus.isAlive()) {
+                throw new IllegalStateException("L'application s'est arrêtée (code " + processus.exitValue()
+                    + "), voir target/application.log");
+            }
+            try {
+                if (client.send(sante, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    logger.info("Application prête: {}", urlBase);
+                    return;
+                }
+            } catch (IOException e) {
+                // Pas encore à l'écoute
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application non prête après " + DEMARRAGE_MAX.toSeconds() + " s");
+    }
+    
+    String urlBase() {
+        return urlBase;
+    }
+    
+    /**
+     * Appels reçus par le bouchon de l'API de Montréal (-1 avec --target)
+     */
+    long appelsMontreal() {
+        return montreal != null ? montreal.appels() : -1;
+    }
+    
+    private static List<String> decouper(String arguments) {
+        return arguments.isBlank() ? List.of() : Arrays.asList(arguments.trim().split("\\s+"));
+    }
+    
+    private void arreterApplication() {
+        if (application == null) {
+            return;
+        }
+        application.destroy();
+        try {
+            if (!application.waitFor(20, java.util.concurrent.TimeUnit.SECONDS)) {
+                application.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            application.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void close() {
+        arreterApplication();
+        if (montreal != null) {
+            montreal.close();
+        }
+        if (postgres != null) {
+            postgres.stop();
+        }
+    }
+}
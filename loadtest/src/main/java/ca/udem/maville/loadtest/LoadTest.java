@@ -0,0 +1,155 @@
+package ca.udem.maville.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge HTTP reproductible de MaVille
+ *
+ * Démarre PostgreSQL (Testcontainers), un bouchon de l'API de Montréal et le jar de l'application
+ * (ou vise une instance existante avec --target), ouvre les abonnés SSE / WebSocket, applique
+ * le scénario à débit constant (préchauffage puis mesure) et affiche latences p50/p99/p99.9,
+ * débit et erreurs par endpoint, ainsi que l'état du serveur (/api/health/*) en fin de mesure.
+ *
+ * Usage : java -jar target/loadtest.jar --help
+ */
+public final class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final List<String> ETATS_SERVEUR = List.of("pool", "sql", "single-flight", "auth");
+    
+    private LoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        Configuration configuration = Configuration.depuisArguments(args);
+        
+        try (Environnement environnement = Environnement.demarrer(configuration);
+             var executeur = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executeur)
+                .build();
+            String urlBase = environnement.urlBase();
+            
+            Metriques connexions = new Metriques();
+            try (Abonnes abonnes = new Abonnes(client, urlBase, configuration.destinataire(), connexions)) {
+                abonnes.connecter(configuration.abonnesSse(), configuration.abonnesWebSocket());
+                
+                Charge charge = new Charge(client, new Trafic(urlBase, configuration.scenario()));
+                if (!configuration.prechauffage().isZero()) {
+                    logger.info("Préchauffage: {} req/s pendant {} s", configuration.debit(),
+                                configuration.prechauffage().toSeconds());
+                    Metriques prechauffage = new Metriques();
+                    abonnes.mesurerDans(prechauffage);
+                    charge.executer(configuration.debit(), configuration.prechauffage(), prechauffage);
+                }
+                
+                logger.info("Mesure: scénario {}, {} req/s pendant {} s", configuration.scenario(),
+                            configuration.debit(), configuration.duree().toSeconds());
+                Metriques mesure = new Metriques();
+                abonnes.mesurerDans(mesure);
+                long debut = System.nanoTime();
+                charge.executer(configuration.debit(), configuration.duree(), mesure);
+                double secondes = (System.nanoTime() - debut) / 1e9;
+                // Dernières livraisons en cours
+                TimeUnit.SECONDS.sleep(2);
+                
+                Map<String, Object> rapport = new LinkedHashMap<>();
+                rapport.put("scenario", configuration.scenario());
+                rapport.put("debitVise", configuration.debit());
+                rapport.put("dureeSecondes", secondes);
+                rapport.put("connexions", connexions.resume(0));
+                rapport.put("endpoints", mesure.resume(secondes));
+                rapport.put("abonnes", livraisons(mesure, abonnes, configuration.destinataire()));
+                rapport.put("appelsApiMontreal", environnement.appelsMontreal());
+                rapport.put("serveur", etatServeur(client, urlBase));
+                
+                afficher(rapport);
+                if (configuration.sortie() != null) {
+                    JSON.writeValue(configuration.sortie().toFile(), rapport);
+                    logger.info("Résumé écrit dans {}", configuration.sortie());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Notifications reçues par rapport aux signalements réussis : chaque signalement
+     * notifie le STPM, donc chaque abonné "stpm" doit recevoir un message
+     */
+    private static Map<String, Object> livraisons(Metriques mesure, Abonnes abonnes, String destinataire) {
+        long signalements = mesure.succes("POST /api/residents/problemes");
+        boolean stpm = "stpm".equalsIgnoreCase(destinataire);
+        Map<String, Object> livraisons = new LinkedHashMap<>();
+        livraisons.put("signalements", signalements);
+        livraisons.put("sseConnectes", abonnes.connectesSse());
+        livraisons.put("sseRecues", mesure.succes(Abonnes.SSE_LIVRAISON));
+        livraisons.put("webSocketConnectes", abonnes.connectesWebSocket());
+        livraisons.put("webSocketRecues", mesure.succes(Abonnes.WS_LIVRAISON));
+        if (stpm) {
+            livraisons.put("sseAttendues", signalements * abonnes.connectesSse());
+            livraisons.put("webSocketAttendues", signalements * abonnes.connectesWebSocket());
+        }
+        return livraisons;
+    }
+    
+    private static Map<String, JsonNode> etatServeur(HttpClient client, String urlBase) {
+        Map<String, JsonNode> etat = new LinkedHashMap<>();
+        for (String nom : ETATS_SERVEUR) {
+            try {
+                HttpResponse<String> reponse = client.send(
+                    HttpRequest.newBuilder(URI.create(urlBase + "/api/health/" + nom)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+                if (reponse.statusCode() == 200) {
+                    etat.put(nom, JSON.readTree(reponse.body()));
+                }
+            } catch (Exception e) {
+                logger.warn("État {} indisponible: {}", nom, e.getMessage());
+            }
+        }
+        return etat;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static void afficher(Map<String, Object> rapport) throws Exception {
+        System.out.printf("%nScénario %s : %s req/s visées, %.1f s mesurées%n%n",
+                          rapport.get("scenario"), rapport.get("debitVise"), rapport.get("dureeSecondes"));
+        tableau((Map<String, Map<String, Object>>) rapport.get("connexions"));
+        System.out.println();
+        tableau((Map<String, Map<String, Object>>) rapport.get("endpoints"));
+        
+        System.out.printf("%nAbonnés : %s%n", rapport.get("abonnes"));
+        long appels = (long) rapport.get("appelsApiMontreal");
+        if (appels >= 0) {
+            System.out.printf("Appels reçus par le bouchon de l'API de Montréal : %d%n", appels);
+        }
+        System.out.printf("%nÉtat du serveur :%n%s%n", JSON.writeValueAsString(rapport.get("serveur")));
+    }
+    
+    private static void tableau(Map<String, Map<String, Object>> lignes) {
+        if (lignes.isEmpty()) {
+            return;
+        }
+        System.out.printf("%-45s %9s %8s %9s %9s %9s %9s %6s %6s %7s%n",
+                          "endpoint", "requetes", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "429", "4xx", "erreurs");
+        lignes.forEach((nom, r) -> System.out.printf("%-45s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %6d %6d %6.2f%%%n",
+            nom, r.get("requetes"), r.get("debitParSeconde"), r.get("p50Ms"), r.get("p99Ms"), r.get("p999Ms"),
+            r.get("maxMs"), r.get("limites429"), r.get("rejets4xx"), 100 * (double) r.get("tauxErreur")));
+    }
+}
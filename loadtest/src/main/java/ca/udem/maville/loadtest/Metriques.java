@@ -0,0 +1,102 @@
+package ca.udem.maville.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latences et résultats par endpoint (histogrammes HdrHistogram, 3 chiffres significatifs)
+ *
+ * La latence est mesurée depuis l'instant d'envoi PRÉVU par le générateur à débit constant :
+ * un serveur qui ralentit n'est pas masqué par un client qui attend (omission coordonnée).
+ * Les réponses 429 (limitation de débit) et les autres 4xx (règles métier, ex. candidature
+ * déjà traitée) sont comptées à part : seuls les 5xx et les échecs de transport sont des erreurs.
+ */
+final class Metriques {
+    
+    private static final long LATENCE_MAX_NS = TimeUnit.MINUTES.toNanos(2);
+    
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    
+    Endpoint endpoint(String nom) {
+        return endpoints.computeIfAbsent(nom, n -> new Endpoint());
+    }
+    
+    long succes(String nom) {
+        Endpoint endpoint = endpoints.get(nom);
+        return endpoint != null ? endpoint.succes() : 0;
+    }
+    
+    void enregistrer(String nom, long latenceNs, int statut) {
+        endpoint(nom).enregistrer(latenceNs, statut);
+    }
+    
+    void echec(String nom, long latenceNs) {
+        endpoint(nom).enregistrer(latenceNs, -1);
+    }
+    
+    /**
+     * Résumé par endpoint pour une fenêtre de mesure (durée en secondes)
+     */
+    Map<String, Map<String, Object>> resume(double dureeSecondes) {
+        Map<String, Map<String, Object>> resume = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> resume.put(e.getKey(), e.getValue().resume(dureeSecondes)));
+        return resume;
+    }
+    
+    static final class Endpoint {
+        private final Recorder latences = new Recorder(LATENCE_MAX_NS, 3);
+        private final Histogram cumul = new Histogram(LATENCE_MAX_NS, 3);
+        private final LongAdder succes = new LongAdder();
+        private final LongAdder limites = new LongAdder();
+        private final LongAdder rejets = new LongAdder();
+        private final LongAdder erreurs = new LongAdder();
+        
+        void enregistrer(long latenceNs, int statut) {
+            latences.recordValue(Math.min(Math.max(latenceNs, 1), LATENCE_MAX_NS));
+            if (statut >= 200 && statut < 400) {
+                succes.increment();
+            } else if (statut == 429) {
+                limites.increment();
+            } else if (statut >= 400 && statut < 500) {
+                rejets.increment();
+            } else {
+                erreurs.increment();
+            }
+        }
+        
+        long succes() {
+            return succes.sum();
+        }
+        
+        synchronized Map<String, Object> resume(double dureeSecondes) {
+            cumul.add(latences.getIntervalHistogram());
+            long total = succes.sum() + limites.sum() + rejets.sum() + erreurs.sum();
+            
+            Map<String, Object> resume = new LinkedHashMap<>();
+            resume.put("requetes", total);
+            resume.put("succes", succes.sum());
+            resume.put("debitParSeconde", dureeSecondes > 0 ? total / dureeSecondes : 0);
+            resume.put("p50Ms", ms(cumul.getValueAtPercentile(50)));
+            resume.put("p99Ms", ms(cumul.getValueAtPercentile(99)));
+            resume.put("p999Ms", ms(cumul.getValueAtPercentile(99.9)));
+            resume.put("maxMs", ms(cumul.getMaxValue()));
+            resume.put("limites429", limites.sum());
+            resume.put("rejets4xx", rejets.sum());
+            resume.put("erreurs", erreurs.sum());
+            resume.put("tauxErreur", total > 0 ? (double) erreurs.sum() / total : 0.0);
+            return resume;
+        }
+        
+        private static double ms(long ns) {
+            return Math.round(ns / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ca.udem.maville.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bouchon local de datastore_search (API de données ouvertes de Montréal)
+ * 
+ * Même forme de réponse que l'API réelle ({ success, result: { records } }), avec une latence
+ * configurable pour reproduire un service distant lent. Le nombre d'appels reçus montre
+ * l'efficacité du cache "travauxMontreal" et de SingleFlight sous charge.
+ */
+final class MontrealStub implements AutoCloseable {
+    
+    static final String CHEMIN = "/api/3/action/datastore_search";
+    
+    private static final String[] ARRONDISSEMENTS = {
+        "Rosemont", "Ville-Marie", "Plateau", "Verdun", "Mercier", "Villeray", "Ahuntsic", "LaSalle"
+    };
+    
+    private final HttpServer serveur;
+    private final AtomicLong appels = new AtomicLong();
+    
+    MontrealStub(long latenceMs) throws IOException {
+        byte[] reponse = new ObjectMapper().writeValueAsBytes(Map.of(
+            "success", true,
+            "result", Map.of("records", enregistrements(100))
+        ));
+        
+        serveur = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serveur.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        serveur.createContext(CHEMIN, echange -> {
+            appels.incrementAndGet();
+            try {
+                if (latenceMs > 0) {
+                    Thread.sleep(latenceMs);
+                }
+                echange.getResponseHeaders().add("Content-Type", "application/json");
+                echange.sendResponseHeaders(200, reponse.length);
+                try (OutputStream corps = echange.getResponseBody()) {
+                    corps.write(reponse);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                echange.close();
+            }
+        });
+        serveur.start();
+    }
+    
+    String url() {
+        return "http://127.0.0.1:" + serveur.getAddress().getPort() + CHEMIN;
+    }
+    
+    long appels() {
+        return appels.get();
+    }
+    
+    private static List<Map<String, Object>> enregistrements(int nombre) {
+        List<Map<String, Object>> records = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            records.add(Map.of(
+                "id", 500_000 + i,
+                "boroughid", ARRONDISSEMENTS[i % ARRONDISSEMENTS.length],
+                "currentstatus", "InProgress",
+                "reason_category", i % 3 == 0 ? "Réseaux routiers" : "Construction/rénovation sans excavation",
+                "organizationname", "Ville de Montréal",
+                "submittercategory", "Entrepreneur",
+                "duration_start_date", "2025-05-01T00:00:00",
+                "duration_end_date", "2025-10-31T00:00:00"
+            ));
+        }
+        return records;
+    }
+    
+    @Override
+    public void close() {
+        serveur.stop(0);
+    }
+}
@@ -0,0 +1,208 @@
+package ca.udem.maville.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Mélanges de requêtes par scénario
+ *
+ * - mix   : consultation des travaux, navigation des prestataires, recherche, signalements,
+ *           candidatures puis validation STPM des candidatures créées pendant le test
+ * - pool  : endpoints JDBC uniquement, sans revalidation ETag (saturation du pool Hikari)
+ * - login : rafale de connexions, majoritairement en échec (limitation de débit et BCrypt)
+ */
+final class Trafic {
+    
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration DELAI = Duration.ofSeconds(30);
+    
+    private static final String[] QUARTIERS = {"Rosemont", "Plateau", "Ville-Marie", "Verdun", "Villeray"};
+    private static final String[] RECHERCHES = {"nid de poule", "trottoir", "éclairage", "\"feu de circulation\"", "déneigement -glace"};
+    private static final String[] RESIDENTS_DEMO = {"marie@test.com", "jean@test.com", "sophie.tremblay@gmail.com"};
+    private static final String[] LIEUX = {
+        "1234 rue Saint-Denis, Plateau", "5000 boul. Rosemont", "100 rue Sherbrooke Est, Mercier",
+        "800 rue Wellington, Verdun", "3000 rue Jarry, Villeray"
+    };
+    
+    /**
+     * Requête pondérée ; requete() retourne null quand il n'y a rien à faire (aucune candidature à valider)
+     */
+    record Operation(String nom, int poids, Supplier<HttpRequest> requete, Consumer<String> reponse) {
+        Operation(String nom, int poids, Supplier<HttpRequest> requete) {
+            this(nom, poids, requete, corps -> { });
+        }
+    }
+    
+    private final String urlBase;
+    private final List<Operation> operations;
+    private final int poidsTotal;
+    // Dernier ETag par URL : la moitié des consultations revalide comme un navigateur
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+    // Candidatures créées pendant le test, en attente de validation STPM
+    private final Queue<Long> candidatures = new ConcurrentLinkedQueue<>();
+    
+    Trafic(String urlBase, String scenario) {
+        this.urlBase = urlBase;
+        this.operations = switch (scenario) {
+            case "pool" -> pool();
+            case "login" -> login();
+            default -> mix();
+        };
+        this.poidsTotal = operations.stream().mapToInt(Operation::poids).sum();
+    }
+    
+    Operation tirer() {
+        int tirage = ThreadLocalRandom.current().nextInt(poidsTotal);
+        for (Operation operation : operations) {
+            tirage -= operation.poids();
+            if (tirage < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+    
+    void etag(URI uri, String etag) {
+        if (etag != null) {
+            etags.put(uri.toString(), etag);
+        }
+    }
+    
+    private List<Operation> mix() {
+        return List.of(
+            new Operation("GET /api/residents/travaux", 30, () -> consultation(
+                "/api/residents/travaux?page=" + aleatoire(3) + "&size=10" + filtreQuartier(30))),
+            new Operation("GET /api/montreal/travaux", 5, () -> consultation("/api/montreal/travaux")),
+            new Operation("GET /api/prestataires/problemes", 20, () -> consultation(
+                "/api/prestataires/problemes?page=" + aleatoire(5) + "&size=10" + filtreQuartier(30))),
+            new Operation("GET /api/recherche", 5, () -> get(
+                "/api/recherche?q=" + encoder(RECHERCHES[aleatoire(RECHERCHES.length)]))),
+            new Operation("GET /api/residents/{email}/notifications", 10, () -> get(
+                "/api/residents/" + RESIDENTS_DEMO[aleatoire(RESIDENTS_DEMO.length)] + "/notifications")),
+            new Operation("POST /api/residents/problemes", 10, this::signalement),
+            new Operation("POST /api/prestataires/candidatures", 5, this::candidature, this::memoriserCandidature),
+            new Operation("GET /api/stpm/candidatures", 10, () -> get("/api/stpm/candidatures?page=" + aleatoire(3))),
+            new Operation("PUT /api/stpm/candidatures/{id}/valider", 5, this::validation)
+        );
+    }
+    
+    private List<Operation> pool() {
+        return List.of(
+            new Operation("GET /api/prestataires/problemes", 40, () -> get(
+                "/api/prestataires/problemes?page=" + aleatoire(20) + "&size=20" + filtreQuartier(50))),
+            new Operation("GET /api/stpm/candidatures", 30, () -> get("/api/stpm/candidatures?page=" + aleatoire(10))),
+            new Operation("GET /api/residents/{email}/notifications", 30, () -> get(
+                "/api/residents/" + RESIDENTS_DEMO[aleatoire(RESIDENTS_DEMO.length)] + "/notifications"))
+        );
+    }
+    
+    private List<Operation> login() {
+        return List.of(
+            new Operation("POST /api/auth/login (échec)", 90, () -> post("/api/auth/login", Map.of(
+                "identifier", RESIDENTS_DEMO[aleatoire(RESIDENTS_DEMO.length)],
+                "password", "mauvais-" + aleatoire(1000)))),
+            new Operation("POST /api/auth/login (succès)", 10, () -> post("/api/auth/login", Map.of(
+                "identifier", "marie@test.com", "password", "password123")))
+        );
+    }
+    
+    private HttpRequest signalement() {
+        return post("/api/residents/problemes", Map.of(
+            "lieu", LIEUX[aleatoire(LIEUX.length)],
+            "description", "Nid de poule signalé pendant le test de charge #" + aleatoire(1_000_000),
+            "residentId", "resident-" + aleatoire(5000) + "@charge.test"
+        ));
+    }
+    
+    private HttpRequest candidature() {
+        LocalDate debut = LocalDate.now().plusDays(7 + aleatoire(30));
+        return post("/api/prestataires/candidatures", Map.of(
+            "prestataireId", String.format("%010d", 1_000_000_000L + aleatoire(200)),
+            "description", "Réparation proposée pendant le test de charge",
+            "dateDebut", debut.toString(),
+            "dateFin", debut.plusDays(30).toString(),
+            "cout", 5000.0 + aleatoire(50_000),
+            "problemesVises", List.of()
+        ));
+    }
+    
+    private void memoriserCandidature(String corps) {
+        try {
+            JsonNode id = JSON.readTree(corps).get("candidatureId");
+            if (id != null && id.canConvertToLong()) {
+                candidatures.add(id.asLong());
+            }
+        } catch (Exception e) {
+            // Réponse d'erreur : rien à valider
+        }
+    }
+    
+    private HttpRequest validation() {
+        Long id = candidatures.poll();
+        if (id == null) {
+            return null;
+        }
+        return requete("/api/stpm/candidatures/" + id + "/valider")
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofString("{\"accepter\":" + ThreadLocalRandom.current().nextBoolean() + "}"))
+            .build();
+    }
+    
+    /**
+     * GET avec revalidation (If-None-Match) une fois sur deux quand un ETag est connu
+     */
+    private HttpRequest consultation(String chemin) {
+        HttpRequest.Builder builder = requete(chemin).GET();
+        String etag = etags.get(urlBase + chemin);
+        if (etag != null && ThreadLocalRandom.current().nextBoolean()) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+    
+    private HttpRequest get(String chemin) {
+        return requete(chemin).GET().build();
+    }
+    
+    private HttpRequest post(String chemin, Map<String, Object> corps) {
+        try {
+            return requete(chemin)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(corps)))
+                .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private HttpRequest.Builder requete(String chemin) {
+        return HttpRequest.newBuilder(URI.create(urlBase + chemin)).timeout(DELAI);
+    }
+    
+    private static String filtreQuartier(int pourcentage) {
+        return aleatoire(100) < pourcentage ? "&quartier=" + QUARTIERS[aleatoire(QUARTIERS.length)] : "";
+    }
+    
+    private static String encoder(String texte) {
+        return URLEncoder.encode(texte, StandardCharsets.UTF_8);
+    }
+    
+    private static int aleatoire(int borne) {
+        return ThreadLocalRandom.current().nextInt(borne);
+    }
+}
@@ -0,0 +1,113 @@
+#!/usr/bin/env sh
+# Mesure reproductible du démarrage à froid : temps entre "docker run" et la première
+# réponse 200 de /api/health, puis mémoire du conteneur et nombre de beans une fois prêt.
+#
+# Usage :
+#   scripts/startup-benchmark.sh [--build] [--runs N] [--roles "all api streaming worker"] [mode ...]
+#
+# Modes (une image par mode) :
+#   jar     Dockerfile         java -jar classique
+#   cds     Dockerfile.cds     Spring AOT + archive AppCDS
+#   native  Dockerfile.native  image native GraalVM
+#
+# Rôles : profil ajouté par SPRING_PROFILES_INCLUDE ("all" = tous les sous-systèmes). Les images
+# AOT (cds, native) figent les conditions à la compilation : comparer les rôles sur l'image jar.
+#
+# Variables : BENCH_ENV (options -e supplémentaires passées au conteneur, ex. profils de rôle),
+#             BENCH_CPUS (défaut 1, comme une instance Cloud Run), BENCH_MEMORY (défaut 512m)
+#
+# Une base PostgreSQL jetable est démarrée sur un réseau dédié et supprimée à la fin.
+
+set -eu
+
+RUNS=5
+BUILD=0
+MODES=""
+ROLES="all"
+while [ $# -gt 0 ]; do
+  case "$1" in
+    --build) BUILD=1 ;;
+    --runs) shift; RUNS="$1" ;;
+    --roles) shift; ROLES="$1" ;;
+    *) MODES="$MODES $1" ;;
+  esac
+  shift
+done
+[ -n "$MODES" ] || MODES="jar cds"
+
+CPUS="${BENCH_CPUS:-1}"
+MEMORY="${BENCH_MEMORY:-512m}"
+NETWORK=maville-bench
+DB=maville-bench-db
+PORT=18080
+TIMEOUT_MS=180000
+
+dockerfile_for() {
+  case "$1" in
+    jar) echo Dockerfile ;;
+    cds) echo Dockerfile.cds ;;
+    native) echo Dockerfile.native ;;
+    *) echo "Mode inconnu: $1" >&2; exit 2 ;;
+  esac
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+cleanup() {
+  docker rm -f maville-bench-app >/dev/null 2>&1 || true
+  docker rm -f "$DB" >/dev/null 2>&1 || true
+  docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT INT TERM
+
+cd "$(dirname "$0")/.."
+
+if [ "$BUILD" = 1 ]; then
+  for mode in $MODES; do
+    echo "Construction de maville:$mode ($(dockerfile_for "$mode"))"
+    docker build -q -f "$(dockerfile_for "$mode")" -t "maville:$mode" . >/dev/null
+  done
+fi
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+  -e POSTGRES_DB=maville -e POSTGRES_USER=maville_user -e POSTGRES_PASSWORD=maville_password \
+  postgres:15-alpine >/dev/null
+until docker exec "$DB" pg_isready -U maville_user -d maville >/dev/null 2>&1; do sleep 0.5; done
+
+printf '%-8s %-10s %-4s %10s %12s %6s\n' mode role run ready_ms memory beans
+for mode in $MODES; do
+for role in $ROLES; do
+  role_env=""
+  [ "$role" = all ] || role_env="-e SPRING_PROFILES_INCLUDE=$role"
+  run=1
+  while [ "$run" -le "$RUNS" ]; do
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    docker run -d --name maville-bench-app --network "$NETWORK" \
+      --cpus "$CPUS" --memory "$MEMORY" -p "$PORT:8080" \
+      -e PORT=8080 \
+      -e DATABASE_URL="jdbc:postgresql://$DB:5432/maville" \
+      -e DATABASE_USER=maville_user -e DATABASE_PASSWORD=maville_password \
+      $role_env ${BENCH_ENV:-} \
+      "maville:$mode" >/dev/null
+
+    ready=""
+    while [ $(( $(now_ms) - start )) -lt "$TIMEOUT_MS" ]; do
+      if curl -sf -o /dev/null "http://localhost:$PORT/api/health"; then
+        ready=$(( $(now_ms) - start ))
+        break
+      fi
+      sleep 0.05
+    done
+    memory=$(docker stats --no-stream --format '{{.MemUsage}}' maville-bench-app | cut -d/ -f1)
+    beans=$(curl -sf "http://localhost:$PORT/api/health/startup" | sed -n 's/.*"beans":\([0-9-]*\).*/\1/p')
+    printf '%-8s %-10s %-4s %10s %12s %6s\n' "$mode" "$role" "$run" "${ready:-timeout}" "$memory" "${beans:--}"
+
+    docker rm -f maville-bench-app >/dev/null
+    run=$((run + 1))
+  done
+done
+done
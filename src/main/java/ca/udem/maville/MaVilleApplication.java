@@ -1,6 +1,6 @@
 package ca.udem.maville;
 
-import ca.udem.maville.service.DatabaseStorageService;
+import ca.udem.maville.service.StartupTasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,33 +19,28 @@ public class MaVilleApplication {
 
     /**
      * Optional in slice tests (e.g. @WebMvcTest) where service beans are intentionally not loaded.
-     * In the real application runtime, {@link DatabaseStorageService} is present.
+     * In the real application runtime, {@link StartupTasks} is present.
      */
     @Autowired(required = false)
-    private DatabaseStorageService dbStorage;
+    private StartupTasks startupTasks;
     
     public static void main(String[] args) {
         SpringApplication.run(MaVilleApplication.class, args);
     }
     
     @EventListener(ApplicationReadyEvent.class)
-    public void initializeData() {
-        logger.info("Initializing data...");
-        
-        try {
-            if (dbStorage == null) {
-                logger.debug("DatabaseStorageService not available (slice test context?): skipping initialization");
-                return;
-            }
-
-            // Initialize with sample data if database is empty
-            dbStorage.initializeWithSampleData();
-            logger.info("Data initialized successfully");
-        } catch (Exception e) {
-            logger.warn("Unable to initialize data (PostgreSQL not available?): {}", e.getMessage());
+    public void initializeData(ApplicationReadyEvent event) {
+        if (startupTasks == null) {
+            logger.debug("StartupTasks not available (slice test context?): skipping initialization");
+            return;
         }
         
+        startupTasks.demarrageTermine(event.getTimeTaken(),
+                                       event.getApplicationContext().getBeanDefinitionCount());
+        // Données initiales et préchauffage en arrière-plan : le serveur accepte déjà les requêtes
+        logger.info("Initializing data in background...");
+        startupTasks.executer();
+        
         logger.info("MaVille application started successfully");
     }
 }
-
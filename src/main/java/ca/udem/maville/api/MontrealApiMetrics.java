@@ -0,0 +1,92 @@
+package ca.udem.maville.api;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Latence et résultat des appels à l'API de Montréal (timer maville.montreal.requests)
+ *
+ * Mesuré pour les deux clients : OkHttp (MontrealApiService, intercepteur) et WebClient
+ * (ReactiveMontrealClient). Tags : client (okhttp, webclient), outcome (SUCCESS, CLIENT_ERROR,
+ * SERVER_ERROR, TIMEOUT, IO_ERROR) et status (code HTTP, ou NONE sans réponse).
+ * Les réponses servies par le cache "travauxMontreal" ne sont pas des appels : voir cache.gets.
+ */
+public class MontrealApiMetrics {
+    private static final String TIMER = "maville.montreal.requests";
+    
+    private final MeterRegistry meterRegistry;
+    
+    public MontrealApiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Intercepteur OkHttp (application) : un enregistrement par appel, y compris les échecs réseau
+     */
+    public Interceptor intercepteur() {
+        return chain -> {
+            long debut = System.nanoTime();
+            try {
+                Response response = chain.proceed(chain.request());
+                enregistrer("okhttp", resultat(response.code()), String.valueOf(response.code()), debut);
+                return response;
+            } catch (InterruptedIOException e) {
+                enregistrer("okhttp", "TIMEOUT", "NONE", debut);
+                throw e;
+            } catch (IOException e) {
+                enregistrer("okhttp", "IO_ERROR", "NONE", debut);
+                throw e;
+            }
+        };
+    }
+    
+    /**
+     * Mesure un appel WebClient (à appliquer avant la transformation de la réponse)
+     */
+    public <T> Mono<T> mesurer(Mono<T> appel) {
+        return Mono.defer(() -> {
+            long debut = System.nanoTime();
+            return appel
+                .doOnSuccess(valeur -> enregistrer("webclient", "SUCCESS", "2xx", debut))
+                .doOnError(e -> {
+                    if (e instanceof WebClientResponseException reponse) {
+                        int code = reponse.getStatusCode().value();
+                        enregistrer("webclient", resultat(code), String.valueOf(code), debut);
+                    } else if (e instanceof TimeoutException) {
+                        enregistrer("webclient", "TIMEOUT", "NONE", debut);
+                    } else {
+                        enregistrer("webclient", "IO_ERROR", "NONE", debut);
+                    }
+                });
+        });
+    }
+    
+    private void enregistrer(String client, String resultat, String statut, long debut) {
+        Timer.builder(TIMER)
+            .description("Appels à l'API de données ouvertes de Montréal")
+            .tag("client", client)
+            .tag("outcome", resultat)
+            .tag("status", statut)
+            .register(meterRegistry)
+            .record(System.nanoTime() - debut, TimeUnit.NANOSECONDS);
+    }
+    
+    private static String resultat(int code) {
+        if (code >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (code >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
@@ -1,10 +1,13 @@
 package ca.udem.maville.api;
 
 import ca.udem.maville.api.exception.ExternalApiException;
+import ca.udem.maville.service.ContentVersionService;
+import ca.udem.maville.service.SingleFlight;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.cache.annotation.Cacheable;
 import java.util.Map;
 import java.util.List;
@@ -15,15 +18,46 @@ import java.util.ArrayList;
  * Récupère les vrais travaux en cours depuis l'API officielle
  */
 public class MontrealApiService {
-    private static final String API_URL = "https://donnees.montreal.ca/api/3/action/datastore_search";
-    private static final String RESOURCE_ID = "cc41b532-f12d-40fb-9f55-eb58c9a2b12b";
+    public static final String API_URL = "https://donnees.montreal.ca/api/3/action/datastore_search";
+    public static final String RESOURCE_ID = "cc41b532-f12d-40fb-9f55-eb58c9a2b12b";
     
     private final OkHttpClient client;
+    private final String apiUrl;
+    private final String resourceId;
     private final ObjectMapper mapper;
+    private final ContentVersionService contentVersions;
+    
+    // Empreinte des derniers travaux reçus : la version n'augmente que si le contenu change
+    private volatile int derniereEmpreinte;
+    
+    // Un seul appel HTTP par limite quand plusieurs requêtes ratent le cache en même temps
+    private final SingleFlight<Integer, List<Map<String, Object>>> appelsEnCours =
+        new SingleFlight<>("travauxMontreal");
     
     public MontrealApiService() {
-        this.client = new OkHttpClient();
+        this(new OkHttpClient(), null);
+    }
+    
+    /**
+     * Permet d'injecter un client configuré (timeouts, dispatcher sur threads virtuels, etc.)
+     * @param client Client OkHttp à utiliser pour les appels à l'API
+     * @param contentVersions Versions de contenu à incrémenter lors d'un rafraîchissement (optionnel)
+     */
+    public MontrealApiService(OkHttpClient client, ContentVersionService contentVersions) {
+        this(client, contentVersions, API_URL, RESOURCE_ID);
+    }
+    
+    /**
+     * @param apiUrl URL de datastore_search (api.montreal.url), ex. un bouchon local pour les tests de charge
+     * @param resourceId Identifiant du jeu de données (api.montreal.resource_id)
+     */
+    public MontrealApiService(OkHttpClient client, ContentVersionService contentVersions,
+                              String apiUrl, String resourceId) {
+        this.client = client;
         this.mapper = new ObjectMapper();
+        this.contentVersions = contentVersions;
+        this.apiUrl = apiUrl;
+        this.resourceId = resourceId;
     }
     
     /**
@@ -33,12 +67,17 @@ public class MontrealApiService {
      * @return Liste des travaux sous forme de Map
      */
     @Cacheable(value = "travauxMontreal", unless = "#result == null || #result.isEmpty()")
+    @Observed(name = "maville.montreal.travaux", contextualName = "montreal-travaux-en-cours")
     public List<Map<String, Object>> getTravauxEnCours(int limit) {
+        return appelsEnCours.executer(limit, () -> appelerApi(limit));
+    }
+    
+    private List<Map<String, Object>> appelerApi(int limit) {
         List<Map<String, Object>> travaux = new ArrayList<>();
         
         try {
             // Construction de l'URL avec paramètres
-            String url = API_URL + "?resource_id=" + RESOURCE_ID + "&limit=" + limit;
+            String url = construireUrl(limit);
             
             Request request = new Request.Builder()
                 .url(url)
@@ -49,35 +88,7 @@ public class MontrealApiService {
                     String jsonResponse = response.body().string();
                     @SuppressWarnings("unchecked")
                     Map<String, Object> data = mapper.readValue(jsonResponse, Map.class);
-                    
-                    // L'API retourne: { "success": true, "result": { "records": [...] } }
-                    if (data.get("success").equals(true)) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> result = (Map<String, Object>) data.get("result");
-                        @SuppressWarnings("unchecked")
-                        List<Map<String, Object>> records = (List<Map<String, Object>>) result.get("records");
-                        
-                        // Transformer les données pour notre format
-                        for (Map<String, Object> record : records) {
-                            Map<String, Object> travail = new java.util.HashMap<>();
-                            travail.put("id", record.get("id"));
-                            travail.put("arrondissement", record.get("boroughid"));
-                            travail.put("statut", record.get("currentstatus"));
-                            travail.put("motif", record.get("reason_category"));
-                            travail.put("organisation", record.get("organizationname"));
-                            travail.put("categorie_soumissionnaire", record.get("submittercategory"));
-                            
-                            // Ajouter des infos supplémentaires si disponibles
-                            if (record.containsKey("duration_start_date")) {
-                                travail.put("date_debut", record.get("duration_start_date"));
-                            }
-                            if (record.containsKey("duration_end_date")) {
-                                travail.put("date_fin", record.get("duration_end_date"));
-                            }
-                            
-                            travaux.add(travail);
-                        }
-                    }
+                    travaux.addAll(extraireTravaux(data));
                 }
             }
         } catch (Exception e) {
@@ -85,6 +96,67 @@ public class MontrealApiService {
             throw new ExternalApiException("Erreur lors de la récupération des données de l'API de Montréal: " + e.getMessage(), e);
         }
         
+        signalerRafraichissement(travaux);
         return travaux;
     }
+    
+    /**
+     * Incrémente la version "travauxMontreal" si les travaux reçus diffèrent des précédents
+     * Appelé aussi par le client réactif après un appel réussi
+     */
+    public void signalerRafraichissement(List<Map<String, Object>> travaux) {
+        int empreinte = travaux.hashCode();
+        if (contentVersions != null && !travaux.isEmpty() && empreinte != derniereEmpreinte) {
+            derniereEmpreinte = empreinte;
+            contentVersions.incrementer(ContentVersionService.TRAVAUX_MONTREAL);
+        }
+    }
+    
+    /**
+     * Transforme la réponse brute de l'API en travaux au format MaVille
+     * Partagé avec le client réactif (ReactiveMontrealClient)
+     * @param data Réponse JSON désérialisée de l'API
+     * @return Liste des travaux (vide si la réponse n'est pas un succès)
+     */
+    public static List<Map<String, Object>> extraireTravaux(Map<String, Object> data) {
+        List<Map<String, Object>> travaux = new ArrayList<>();
+        
+        // L'API retourne: { "success": true, "result": { "records": [...] } }
+        if (!Boolean.TRUE.equals(data.get("success"))) {
+            return travaux;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) data.get("result");
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> records = (List<Map<String, Object>>) result.get("records");
+        
+        // Transformer les données pour notre format
+        for (Map<String, Object> record : records) {
+            Map<String, Object> travail = new java.util.HashMap<>();
+            travail.put("id", record.get("id"));
+            travail.put("arrondissement", record.get("boroughid"));
+            travail.put("statut", record.get("currentstatus"));
+            travail.put("motif", record.get("reason_category"));
+            travail.put("organisation", record.get("organizationname"));
+            travail.put("categorie_soumissionnaire", record.get("submittercategory"));
+            
+            // Ajouter des infos supplémentaires si disponibles
+            if (record.containsKey("duration_start_date")) {
+                travail.put("date_debut", record.get("duration_start_date"));
+            }
+            if (record.containsKey("duration_end_date")) {
+                travail.put("date_fin", record.get("duration_end_date"));
+            }
+            
+            travaux.add(travail);
+        }
+        return travaux;
+    }
+    
+    /**
+     * URL complète de la requête à l'API pour une limite donnée
+     */
+    public String construireUrl(int limit) {
+        return apiUrl + "?resource_id=" + resourceId + "&limit=" + limit;
+    }
 }
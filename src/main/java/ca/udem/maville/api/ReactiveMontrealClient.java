@@ -0,0 +1,68 @@
+package ca.udem.maville.api;
+
+import ca.udem.maville.api.exception.ExternalApiException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client non bloquant pour l'API de données ouvertes de Montréal
+ * Partage le cache "travauxMontreal" avec {@link MontrealApiService} (même clé : la limite)
+ */
+public class ReactiveMontrealClient {
+    private static final String CACHE_NAME = "travauxMontreal";
+    
+    private final WebClient webClient;
+    private final CacheManager cacheManager;
+    private final MontrealApiService montrealApiService;
+    private final Duration timeout;
+    private final MontrealApiMetrics metrics;
+    
+    public ReactiveMontrealClient(WebClient webClient, CacheManager cacheManager,
+                                  MontrealApiService montrealApiService, Duration timeout,
+                                  MontrealApiMetrics metrics) {
+        this.webClient = webClient;
+        this.cacheManager = cacheManager;
+        this.montrealApiService = montrealApiService;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Récupère les travaux en cours sans bloquer de thread
+     * @param limit Nombre maximum de résultats
+     * @return Travaux au format MaVille (depuis le cache si disponible)
+     */
+    public Mono<List<Map<String, Object>>> getTravauxEnCours(int limit) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> enCache = cache.get(limit, List.class);
+            if (enCache != null) {
+                return Mono.just(enCache);
+            }
+        }
+        
+        return webClient.get()
+            .uri(montrealApiService.construireUrl(limit))
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+            .timeout(timeout)
+            .transform(metrics::mesurer)
+            .map(MontrealApiService::extraireTravaux)
+            .doOnNext(travaux -> {
+                if (cache != null && !travaux.isEmpty()) {
+                    cache.put(limit, travaux);
+                }
+                montrealApiService.signalerRafraichissement(travaux);
+            })
+            .onErrorMap(e -> !(e instanceof ExternalApiException), e -> new ExternalApiException(
+                "Erreur lors de la récupération des données de l'API de Montréal: " + e.getMessage(), e));
+    }
+}
@@ -1,21 +1,34 @@
 package ca.udem.maville.api.controller;
 
+import ca.udem.maville.api.security.LoginRateLimiter;
+import ca.udem.maville.api.security.PasswordVerifier;
+import ca.udem.maville.api.security.PrincipalCache;
+import ca.udem.maville.api.security.SessionAuthenticationFilter;
+import ca.udem.maville.api.security.SessionTokenService;
 import ca.udem.maville.entity.ResidentEntity;
 import ca.udem.maville.entity.PrestataireEntity;
 import ca.udem.maville.service.DatabaseStorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Contrôleur REST pour l'authentification
+ *
+ * La vérification BCrypt s'exécute sur un exécuteur borné (PasswordVerifier) : le thread
+ * de la requête est libéré pendant la vérification. Les tentatives sont limitées par IP et
+ * par identifiant (LoginRateLimiter) et une connexion réussie retourne un jeton signé,
+ * vérifié ensuite localement par SessionAuthenticationFilter.
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -24,76 +37,148 @@ public class AuthController {
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     
     private final DatabaseStorageService dbStorage;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginRateLimiter rateLimiter;
+    private final SessionTokenService sessions;
+    private final PrincipalCache principalCache;
     
-    public AuthController(DatabaseStorageService dbStorage) {
+    public AuthController(DatabaseStorageService dbStorage, PasswordVerifier passwordVerifier,
+                          LoginRateLimiter rateLimiter, SessionTokenService sessions,
+                          PrincipalCache principalCache) {
         this.dbStorage = dbStorage;
+        this.passwordVerifier = passwordVerifier;
+        this.rateLimiter = rateLimiter;
+        this.sessions = sessions;
+        this.principalCache = principalCache;
     }
     
     @PostMapping("/login")
-    @Operation(summary = "Login", 
-               description = "Allows a user to login with their email (resident) or NEQ (service provider)")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
+    @Operation(summary = "Login",
+               description = "Allows a user to login with their email (resident) or NEQ (service provider). " +
+                             "Returns a short-lived session token; 429 when too many attempts are made")
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String, String> credentials,
+                                                      HttpServletRequest request) {
         String identifier = credentials.get("identifier"); // email ou NEQ
         String password = credentials.get("password");
         
         if (identifier == null || password == null) {
-            return ResponseEntity.badRequest().body(Map.of(
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
                 "success", false,
                 "message", "Identifiant et mot de passe requis"
-            ));
+            )));
         }
         
+        // Avant toute vérification : une attaque est refusée sans coût BCrypt
+        rateLimiter.verifier(identifier, request.getRemoteAddr());
+        
         // Vérifier si c'est un email (résident) ou NEQ (prestataire)
+        // Les infos utilisateur sont extraites ici : l'entité ne quitte pas le thread de la requête
+        String type;
+        String passwordHash = null;
+        Long userId = null;
+        Map<String, Object> userInfo = new HashMap<>();
         if (identifier.contains("@")) {
             // Résident
+            type = "RESIDENT";
             Optional<ResidentEntity> residentOpt = dbStorage.findResidentByEmail(identifier);
             if (residentOpt.isPresent()) {
                 ResidentEntity resident = residentOpt.get();
-                if (resident.getPasswordHash() != null && 
-                    dbStorage.checkPassword(password, resident.getPasswordHash())) {
-                    
-                    logger.info("Connexion réussie pour résident: {}", identifier);
-                    
-                    Map<String, Object> userInfo = new HashMap<>();
-                    userInfo.put("id", resident.getId());
-                    userInfo.put("email", resident.getEmail());
-                    userInfo.put("nom", resident.getNomComplet());
-                    
-                    return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "type", "RESIDENT",
-                        "user", userInfo
-                    ));
-                }
+                passwordHash = resident.getPasswordHash();
+                userId = resident.getId();
+                userInfo.put("id", resident.getId());
+                userInfo.put("email", resident.getEmail());
+                userInfo.put("nom", resident.getNomComplet());
             }
         } else {
             // Prestataire
+            type = "PRESTATAIRE";
             Optional<PrestataireEntity> prestataireOpt = dbStorage.findPrestataireByNeq(identifier);
             if (prestataireOpt.isPresent()) {
                 PrestataireEntity prestataire = prestataireOpt.get();
-                if (prestataire.getPasswordHash() != null && 
-                    dbStorage.checkPassword(password, prestataire.getPasswordHash())) {
-                    
-                    logger.info("Connexion réussie pour prestataire: {}", identifier);
-                    
-                    Map<String, Object> userInfo = new HashMap<>();
-                    userInfo.put("id", prestataire.getId());
-                    userInfo.put("neq", prestataire.getNumeroEntreprise());
-                    userInfo.put("nom", prestataire.getNomEntreprise());
-                    
-                    return ResponseEntity.ok(Map.of(
-                        "success", true,
-                        "type", "PRESTATAIRE",
-                        "user", userInfo
-                    ));
-                }
+                passwordHash = prestataire.getPasswordHash();
+                userId = prestataire.getId();
+                userInfo.put("id", prestataire.getId());
+                userInfo.put("neq", prestataire.getNumeroEntreprise());
+                userInfo.put("nom", prestataire.getNomEntreprise());
+            }
+        }
+        
+        Long id = userId;
+        return passwordVerifier.verifier(identifier, password, passwordHash).thenApply(valide -> {
+            if (!valide) {
+                logger.warn("Tentative de connexion échouée pour: {}", identifier);
+                return ResponseEntity.status(401).body(Map.of(
+                    "success", false,
+                    "message", "Identifiants invalides"
+                ));
             }
+            
+            logger.info("Connexion réussie pour {}: {}", type.toLowerCase(), identifier);
+            rateLimiter.reussite(identifier);
+            SessionTokenService.Session session = sessions.emettre(type, identifier, id);
+            principalCache.memoriser(type, id, userInfo);
+            
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "type", type,
+                "user", userInfo,
+                "token", session.jeton(),
+                "expiresIn", sessions.duree().toSeconds()
+            ));
+        });
+    }
+    
+    @GetMapping("/session")
+    @Operation(summary = "Validate session",
+               description = "Checks a session token (Authorization: Bearer) without re-verifying the password")
+    public ResponseEntity<?> session(
+            @RequestAttribute(name = SessionAuthenticationFilter.ATTRIBUT_SESSION, required = false)
+            SessionTokenService.Session session) {
+        if (session == null) {
+            return sessionInvalide();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("type", session.type());
+        response.put("identifier", session.identifiant());
+        response.put("userId", session.userId());
+        response.put("expiresAt", session.expiration().toString());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/me")
+    @Operation(summary = "Current user",
+               description = "Profile of the token's user, served from the in-memory principal cache")
+    public ResponseEntity<?> me(
+            @RequestAttribute(name = SessionAuthenticationFilter.ATTRIBUT_SESSION, required = false)
+            SessionTokenService.Session session) {
+        if (session == null) {
+            return sessionInvalide();
+        }
+        Optional<Map<String, Object>> profil = principalCache.profil(session);
+        if (profil.isEmpty()) {
+            return sessionInvalide();
         }
         
-        logger.warn("Tentative de connexion échouée pour: {}", identifier);
+        return ResponseEntity.ok(Map.of(
+            "success", true,
+            "type", session.type(),
+            "user", profil.get()
+        ));
+    }
+    
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revokes the session token")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        sessions.revoquer(SessionAuthenticationFilter.extraireJeton(authorization));
+        return ResponseEntity.ok(Map.of("success", true));
+    }
+    
+    private static ResponseEntity<?> sessionInvalide() {
         return ResponseEntity.status(401).body(Map.of(
             "success", false,
-            "message", "Identifiants invalides"
+            "message", "Session invalide ou expirée"
         ));
     }
 }
@@ -1,7 +1,14 @@
 package ca.udem.maville.api.controller;
 
+import ca.udem.maville.api.security.PasswordVerifier;
+import ca.udem.maville.config.PoolMetricsTracker;
+import ca.udem.maville.config.ReplicaLagMonitor;
+import ca.udem.maville.service.SingleFlight;
+import ca.udem.maville.service.SqlStatementCounter;
+import ca.udem.maville.service.StartupTasks;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,6 +25,17 @@ import java.util.Map;
 @Tag(name = "Health", description = "Endpoints to check API health status")
 public class HealthController {
     
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final PasswordVerifier passwordVerifier;
+    private final StartupTasks startupTasks;
+    
+    public HealthController(ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                            PasswordVerifier passwordVerifier, StartupTasks startupTasks) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.passwordVerifier = passwordVerifier;
+        this.startupTasks = startupTasks;
+    }
+    
     @GetMapping("/health")
     @Operation(summary = "Check API health status", 
                description = "Retourne le statut de l'API et des informations de base")
@@ -29,6 +47,65 @@ public class HealthController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/health/single-flight")
+    @Operation(summary = "Request coalescing statistics", 
+               description = "Executed vs coalesced loads for the cached hot read paths (Montreal API, problems, projects)")
+    public ResponseEntity<Map<String, Object>> singleFlight() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("singleFlight", SingleFlight.statistiques());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/health/sql")
+    @Operation(summary = "SQL statements per endpoint", 
+               description = "Calls, total and maximum number of SQL statements issued per endpoint since startup")
+    public ResponseEntity<Map<String, Object>> sql() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("requetesSql", SqlStatementCounter.statistiques());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/health/pool")
+    @Operation(summary = "JDBC connection pool metrics", 
+               description = "Active, idle and pending connections, timeouts and connection acquire latency histogram per Hikari pool")
+    public ResponseEntity<Map<String, Object>> pool() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("pools", PoolMetricsTracker.statistiques());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/health/auth")
+    @Operation(summary = "Password verification executor", 
+               description = "BCrypt executor threads, queue, completed and rejected verifications, cache hits")
+    public ResponseEntity<Map<String, Object>> auth() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("verificationMotsDePasse", passwordVerifier.statistiques());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/health/startup")
+    @Operation(summary = "Startup timings", 
+               description = "Time to ready (Spring and JVM), active profiles, bean count and heap at ready, " +
+                             "background sample-data seeding and cache warm-up durations")
+    public ResponseEntity<Map<String, Object>> startup() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("demarrage", startupTasks.statistiques());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/health/replica")
+    @Operation(summary = "Read replica status", 
+               description = "Replication lag and whether read-only transactions are currently routed to the replica")
+    public ResponseEntity<Map<String, Object>> replica() {
+        Map<String, Object> response = new HashMap<>();
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        response.put("active", monitor != null);
+        if (monitor != null) {
+            response.put("replica", monitor.etat());
+        }
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping
     @Operation(summary = "API information", 
                description = "Returns general information about the MaVille API")
@@ -1,10 +1,14 @@
 package ca.udem.maville.api.controller;
 
 import ca.udem.maville.api.MontrealApiService;
+import ca.udem.maville.api.util.HttpCacheUtil;
+import ca.udem.maville.service.ContentVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -16,21 +20,30 @@ import java.util.*;
 @Tag(name = "Montreal", description = "Endpoints to integrate data from Montreal's official API")
 public class MontrealController {
     private final MontrealApiService montrealApiService;
+    private final ContentVersionService contentVersions;
     
-    public MontrealController(MontrealApiService montrealApiService) {
+    public MontrealController(@Lazy MontrealApiService montrealApiService, ContentVersionService contentVersions) {
         this.montrealApiService = montrealApiService;
+        this.contentVersions = contentVersions;
     }
     
     @GetMapping("/travaux")
     @Operation(summary = "Get Montreal public works", 
                description = "Fetches ongoing public works from Montreal's official open data API")
-    public ResponseEntity<?> getTravauxMontreal() {
+    public ResponseEntity<?> getTravauxMontreal(WebRequest webRequest) {
+        // Servi depuis le cache ; l'ETag est calculé après l'appel pour refléter un premier chargement
         List<Map<String, Object>> travaux = montrealApiService.getTravauxEnCours(50);
         
+        String etag = contentVersions.etag("montreal/travaux", ContentVersionService.TRAVAUX_MONTREAL);
+        long dernierChangement = contentVersions.dernierChangement(ContentVersionService.TRAVAUX_MONTREAL);
+        if (HttpCacheUtil.estNonModifie(webRequest, etag, dernierChangement)) {
+            return HttpCacheUtil.nonModifie(etag);
+        }
+        
         Map<String, Object> response = new HashMap<>();
         response.put("travaux", travaux);
         response.put("total", travaux.size());
-        return ResponseEntity.ok(response);
+        return HttpCacheUtil.ok(response, etag, dernierChangement);
     }
 }
 
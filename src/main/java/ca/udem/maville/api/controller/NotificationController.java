@@ -2,6 +2,8 @@ package ca.udem.maville.api.controller;
 
 import ca.udem.maville.api.service.NotificationService;
 import ca.udem.maville.entity.NotificationEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,8 +39,12 @@ public class NotificationController {
     private static final long SSE_TIMEOUT = 300_000L;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, MeterRegistry meterRegistry) {
         this.notificationService = notificationService;
+        Gauge.builder("maville.sse.connections", sseEmitters, Map::size)
+            .description("Flux SSE ouverts")
+            .tag("api", "mvc")
+            .register(meterRegistry);
         // Enregistrer ce contrôleur dans le service pour éviter dépendance circulaire
         notificationService.setSseController(this);
     }
@@ -176,4 +182,3 @@ public class NotificationController {
             });
     }
 }
-
@@ -1,10 +1,22 @@
 package ca.udem.maville.api.controller;
 
 import ca.udem.maville.api.dto.CandidatureRequest;
+import ca.udem.maville.api.dto.NotificationResponse;
 import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.dto.ProblemeResponse;
+import ca.udem.maville.api.dto.ProjetResponse;
 import ca.udem.maville.api.exception.ResourceNotFoundException;
+import ca.udem.maville.api.security.SessionAuthenticationFilter;
+import ca.udem.maville.api.security.SessionTokenService;
+import ca.udem.maville.api.util.HttpCacheUtil;
+import ca.udem.maville.api.util.MdcContexte;
+import ca.udem.maville.api.util.QueryBudget;
 import ca.udem.maville.entity.*;
 import ca.udem.maville.modele.*;
+import ca.udem.maville.repository.projection.NotificationListView;
+import ca.udem.maville.repository.projection.ProblemeListView;
+import ca.udem.maville.repository.projection.ProjetListView;
+import ca.udem.maville.service.ContentVersionService;
 import ca.udem.maville.service.DatabaseStorageService;
 import ca.udem.maville.repository.NotificationRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -31,15 +44,19 @@ public class PrestataireController {
     
     private final DatabaseStorageService dbStorage;
     private final NotificationRepository notificationRepository;
+    private final ContentVersionService contentVersions;
     
-    public PrestataireController(DatabaseStorageService dbStorage, NotificationRepository notificationRepository) {
+    public PrestataireController(DatabaseStorageService dbStorage, NotificationRepository notificationRepository,
+                                 ContentVersionService contentVersions) {
         this.dbStorage = dbStorage;
         this.notificationRepository = notificationRepository;
+        this.contentVersions = contentVersions;
     }
     
     @GetMapping("/problemes")
     @Operation(summary = "View available problems", 
                description = "Returns paginated list of available problems with optional filters")
+    @QueryBudget(2)
     public ResponseEntity<?> consulterProblemes(
             @Parameter(description = "Filter by neighborhood") 
             @RequestParam(required = false) String quartier,
@@ -48,7 +65,16 @@ public class PrestataireController {
             @Parameter(description = "Page number (0-indexed)", example = "0") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10") 
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        
+        // Revalidation ETag avant toute requête SQL
+        String etag = contentVersions.etag("prestataires/problemes?" + quartier + "&" + type + "&" + page + "&" + size,
+                                           ContentVersionService.PROBLEMES);
+        long dernierChangement = contentVersions.dernierChangement(ContentVersionService.PROBLEMES);
+        if (HttpCacheUtil.estNonModifie(webRequest, etag, dernierChangement)) {
+            return HttpCacheUtil.nonModifie(etag);
+        }
         
         // Convert string type to enum if provided
         TypeTravaux typeEnum = null;
@@ -61,34 +87,28 @@ public class PrestataireController {
         }
         
         // Utiliser le repository avec pagination
-        org.springframework.data.domain.Page<ProblemeEntity> pageResult = 
-            dbStorage.findNonResolusWithFilters(quartier, typeEnum, page, size);
+        org.springframework.data.domain.Page<ProblemeListView> pageResult = 
+            dbStorage.findNonResolusViews(quartier, typeEnum, page, size);
         
-        List<Map<String, Object>> problemesJson = new ArrayList<>();
-        for (ProblemeEntity p : pageResult.getContent()) {
-            Map<String, Object> pJson = new HashMap<>();
-            pJson.put("id", p.getId());
-            pJson.put("lieu", p.getLieu());
-            pJson.put("description", p.getDescription());
-            pJson.put("type", p.getTypeProbleme().getDescription());
-            pJson.put("priorite", p.getPriorite().getDescription());
-            pJson.put("declarant", p.getDeclarant().getNomComplet());
-            pJson.put("date", p.getDateSignalement().toString());
-            problemesJson.add(pJson);
+        List<ProblemeResponse> problemesJson = new ArrayList<>(pageResult.getNumberOfElements());
+        for (ProblemeListView p : pageResult.getContent()) {
+            problemesJson.add(ProblemeResponse.from(p));
         }
         
-        PaginatedResponse<Map<String, Object>> response = new PaginatedResponse<>(
+        PaginatedResponse<ProblemeResponse> response = new PaginatedResponse<>(
             problemesJson, page, size, (int) pageResult.getTotalElements()
         );
         
-        return ResponseEntity.ok(response);
+        return HttpCacheUtil.ok(response, etag, dernierChangement);
     }
     
     @PostMapping("/candidatures")
     @Operation(summary = "Submit an application", 
                description = "Allows a service provider to submit an application for one or more problems")
     @Transactional
-    public ResponseEntity<?> soumettreCandidature(@Valid @RequestBody CandidatureRequest request) {
+    public ResponseEntity<?> soumettreCandidature(@Valid @RequestBody CandidatureRequest request,
+            @RequestAttribute(name = SessionAuthenticationFilter.ATTRIBUT_SESSION, required = false) 
+            SessionTokenService.Session session) {
         // Validation automatique via @Valid - gérée par GlobalExceptionHandler
         String prestataireId = request.getPrestataireId();
         String description = request.getDescription();
@@ -96,36 +116,39 @@ public class PrestataireController {
         LocalDate dateFin = request.getDateFin();
         Double cout = request.getCout() != null ? request.getCout() : 10000.0;
         
-        // Trouver ou créer prestataire
-        PrestataireEntity prestataire = dbStorage.findOrCreatePrestataire(
-            prestataireId, "Nouvelle Entreprise " + prestataireId,
-            "Contact", "514-000-0000", prestataireId.toLowerCase() + "@entreprise.com"
-        );
+        // Prestataire connecté : identité du jeton, simple référence sans SELECT
+        // Sinon (démo) : trouver ou créer le prestataire
+        PrestataireEntity prestataire;
+        if (session != null && session.userId() != null) {
+            session.exigerIdentite("PRESTATAIRE", prestataireId);
+            prestataire = dbStorage.referencePrestataire(session.userId());
+        } else {
+            prestataire = dbStorage.findOrCreatePrestataire(
+                prestataireId, "Nouvelle Entreprise " + prestataireId,
+                "Contact", "514-000-0000", prestataireId.toLowerCase() + "@entreprise.com"
+            );
+        }
         
-        // Trouver problèmes associés
-        List<ProblemeEntity> problemesDisponibles = dbStorage.findNonResolus();
+        // Trouver problèmes associés (une requête pour tous les ids demandés)
         List<ProblemeEntity> problemesVises;
         
         if (request.getProblemesVises() != null && !request.getProblemesVises().isEmpty()) {
-            problemesVises = request.getProblemesVises().stream()
-                .map(id -> {
-                    @SuppressWarnings("null")
-                    Long longId = Long.valueOf(id);
-                    @SuppressWarnings("null")
-                    java.util.Optional<ProblemeEntity> result = dbStorage.findProblemeById(longId);
-                    return result;
-                })
-                .filter(java.util.Optional::isPresent)
-                .map(java.util.Optional::get)
-                .toList();
+            Set<Long> idsDemandes = new LinkedHashSet<>();
+            for (Integer id : request.getProblemesVises()) {
+                idsDemandes.add(Long.valueOf(id));
+            }
+            problemesVises = dbStorage.findNonResolusByIds(idsDemandes);
+            
+            if (problemesVises.size() != idsDemandes.size()) {
+                Set<Long> manquants = new LinkedHashSet<>(idsDemandes);
+                problemesVises.forEach(p -> manquants.remove(p.getId()));
+                throw new ResourceNotFoundException(
+                    "Problème(s) inexistant(s) ou déjà résolu(s): " + manquants);
+            }
         } else {
-            problemesVises = problemesDisponibles.stream()
-                .limit(1)
-                .toList();
-        }
-        
-        if (problemesVises.isEmpty()) {
-            throw new ResourceNotFoundException("Aucun problème disponible pour cette candidature");
+            problemesVises = dbStorage.findPremierNonResolu()
+                .map(p -> new ArrayList<>(List.of(p)))
+                .orElseThrow(() -> new ResourceNotFoundException("Aucun problème disponible pour cette candidature"));
         }
         
         // Créer candidature
@@ -134,12 +157,12 @@ public class PrestataireController {
         );
         
         // Log structuré avec contexte MDC
-        org.slf4j.MDC.put("candidatureId", String.valueOf(nouvelleCandidature.getId()));
-        org.slf4j.MDC.put("prestataireId", prestataireId);
-        org.slf4j.MDC.put("problemesVises", String.valueOf(problemesVises.size()));
-        org.slf4j.MDC.put("cout", String.valueOf(cout));
-        logger.info("Candidature créée avec succès");
-        org.slf4j.MDC.clear();
+        try (var ignored = MdcContexte.avec("candidatureId", String.valueOf(nouvelleCandidature.getId()),
+                                            "prestataireId", prestataireId,
+                                            "problemesVises", String.valueOf(problemesVises.size()),
+                                            "cout", String.valueOf(cout))) {
+            logger.info("Candidature créée avec succès");
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -149,17 +172,13 @@ public class PrestataireController {
     }
     
     @GetMapping("/{neq}/projets")
+    @QueryBudget(1)
     public ResponseEntity<?> consulterProjetsDuPrestataire(@PathVariable String neq) {
-        List<ProjetEntity> mesProjets = dbStorage.findProjetsByPrestataire(neq);
+        List<ProjetListView> mesProjets = dbStorage.findProjetsByPrestataire(neq);
         
-        List<Map<String, Object>> projetsJson = new ArrayList<>();
-        for (ProjetEntity p : mesProjets) {
-            Map<String, Object> pJson = new HashMap<>();
-            pJson.put("id", p.getId());
-            pJson.put("description", p.getDescriptionProjet());
-            pJson.put("statut", p.getStatut().getDescription());
-            pJson.put("localisation", p.getLocalisation());
-            projetsJson.add(pJson);
+        List<ProjetResponse> projetsJson = new ArrayList<>(mesProjets.size());
+        for (ProjetListView p : mesProjets) {
+            projetsJson.add(ProjetResponse.from(p));
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -189,18 +208,13 @@ public class PrestataireController {
     }
     
     @GetMapping("/{neq}/notifications")
+    @QueryBudget(1)
     public ResponseEntity<?> consulterNotificationsPrestataire(@PathVariable String neq) {
-        List<NotificationEntity> mesNotifications = dbStorage.findPrestataireNotifications(neq);
+        List<NotificationListView> mesNotifications = dbStorage.findPrestataireNotificationViews(neq);
         
-        List<Map<String, Object>> notificationsJson = new ArrayList<>();
-        for (NotificationEntity n : mesNotifications) {
-            Map<String, Object> nJson = new HashMap<>();
-            nJson.put("id", n.getId() != null ? n.getId().toString() : null);
-            nJson.put("message", n.getMessage());
-            nJson.put("type", n.getTypeChangement());
-            nJson.put("date", n.getDateCreation() != null ? n.getDateCreation().toString() : null);
-            nJson.put("lu", n.isLu());
-            notificationsJson.add(nJson);
+        List<NotificationResponse> notificationsJson = new ArrayList<>(mesNotifications.size());
+        for (NotificationListView n : mesNotifications) {
+            notificationsJson.add(NotificationResponse.from(n));
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,92 @@
+package ca.udem.maville.api.controller;
+
+import ca.udem.maville.api.ReactiveMontrealClient;
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.service.NotificationStreamHub;
+import ca.udem.maville.api.service.TravauxService;
+import ca.udem.maville.repository.projection.ProjetListView;
+import ca.udem.maville.service.DatabaseStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API réactive en lecture seule (flux de notifications et travaux)
+ * 
+ * Alternative à /api/notifications/stream et /api/residents/travaux : aucun thread n'est
+ * retenu par connexion SSE, l'API Montréal est appelée via WebClient et les lectures JPA
+ * passent par un pont borné (jdbcScheduler) dimensionné sur le pool JDBC.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@Tag(name = "Reactive", description = "Non-blocking read-only endpoints: notification streams and public works")
+public class ReactiveController {
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveController.class);
+    
+    private final NotificationStreamHub streamHub;
+    private final DatabaseStorageService dbStorage;
+    private final TravauxService travauxService;
+    private final ReactiveMontrealClient montrealClient;
+    private final Scheduler jdbcScheduler;
+    
+    public ReactiveController(NotificationStreamHub streamHub,
+                              DatabaseStorageService dbStorage,
+                              TravauxService travauxService,
+                              @Lazy ReactiveMontrealClient montrealClient,
+                              Scheduler jdbcScheduler) {
+        this.streamHub = streamHub;
+        this.dbStorage = dbStorage;
+        this.travauxService = travauxService;
+        this.montrealClient = montrealClient;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+    
+    @GetMapping(value = "/notifications/stream/{userIdentifier}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream notifications (reactive)", 
+               description = "Server-Sent Events stream of notifications for a resident (email), provider (NEQ) or 'stpm'")
+    public Flux<ServerSentEvent<String>> streamNotifications(@PathVariable String userIdentifier) {
+        logger.debug("Nouvelle connexion SSE réactive pour utilisateur: {}", userIdentifier);
+        return streamHub.stream(userIdentifier);
+    }
+    
+    @GetMapping("/residents/travaux")
+    @Operation(summary = "View public works (reactive)", 
+               description = "Same result as GET /api/residents/travaux, computed without blocking request threads")
+    public Mono<PaginatedResponse<Map<String, Object>>> consulterTravaux(
+            @Parameter(description = "Filter by neighborhood") 
+            @RequestParam(required = false) String quartier,
+            @Parameter(description = "Filter by work type") 
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Page number (0-indexed)", example = "0") 
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "10") 
+            @RequestParam(defaultValue = "10") int size) {
+        Mono<List<ProjetListView>> projets = Mono
+            .fromCallable(dbStorage::findAllProjets)
+            .subscribeOn(jdbcScheduler);
+        
+        Mono<List<Map<String, Object>>> travauxMontreal = montrealClient.getTravauxEnCours(50)
+            .onErrorResume(e -> {
+                logger.warn("Erreur lors de la récupération des travaux de Montréal: {}", e.getMessage());
+                return Mono.just(List.of());
+            });
+        
+        return Mono.zip(projets, travauxMontreal)
+            .map(tuple -> travauxService.paginer(
+                travauxService.fusionnerTravaux(tuple.getT1(), tuple.getT2(), quartier, type),
+                page, size
+            ));
+    }
+}
@@ -0,0 +1,67 @@
+package ca.udem.maville.api.controller;
+
+import ca.udem.maville.api.exception.ValidationException;
+import ca.udem.maville.api.service.RechercheService;
+import ca.udem.maville.api.util.QueryBudget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recherche plein texte pour les agents STPM et les prestataires
+ */
+@RestController
+@RequestMapping("/api/recherche")
+@Tag(name = "Search", description = "Ranked full-text search over problems and projects (accent-insensitive, French stemming)")
+public class RechercheController {
+    private static final int TAILLE_MAX = 100;
+    
+    private final RechercheService rechercheService;
+    
+    public RechercheController(RechercheService rechercheService) {
+        this.rechercheService = rechercheService;
+    }
+    
+    @GetMapping
+    @Operation(summary = "Search problems and projects", 
+               description = "Returns results ranked by relevance. Supports \"exact phrase\", -exclusion and OR")
+    @QueryBudget(4)
+    public ResponseEntity<?> rechercher(
+            @Parameter(description = "Search text", example = "nid de poule") 
+            @RequestParam("q") String texte,
+            @Parameter(description = "Restrict to 'problemes' or 'projets' (both by default)") 
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Page number (0-indexed)", example = "0") 
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "10") 
+            @RequestParam(defaultValue = "10") int size) {
+        if (texte == null || texte.trim().length() < 2) {
+            throw new ValidationException("Le texte recherché doit contenir au moins 2 caractères");
+        }
+        if (page < 0 || size < 1 || size > TAILLE_MAX) {
+            throw new ValidationException("Pagination invalide (size entre 1 et " + TAILLE_MAX + ")");
+        }
+        
+        if (type != null && !type.isBlank()
+                && !"problemes".equalsIgnoreCase(type) && !"projets".equalsIgnoreCase(type)) {
+            throw new ValidationException("Type de recherche invalide: " + type + " (problemes ou projets)");
+        }
+        
+        String recherche = texte.trim();
+        Map<String, Object> response = new HashMap<>();
+        response.put("q", recherche);
+        response.put("moteur", rechercheService.moteur());
+        if (type == null || type.isBlank() || "problemes".equalsIgnoreCase(type)) {
+            response.put("problemes", rechercheService.rechercherProblemes(recherche, page, size));
+        }
+        if (type == null || type.isBlank() || "projets".equalsIgnoreCase(type)) {
+            response.put("projets", rechercheService.rechercherProjets(recherche, page, size));
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,25 +1,36 @@
 package ca.udem.maville.api.controller;
 
+import ca.udem.maville.api.dto.NotificationResponse;
 import ca.udem.maville.api.dto.PaginatedResponse;
 import ca.udem.maville.api.dto.ProblemeRequest;
+import ca.udem.maville.api.security.SessionAuthenticationFilter;
+import ca.udem.maville.api.security.SessionTokenService;
 import ca.udem.maville.api.service.ApiService;
 import ca.udem.maville.api.service.NotificationService;
+import ca.udem.maville.api.service.TravauxService;
+import ca.udem.maville.api.util.HttpCacheUtil;
+import ca.udem.maville.api.util.MdcContexte;
+import ca.udem.maville.api.util.QueryBudget;
 import ca.udem.maville.api.util.ValidationUtil;
 import ca.udem.maville.api.MontrealApiService;
 import ca.udem.maville.modele.*;
+import ca.udem.maville.service.ContentVersionService;
 import ca.udem.maville.service.DatabaseStorageService;
-import ca.udem.maville.service.ModelMapperService;
 import ca.udem.maville.entity.*;
 import ca.udem.maville.repository.NotificationRepository;
+import ca.udem.maville.repository.projection.NotificationListView;
+import ca.udem.maville.repository.projection.ProjetListView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -33,31 +44,36 @@ public class ResidentController {
     private static final Logger logger = LoggerFactory.getLogger(ResidentController.class);
     
     private final DatabaseStorageService dbStorage;
-    private final ModelMapperService mapper;
+    private final TravauxService travauxService;
     private final ApiService apiService;
     private final MontrealApiService montrealApiService;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
+    private final ContentVersionService contentVersions;
     
     public ResidentController(DatabaseStorageService dbStorage,
-                             ModelMapperService mapper,
+                             TravauxService travauxService,
                              ApiService apiService,
-                             MontrealApiService montrealApiService,
+                             @Lazy MontrealApiService montrealApiService,
                              NotificationService notificationService,
-                             NotificationRepository notificationRepository) {
+                             NotificationRepository notificationRepository,
+                             ContentVersionService contentVersions) {
         this.dbStorage = dbStorage;
-        this.mapper = mapper;
+        this.travauxService = travauxService;
         this.apiService = apiService;
         this.montrealApiService = montrealApiService;
         this.notificationService = notificationService;
         this.notificationRepository = notificationRepository;
+        this.contentVersions = contentVersions;
     }
     
     @PostMapping("/problemes")
     @Operation(summary = "Report a problem", 
                description = "Allows a resident to report a road or urban problem")
     @Transactional
-    public ResponseEntity<?> signalerProbleme(@Valid @RequestBody ProblemeRequest request) {
+    public ResponseEntity<?> signalerProbleme(@Valid @RequestBody ProblemeRequest request,
+            @RequestAttribute(name = SessionAuthenticationFilter.ATTRIBUT_SESSION, required = false) 
+            SessionTokenService.Session session) {
         // Automatic validation via @Valid - handled by GlobalExceptionHandler
         // Sanitization
         String lieu = ValidationUtil.sanitize(request.getLieu());
@@ -67,10 +83,17 @@ public class ResidentController {
         // Extraire le quartier
         String quartier = apiService.extraireQuartier(lieu);
         
-        // Trouver ou créer résident
-        ResidentEntity declarant = dbStorage.findOrCreateResident(
-            residentEmail, "Demo", "User", "514-000-0000", lieu
-        );
+        // Résident connecté : identité du jeton, simple référence sans SELECT
+        // Sinon (démo) : trouver ou créer le résident
+        ResidentEntity declarant;
+        if (session != null && session.userId() != null) {
+            session.exigerIdentite("RESIDENT", residentEmail);
+            declarant = dbStorage.referenceResident(session.userId());
+        } else {
+            declarant = dbStorage.findOrCreateResident(
+                residentEmail, "Demo", "User", "514-000-0000", lieu
+            );
+        }
         
         // Créer le problème
         ProblemeEntity nouveauProbleme = dbStorage.createProbleme(
@@ -95,12 +118,12 @@ public class ResidentController {
         }
         
         // Log structuré avec contexte MDC
-        org.slf4j.MDC.put("problemeId", String.valueOf(nouveauProbleme.getId()));
-        org.slf4j.MDC.put("quartier", quartier);
-        org.slf4j.MDC.put("typeProbleme", nouveauProbleme.getTypeProbleme().name());
-        org.slf4j.MDC.put("residentEmail", residentEmail);
-        logger.info("Problème signalé avec succès");
-        org.slf4j.MDC.clear();
+        try (var ignored = MdcContexte.avec("problemeId", String.valueOf(nouveauProbleme.getId()),
+                                            "quartier", quartier,
+                                            "typeProbleme", nouveauProbleme.getTypeProbleme().name(),
+                                            "residentEmail", residentEmail)) {
+            logger.info("Problème signalé avec succès");
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -114,6 +137,7 @@ public class ResidentController {
     @GetMapping("/travaux")
     @Operation(summary = "View public works", 
                description = "Returns paginated list of ongoing public works (MaVille + Montreal API) with optional filters")
+    @QueryBudget(1)
     public ResponseEntity<?> consulterTravaux(
             @Parameter(description = "Filter by neighborhood") 
             @RequestParam(required = false) String quartier,
@@ -122,111 +146,53 @@ public class ResidentController {
             @Parameter(description = "Page number (0-indexed)", example = "0") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10") 
-            @RequestParam(defaultValue = "10") int size) {
-        List<Map<String, Object>> tousTravaux = new ArrayList<>();
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        // 1. Récupérer les travaux de l'API Montréal (depuis le cache en temps normal)
+        List<Map<String, Object>> travauxMontreal = new ArrayList<>();
+        boolean montrealDisponible = true;
+        try {
+            travauxMontreal = montrealApiService.getTravauxEnCours(50);
+        } catch (Exception e) {
+            montrealDisponible = false;
+            logger.warn("Erreur lors de la récupération des travaux de Montréal: {}", e.getMessage());
+        }
         
-        // 1. Récupérer les projets MaVille
-        List<ProjetEntity> projetsMaVille = dbStorage.findAllProjets();
-        for (ProjetEntity projetEntity : projetsMaVille) {
-            Projet projet = mapper.toModel(projetEntity);
-                // Filtrer par quartier si spécifié
-                if (quartier != null && !quartier.isEmpty()) {
-                    String quartierProjet = apiService.extraireQuartier(projet.getLocalisation());
-                    if (!quartier.equalsIgnoreCase(quartierProjet)) {
-                        continue;
-                    }
-                }
-                
-                // Filtrer par type si spécifié
-                if (type != null && !type.isEmpty()) {
-                    String typeProjet = projet.getTypeTravail() != null ? 
-                        projet.getTypeTravail().getDescription() : "";
-                    if (!type.equalsIgnoreCase(typeProjet)) {
-                        continue;
-                    }
-                }
-                
-                Map<String, Object> travail = new HashMap<>();
-                travail.put("id", "MAVILLE-" + projet.getId());
-                travail.put("source", "MaVille");
-                travail.put("titre", projet.getDescriptionProjet() != null ? 
-                    projet.getDescriptionProjet() : "Projet #" + projet.getId());
-                travail.put("description", projet.getDescriptionProjet());
-                travail.put("lieu", projet.getLocalisation());
-                travail.put("quartier", apiService.extraireQuartier(projet.getLocalisation()));
-                travail.put("type", projet.getTypeTravail() != null ? 
-                    projet.getTypeTravail().getDescription() : "Non spécifié");
-                travail.put("date_debut", projet.getDateDebutPrevue() != null ? 
-                    projet.getDateDebutPrevue().toString() : null);
-                travail.put("date_fin", projet.getDateFinPrevue() != null ? 
-                    projet.getDateFinPrevue().toString() : null);
-                travail.put("cout", projet.getCout());
-                travail.put("statut", projet.getStatut() != null ? 
-                    projet.getStatut().getDescription() : "En attente");
-                tousTravaux.add(travail);
-            }
-            
-            // 2. Récupérer les travaux de l'API Montréal
-            try {
-                List<Map<String, Object>> travauxMontreal = montrealApiService.getTravauxEnCours(50);
-                
-                for (Map<String, Object> travailMontreal : travauxMontreal) {
-                    // Filtrer par quartier si spécifié
-                    if (quartier != null && !quartier.isEmpty()) {
-                        Object arrondissement = travailMontreal.get("arrondissement");
-                        if (arrondissement == null || 
-                            !quartier.equalsIgnoreCase(arrondissement.toString())) {
-                            continue;
-                        }
-                    }
-                    
-                    // Filtrer par type si spécifié
-                    if (type != null && !type.isEmpty()) {
-                        Object motif = travailMontreal.get("motif");
-                        if (motif == null || 
-                            !type.equalsIgnoreCase(motif.toString())) {
-                            continue;
-                        }
-                    }
-                    
-                    travailMontreal.put("source", "Montreal");
-                    tousTravaux.add(travailMontreal);
-                }
-            } catch (Exception e) {
-                logger.warn("Erreur lors de la récupération des travaux de Montréal: {}", e.getMessage());
-            }
-            
-            // Pagination
-            int total = tousTravaux.size();
-            int start = page * size;
-            int end = Math.min(start + size, total);
-            
-            List<Map<String, Object>> pageTravaux = (start < total) ? 
-                tousTravaux.subList(start, end) : new ArrayList<>();
-            
-            PaginatedResponse<Map<String, Object>> response = new PaginatedResponse<>(
-                pageTravaux, page, size, total
-            );
-            
-            return ResponseEntity.ok(response);
+        // 2. Revalidation ETag avant de charger et fusionner les projets MaVille
+        String etag = contentVersions.etag(
+            "residents/travaux?" + quartier + "&" + type + "&" + page + "&" + size + "&" + montrealDisponible,
+            ContentVersionService.PROJETS, ContentVersionService.TRAVAUX_MONTREAL
+        );
+        long dernierChangement = contentVersions.dernierChangement(
+            ContentVersionService.PROJETS, ContentVersionService.TRAVAUX_MONTREAL
+        );
+        if (HttpCacheUtil.estNonModifie(webRequest, etag, dernierChangement)) {
+            return HttpCacheUtil.nonModifie(etag);
+        }
+        
+        // 3. Récupérer les projets MaVille
+        List<ProjetListView> projetsMaVille = dbStorage.findAllProjets();
+        
+        // Fusion, filtres et pagination
+        List<Map<String, Object>> tousTravaux = travauxService.fusionnerTravaux(
+            projetsMaVille, travauxMontreal, quartier, type
+        );
+        PaginatedResponse<Map<String, Object>> response = travauxService.paginer(tousTravaux, page, size);
+        
+        return HttpCacheUtil.ok(response, etag, dernierChangement);
     }
     
     @GetMapping("/{email}/notifications")
+    @QueryBudget(1)
     public ResponseEntity<?> consulterNotifications(@PathVariable String email) {
-        List<NotificationEntity> mesNotifs = dbStorage.findNotificationsByResident(email);
+        List<NotificationListView> mesNotifs = dbStorage.findNotificationViewsByResident(email);
         
-        List<Map<String, Object>> notifications = new ArrayList<>();
-        for (NotificationEntity n : mesNotifs) {
-            Map<String, Object> notif = new HashMap<>();
-            notif.put("id", n.getId() != null ? n.getId().toString() : null);
-            notif.put("message", n.getMessage() != null ? n.getMessage() : "Message manquant");
-            notif.put("lu", n.isLu());
-            notif.put("date", n.getDateCreation() != null ? n.getDateCreation().toString() : "Date inconnue");
-            notif.put("type", n.getTypeChangement() != null ? n.getTypeChangement() : "Type inconnu");
-            notif.put("projetId", n.getProjetId());
-            notifications.add(notif);
+        List<NotificationResponse> notifications = new ArrayList<>(mesNotifs.size());
+        for (NotificationListView n : mesNotifs) {
+            notifications.add(NotificationResponse.pourResident(n));
         }
         
+        // Même fenêtre que la liste : chaque notification comptée peut être lue depuis l'interface
         long nonLues = mesNotifs.stream().filter(n -> !n.isLu()).count();
         
         Map<String, Object> response = new HashMap<>();
@@ -1,9 +1,19 @@
 package ca.udem.maville.api.controller;
 
+import ca.udem.maville.api.dto.CandidatureResponse;
+import ca.udem.maville.api.dto.NotificationResponse;
 import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.dto.ProblemeResponse;
 import ca.udem.maville.api.exception.ResourceNotFoundException;
+import ca.udem.maville.api.util.HttpCacheUtil;
+import ca.udem.maville.api.util.MdcContexte;
+import ca.udem.maville.api.util.QueryBudget;
 import ca.udem.maville.entity.*;
 import ca.udem.maville.modele.*;
+import ca.udem.maville.repository.projection.CandidatureListView;
+import ca.udem.maville.repository.projection.NotificationListView;
+import ca.udem.maville.repository.projection.ProblemeListView;
+import ca.udem.maville.service.ContentVersionService;
 import ca.udem.maville.service.DatabaseStorageService;
 import ca.udem.maville.repository.NotificationRepository;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,6 +24,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.*;
 
@@ -28,35 +39,34 @@ public class StpmController {
     
     private final DatabaseStorageService dbStorage;
     private final NotificationRepository notificationRepository;
+    private final ContentVersionService contentVersions;
     
-    public StpmController(DatabaseStorageService dbStorage, NotificationRepository notificationRepository) {
+    public StpmController(DatabaseStorageService dbStorage, NotificationRepository notificationRepository,
+                          ContentVersionService contentVersions) {
         this.dbStorage = dbStorage;
         this.notificationRepository = notificationRepository;
+        this.contentVersions = contentVersions;
     }
     
     @GetMapping("/candidatures")
     @Operation(summary = "View applications", 
                description = "Returns paginated list of all applications submitted by service providers")
+    @QueryBudget(3)
     public ResponseEntity<?> consulterCandidatures(
             @Parameter(description = "Page number (0-indexed)", example = "0") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page", example = "10") 
             @RequestParam(defaultValue = "10") int size) {
         
-        org.springframework.data.domain.Page<CandidatureEntity> pageResult = 
-            dbStorage.findAllCandidatures(page, size);
+        org.springframework.data.domain.Page<CandidatureListView> pageResult = 
+            dbStorage.findCandidatureViews(page, size);
         
-        List<Map<String, Object>> candidaturesJson = new ArrayList<>();
-        for (CandidatureEntity c : pageResult.getContent()) {
-            Map<String, Object> cJson = new HashMap<>();
-            cJson.put("id", c.getId());
-            cJson.put("prestataire", c.getPrestataire().getNomEntreprise());
-            cJson.put("statut", c.getStatut().getDescription());
-            cJson.put("description", c.getDescriptionProjet());
-            candidaturesJson.add(cJson);
+        List<CandidatureResponse> candidaturesJson = new ArrayList<>(pageResult.getNumberOfElements());
+        for (CandidatureListView c : pageResult.getContent()) {
+            candidaturesJson.add(CandidatureResponse.from(c));
         }
         
-        PaginatedResponse<Map<String, Object>> response = new PaginatedResponse<>(
+        PaginatedResponse<CandidatureResponse> response = new PaginatedResponse<>(
             candidaturesJson, page, size, (int) pageResult.getTotalElements()
         );
         
@@ -88,12 +98,12 @@ public class StpmController {
             );
             
             // Log structuré avec contexte MDC
-            org.slf4j.MDC.put("candidatureId", String.valueOf(id));
-            org.slf4j.MDC.put("projetId", String.valueOf(nouveauProjet.getId()));
-            org.slf4j.MDC.put("prestataire", candidature.getPrestataire().getNomEntreprise());
-            org.slf4j.MDC.put("action", "ACCEPTED");
-            logger.info("Candidature acceptée et projet créé");
-            org.slf4j.MDC.clear();
+            try (var ignored = MdcContexte.avec("candidatureId", String.valueOf(id),
+                                                "projetId", String.valueOf(nouveauProjet.getId()),
+                                                "prestataire", candidature.getPrestataire().getNomEntreprise(),
+                                                "action", "ACCEPTED")) {
+                logger.info("Candidature acceptée et projet créé");
+            }
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -105,11 +115,11 @@ public class StpmController {
             dbStorage.updateCandidature(candidature);
             
             // Log structuré avec contexte MDC
-            org.slf4j.MDC.put("candidatureId", String.valueOf(id));
-            org.slf4j.MDC.put("prestataire", candidature.getPrestataire().getNomEntreprise());
-            org.slf4j.MDC.put("action", "REJECTED");
-            logger.info("Candidature refusée");
-            org.slf4j.MDC.clear();
+            try (var ignored = MdcContexte.avec("candidatureId", String.valueOf(id),
+                                                "prestataire", candidature.getPrestataire().getNomEntreprise(),
+                                                "action", "REJECTED")) {
+                logger.info("Candidature refusée");
+            }
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -121,43 +131,37 @@ public class StpmController {
     @GetMapping("/problemes")
     @Operation(summary = "View problems", 
                description = "Returns paginated list of all reported problems")
+    @QueryBudget(2)
     public ResponseEntity<?> consulterProblemes(
             @Parameter(description = "Page number (0-indexed)", example = "0") 
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de la page", example = "10") 
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String etag = contentVersions.etag("stpm/problemes?" + page + "&" + size, ContentVersionService.PROBLEMES);
+        long dernierChangement = contentVersions.dernierChangement(ContentVersionService.PROBLEMES);
+        if (HttpCacheUtil.estNonModifie(webRequest, etag, dernierChangement)) {
+            return HttpCacheUtil.nonModifie(etag);
+        }
+        
         try {
             logger.debug("Récupération des problèmes - page: {}, size: {}", page, size);
             
-            org.springframework.data.domain.Page<ProblemeEntity> pageResult = 
-                dbStorage.findNonResolusWithFilters(null, null, page, size);
+            org.springframework.data.domain.Page<ProblemeListView> pageResult = 
+                dbStorage.findNonResolusViews(null, null, page, size);
             
             logger.debug("Nombre de problèmes trouvés: {}", pageResult.getTotalElements());
             
-            List<Map<String, Object>> problemesJson = new ArrayList<>();
-            for (ProblemeEntity p : pageResult.getContent()) {
-                try {
-                    Map<String, Object> pJson = new HashMap<>();
-                    pJson.put("id", p.getId());
-                    pJson.put("lieu", p.getLieu() != null ? p.getLieu() : "");
-                    pJson.put("description", p.getDescription() != null ? p.getDescription() : "");
-                    pJson.put("type", p.getTypeProbleme() != null ? p.getTypeProbleme().getDescription() : "");
-                    pJson.put("priorite", p.getPriorite() != null ? p.getPriorite().getDescription() : "");
-                    pJson.put("declarant", p.getDeclarant() != null && p.getDeclarant().getNomComplet() != null 
-                        ? p.getDeclarant().getNomComplet() : "Inconnu");
-                    pJson.put("date", p.getDateSignalement() != null ? p.getDateSignalement().toString() : "");
-                    problemesJson.add(pJson);
-                } catch (Exception e) {
-                    logger.error("Erreur lors de la sérialisation du problème ID: {}", p != null ? p.getId() : "null", e);
-                    // Continuer avec le problème suivant au lieu de faire échouer toute la requête
-                }
+            List<ProblemeResponse> problemesJson = new ArrayList<>(pageResult.getNumberOfElements());
+            for (ProblemeListView p : pageResult.getContent()) {
+                problemesJson.add(ProblemeResponse.from(p));
             }
             
-            PaginatedResponse<Map<String, Object>> response = new PaginatedResponse<>(
+            PaginatedResponse<ProblemeResponse> response = new PaginatedResponse<>(
                 problemesJson, page, size, (int) pageResult.getTotalElements()
             );
             
-            return ResponseEntity.ok(response);
+            return HttpCacheUtil.ok(response, etag, dernierChangement);
         } catch (Exception e) {
             logger.error("Erreur lors de la récupération des problèmes", e);
             Map<String, Object> error = new HashMap<>();
@@ -169,18 +173,13 @@ public class StpmController {
     }
     
     @GetMapping("/notifications")
+    @QueryBudget(1)
     public ResponseEntity<?> consulterNotifications() {
-        List<NotificationEntity> notificationsStmp = dbStorage.findStpmNotifications();
+        List<NotificationListView> notificationsStmp = dbStorage.findStpmNotificationViews();
         
-        List<Map<String, Object>> notificationsJson = new ArrayList<>();
-        for (NotificationEntity n : notificationsStmp) {
-            Map<String, Object> nJson = new HashMap<>();
-            nJson.put("id", n.getId() != null ? n.getId().toString() : null);
-            nJson.put("message", n.getMessage());
-            nJson.put("type", n.getTypeChangement());
-            nJson.put("date", n.getDateCreation() != null ? n.getDateCreation().toString() : null);
-            nJson.put("lu", n.isLu());
-            notificationsJson.add(nJson);
+        List<NotificationResponse> notificationsJson = new ArrayList<>(notificationsStmp.size());
+        for (NotificationListView n : notificationsStmp) {
+            notificationsJson.add(NotificationResponse.from(n));
         }
         
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,22 @@
+package ca.udem.maville.api.dto;
+
+import ca.udem.maville.repository.projection.CandidatureListView;
+
+/**
+ * Ligne de la liste des candidatures (STPM)
+ */
+public record CandidatureResponse(
+    Long id,
+    String prestataire,
+    String statut,
+    String description
+) {
+    public static CandidatureResponse from(CandidatureListView c) {
+        return new CandidatureResponse(
+            c.getId(),
+            c.getPrestataire(),
+            c.getStatut() != null ? c.getStatut().getDescription() : null,
+            c.getDescriptionProjet()
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package ca.udem.maville.api.dto;
+
+import ca.udem.maville.repository.projection.NotificationListView;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Notification telle que retournée par les listes (résidents, prestataires, STPM)
+ * projetId n'est sérialisé que s'il est présent
+ */
+public record NotificationResponse(
+    String id,
+    String message,
+    String type,
+    String date,
+    boolean lu,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Long projetId
+) {
+    /**
+     * Notification prestataire / STPM : valeurs brutes
+     */
+    public static NotificationResponse from(NotificationListView n) {
+        return new NotificationResponse(
+            n.getId() != null ? n.getId().toString() : null,
+            n.getMessage(),
+            n.getTypeChangement(),
+            n.getDateCreation() != null ? n.getDateCreation().toString() : null,
+            n.isLu(),
+            null
+        );
+    }
+    
+    /**
+     * Notification résident : valeurs par défaut lisibles et projet associé
+     */
+    public static NotificationResponse pourResident(NotificationListView n) {
+        return new NotificationResponse(
+            n.getId() != null ? n.getId().toString() : null,
+            n.getMessage() != null ? n.getMessage() : "Message manquant",
+            n.getTypeChangement() != null ? n.getTypeChangement() : "Type inconnu",
+            n.getDateCreation() != null ? n.getDateCreation().toString() : "Date inconnue",
+            n.isLu(),
+            n.getProjetId()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package ca.udem.maville.api.dto;
+
+import ca.udem.maville.repository.projection.ProblemeListView;
+
+/**
+ * Ligne d'une liste de problèmes (prestataires, STPM)
+ * Les clés JSON sont celles des anciennes réponses construites avec des Map
+ */
+public record ProblemeResponse(
+    Long id,
+    String lieu,
+    String description,
+    String type,
+    String priorite,
+    String declarant,
+    String date
+) {
+    public static ProblemeResponse from(ProblemeListView p) {
+        return new ProblemeResponse(
+            p.getId(),
+            p.getLieu() != null ? p.getLieu() : "",
+            p.getDescription() != null ? p.getDescription() : "",
+            p.getTypeProbleme() != null ? p.getTypeProbleme().getDescription() : "",
+            p.getPriorite() != null ? p.getPriorite().getDescription() : "",
+            p.getDeclarant() != null ? p.getDeclarant() : "Inconnu",
+            p.getDateSignalement() != null ? p.getDateSignalement().toString() : ""
+        );
+    }
+}
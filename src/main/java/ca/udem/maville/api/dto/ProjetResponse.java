@@ -0,0 +1,22 @@
+package ca.udem.maville.api.dto;
+
+import ca.udem.maville.repository.projection.ProjetListView;
+
+/**
+ * Ligne de la liste des projets d'un prestataire
+ */
+public record ProjetResponse(
+    Long id,
+    String description,
+    String statut,
+    String localisation
+) {
+    public static ProjetResponse from(ProjetListView p) {
+        return new ProjetResponse(
+            p.getId(),
+            p.getDescriptionProjet(),
+            p.getStatut() != null ? p.getStatut().getDescription() : null,
+            p.getLocalisation()
+        );
+    }
+}
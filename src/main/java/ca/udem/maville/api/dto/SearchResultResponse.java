@@ -0,0 +1,22 @@
+package ca.udem.maville.api.dto;
+
+import ca.udem.maville.service.search.SearchDocument;
+import ca.udem.maville.service.search.SearchHit;
+
+/**
+ * Résultat de recherche (problème ou projet) avec son score de pertinence
+ * Les scores ne sont comparables qu'au sein d'une même réponse (ts_rank_cd ou BM25 selon le moteur)
+ */
+public record SearchResultResponse(
+    String source,
+    Long id,
+    String lieu,
+    String description,
+    String categorie,
+    double score
+) {
+    public static SearchResultResponse from(SearchHit hit) {
+        SearchDocument d = hit.document();
+        return new SearchResultResponse(d.source(), d.id(), d.lieu(), d.description(), d.categorie(), hit.score());
+    }
+}
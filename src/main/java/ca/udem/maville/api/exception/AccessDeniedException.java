@@ -0,0 +1,10 @@
+package ca.udem.maville.api.exception;
+
+/**
+ * Exception pour une action refusée à l'utilisateur authentifié
+ */
+public class AccessDeniedException extends RuntimeException {
+    public AccessDeniedException(String message) {
+        super(message);
+    }
+}
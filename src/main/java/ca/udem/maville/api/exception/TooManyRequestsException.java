@@ -0,0 +1,17 @@
+package ca.udem.maville.api.exception;
+
+/**
+ * Exception pour les requêtes limitées (trop de tentatives ou capacité saturée)
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,88 @@
+package ca.udem.maville.api.security;
+
+import ca.udem.maville.api.exception.TooManyRequestsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limitation des tentatives de connexion par identifiant et par adresse IP (seaux à jetons)
+ * 
+ * Vérifiée avant toute vérification BCrypt : une attaque par force brute est refusée (429)
+ * sans consommer de CPU. Le seau d'un identifiant est remis à zéro après une connexion réussie.
+ * Les compteurs sont propres à l'instance.
+ */
+@Component
+public class LoginRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+    
+    private final Map<String, TokenBucket> parIdentifiant = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> parIp = new ConcurrentHashMap<>();
+    
+    private final int capaciteIdentifiant;
+    private final double debitIdentifiant;
+    private final int capaciteIp;
+    private final double debitIp;
+    
+    public LoginRateLimiter(
+            @Value("${maville.auth.rate-limit.identifier.capacity:5}") int capaciteIdentifiant,
+            @Value("${maville.auth.rate-limit.identifier.per-minute:5}") double debitIdentifiant,
+            @Value("${maville.auth.rate-limit.ip.capacity:30}") int capaciteIp,
+            @Value("${maville.auth.rate-limit.ip.per-minute:30}") double debitIp) {
+        this.capaciteIdentifiant = capaciteIdentifiant;
+        this.debitIdentifiant = debitIdentifiant;
+        this.capaciteIp = capaciteIp;
+        this.debitIp = debitIp;
+    }
+    
+    /**
+     * Consomme une tentative pour l'IP puis pour l'identifiant
+     * @throws TooManyRequestsException si l'un des deux seaux est vide
+     */
+    public void verifier(String identifiant, String ip) {
+        long attenteIp = parIp.computeIfAbsent(ip, k -> new TokenBucket(capaciteIp, debitIp)).consommer();
+        if (attenteIp > 0) {
+            logger.warn("Connexions limitées pour l'IP {}", ip);
+            throw new TooManyRequestsException("Trop de tentatives de connexion, réessayez plus tard",
+                                               enSecondes(attenteIp));
+        }
+        long attente = parIdentifiant.computeIfAbsent(normaliser(identifiant),
+            k -> new TokenBucket(capaciteIdentifiant, debitIdentifiant)).consommer();
+        if (attente > 0) {
+            logger.warn("Connexions limitées pour l'identifiant {}", identifiant);
+            throw new TooManyRequestsException("Trop de tentatives de connexion, réessayez plus tard",
+                                               enSecondes(attente));
+        }
+    }
+    
+    /**
+     * Connexion réussie : l'identifiant retrouve toutes ses tentatives
+     */
+    public void reussite(String identifiant) {
+        parIdentifiant.remove(normaliser(identifiant));
+    }
+    
+    /**
+     * Oublie les seaux pleins (aucune tentative récente) pour borner la mémoire
+     */
+    @Scheduled(fixedDelayString = "${maville.auth.rate-limit.cleanup-interval:60000}")
+    public void purger() {
+        parIdentifiant.values().removeIf(TokenBucket::estPlein);
+        parIp.values().removeIf(TokenBucket::estPlein);
+    }
+    
+    private static String normaliser(String identifiant) {
+        return identifiant.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static long enSecondes(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1);
+    }
+}
@@ -0,0 +1,190 @@
+package ca.udem.maville.api.security;
+
+import ca.udem.maville.api.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vérification des mots de passe BCrypt hors du thread de la requête
+ * 
+ * - exécuteur borné (threads + file d'attente) : au-delà, la connexion est refusée (429)
+ *   au lieu d'accumuler des vérifications qui monopoliseraient tous les cœurs
+ * - cache des vérifications réussies (courte durée) : un même identifiant/mot de passe/hash
+ *   déjà validé ne repaye pas BCrypt. Les clés sont des HMAC à clé aléatoire propre à
+ *   l'instance; aucun mot de passe n'est conservé, et les échecs ne sont jamais mis en cache
+ * - identifiant inconnu : vérification contre un hash leurre, même durée qu'un vrai échec
+ * 
+ * Métriques : exécuteur (executor.*{name=bcrypt}), maville.auth.verifications{result=rejected|cached}
+ * et taille du cache.
+ */
+@Component
+public class PasswordVerifier implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerifier.class);
+    private static final int CACHE_MAX = 10_000;
+    
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executeur;
+    private final long ttlCacheNanos;
+    private final String hashLeurre;
+    private final SecretKeySpec cleCache;
+    
+    private final Map<String, Long> verificationsReussies = new ConcurrentHashMap<>();
+    private final AtomicLong succesCache = new AtomicLong();
+    private final AtomicLong rejets = new AtomicLong();
+    
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Value("${maville.auth.verification.threads:0}") int threads,
+                            @Value("${maville.auth.verification.queue:64}") int file,
+                            @Value("${maville.auth.verification.cache-ttl:60s}") Duration ttlCache) {
+        this.passwordEncoder = passwordEncoder;
+        int taille = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(taille, taille, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(file), r -> {
+                Thread t = new Thread(r, "bcrypt-" + numero.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        this.ttlCacheNanos = ttlCache.toNanos();
+        this.hashLeurre = passwordEncoder.encode("maville-leurre");
+        
+        byte[] cle = new byte[32];
+        new SecureRandom().nextBytes(cle);
+        this.cleCache = new SecretKeySpec(cle, "HmacSHA256");
+        
+        logger.info("Vérification des mots de passe: {} threads, file de {}", taille, file);
+    }
+    
+    /**
+     * Vérifie un mot de passe de manière asynchrone
+     * @param identifiant Email ou NEQ (fait partie de la clé du cache)
+     * @param hashStocke Hash BCrypt, ou null si l'utilisateur n'existe pas / n'a pas de mot de passe
+     * @throws TooManyRequestsException si l'exécuteur est saturé
+     */
+    public CompletableFuture<Boolean> verifier(String identifiant, String motDePasse, String hashStocke) {
+        boolean hashValide = hashStocke != null && !hashStocke.isEmpty();
+        String cle = hashValide ? empreinte(identifiant, motDePasse, hashStocke) : null;
+        if (cle != null) {
+            Long expiration = verificationsReussies.get(cle);
+            if (expiration != null && expiration - System.nanoTime() > 0) {
+                succesCache.incrementAndGet();
+                return CompletableFuture.completedFuture(true);
+            }
+        }
+        
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (!hashValide) {
+                    passwordEncoder.matches(motDePasse, hashLeurre);
+                    return false;
+                }
+                boolean ok = passwordEncoder.matches(motDePasse, hashStocke);
+                if (ok) {
+                    memoriser(cle);
+                }
+                return ok;
+            }, executeur);
+        } catch (RejectedExecutionException e) {
+            rejets.incrementAndGet();
+            logger.warn("Vérification des mots de passe saturée ({} en attente)", executeur.getQueue().size());
+            throw new TooManyRequestsException("Service de connexion saturé, réessayez dans un instant", 1);
+        }
+    }
+    
+    private void memoriser(String cle) {
+        if (verificationsReussies.size() >= CACHE_MAX) {
+            purger();
+            if (verificationsReussies.size() >= CACHE_MAX) {
+                verificationsReussies.clear();
+            }
+        }
+        verificationsReussies.put(cle, System.nanoTime() + ttlCacheNanos);
+    }
+    
+    @Scheduled(fixedDelayString = "${maville.auth.rate-limit.cleanup-interval:60000}")
+    public void purger() {
+        long maintenant = System.nanoTime();
+        verificationsReussies.values().removeIf(expiration -> expiration - maintenant <= 0);
+    }
+    
+    private String empreinte(String identifiant, String motDePasse, String hashStocke) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cleCache);
+            mac.update(identifiant.trim().toLowerCase().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(motDePasse.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(hashStocke.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponible", e);
+        }
+    }
+    
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        new ExecutorServiceMetrics(executeur, "bcrypt", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("maville.auth.verifications", rejets, AtomicLong::get)
+            .description("Vérifications refusées (exécuteur saturé) ou servies par le cache")
+            .tag("result", "rejected")
+            .register(registry);
+        FunctionCounter.builder("maville.auth.verifications", succesCache, AtomicLong::get)
+            .description("Vérifications refusées (exécuteur saturé) ou servies par le cache")
+            .tag("result", "cached")
+            .register(registry);
+        Gauge.builder("maville.auth.cache.size", verificationsReussies, Map::size)
+            .description("Vérifications réussies en cache")
+            .register(registry);
+    }
+    
+    /**
+     * État de l'exécuteur et du cache
+     */
+    public Map<String, Object> statistiques() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executeur.getMaximumPoolSize());
+        stats.put("actives", executeur.getActiveCount());
+        stats.put("enAttente", executeur.getQueue().size());
+        stats.put("verifications", executeur.getCompletedTaskCount());
+        stats.put("rejets", rejets.get());
+        stats.put("succesCache", succesCache.get());
+        stats.put("tailleCache", verificationsReussies.size());
+        return stats;
+    }
+    
+    @PreDestroy
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+}
@@ -0,0 +1,72 @@
+package ca.udem.maville.api.security;
+
+import ca.udem.maville.service.DatabaseStorageService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Profils des utilisateurs connectés (caches "residents" et "prestataires"), clés = id
+ * 
+ * Alimenté à la connexion : /api/auth/me et les contrôleurs qui affichent le profil
+ * n'interrogent pas la base tant que l'entrée est présente. Les comptes ne sont jamais modifiés
+ * ni supprimés (DatabaseStorageService ne fait que les créer) : une future modification devra
+ * évincer l'entrée (@CacheEvict sur "residents" ou "prestataires", clé = id).
+ */
+@Component
+public class PrincipalCache {
+    
+    private final Cache residents;
+    private final Cache prestataires;
+    private final DatabaseStorageService dbStorage;
+    
+    public PrincipalCache(CacheManager cacheManager, DatabaseStorageService dbStorage) {
+        this.residents = cacheManager.getCache("residents");
+        this.prestataires = cacheManager.getCache("prestataires");
+        this.dbStorage = dbStorage;
+    }
+    
+    public void memoriser(String type, Long id, Map<String, Object> profil) {
+        if (id != null) {
+            cache(type).put(id, Collections.unmodifiableMap(new HashMap<>(profil)));
+        }
+    }
+    
+    /**
+     * Profil de l'utilisateur de la session (même forme que "user" dans la réponse de connexion)
+     */
+    public Optional<Map<String, Object>> profil(SessionTokenService.Session session) {
+        if (session.userId() == null) {
+            return Optional.empty();
+        }
+        Map<String, Object> profil = cache(session.type()).get(session.userId(), () -> charger(session));
+        return Optional.ofNullable(profil);
+    }
+    
+    private Map<String, Object> charger(SessionTokenService.Session session) {
+        Map<String, Object> profil = new HashMap<>();
+        if ("PRESTATAIRE".equals(session.type())) {
+            dbStorage.findPrestataireByNeq(session.identifiant()).ifPresent(p -> {
+                profil.put("id", p.getId());
+                profil.put("neq", p.getNumeroEntreprise());
+                profil.put("nom", p.getNomEntreprise());
+            });
+        } else {
+            dbStorage.findResidentByEmail(session.identifiant()).ifPresent(r -> {
+                profil.put("id", r.getId());
+                profil.put("email", r.getEmail());
+                profil.put("nom", r.getNomComplet());
+            });
+        }
+        return profil.isEmpty() ? null : Collections.unmodifiableMap(profil);
+    }
+    
+    private Cache cache(String type) {
+        return "PRESTATAIRE".equals(type) ? prestataires : residents;
+    }
+}
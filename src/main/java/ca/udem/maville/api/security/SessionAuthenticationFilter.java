@@ -0,0 +1,51 @@
+package ca.udem.maville.api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Résout l'identité de la requête à partir du jeton (Authorization: Bearer), sans accès à la base
+ * 
+ * La session valide est exposée en attribut de requête (ATTRIBUT_SESSION), lisible dans les
+ * contrôleurs via @RequestAttribute(required = false). Sans jeton, ou avec un jeton invalide,
+ * la requête continue anonymement : les endpoints restent accessibles comme avant.
+ */
+@Component
+public class SessionAuthenticationFilter extends OncePerRequestFilter {
+    public static final String ATTRIBUT_SESSION = "maville.session";
+    private static final String BEARER = "Bearer ";
+    
+    private final SessionTokenService sessions;
+    
+    public SessionAuthenticationFilter(SessionTokenService sessions) {
+        this.sessions = sessions;
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        sessions.valider(extraireJeton(request.getHeader(HttpHeaders.AUTHORIZATION)))
+            .ifPresent(session -> request.setAttribute(ATTRIBUT_SESSION, session));
+        chain.doFilter(request, response);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+    
+    public static String extraireJeton(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        return authorization.substring(BEARER.length()).trim();
+    }
+}
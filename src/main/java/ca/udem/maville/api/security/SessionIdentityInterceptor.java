@@ -0,0 +1,35 @@
+package ca.udem.maville.api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Quand la requête porte un jeton, les variables de chemin {email} et {neq} doivent
+ * désigner l'utilisateur du jeton (403 sinon). Les requêtes sans jeton ne sont pas concernées.
+ */
+public class SessionIdentityInterceptor implements HandlerInterceptor {
+    
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(request.getAttribute(SessionAuthenticationFilter.ATTRIBUT_SESSION) 
+                instanceof SessionTokenService.Session session)) {
+            return true;
+        }
+        if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)) {
+            return true;
+        }
+        if (variables.get("email") instanceof String email) {
+            session.exigerIdentite("RESIDENT", email);
+        }
+        if (variables.get("neq") instanceof String neq) {
+            session.exigerIdentite("PRESTATAIRE", neq);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,139 @@
+package ca.udem.maville.api.security;
+
+import ca.udem.maville.api.exception.AccessDeniedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jetons de session signés (HMAC-SHA256), vérifiables localement sans base ni état partagé
+ * 
+ * Format : v1.{charge utile base64url}.{signature base64url}, la charge utile étant
+ * "type|id|identifiant|expiration (s)". Toute instance partageant maville.auth.token-secret
+ * valide les jetons des autres. Sans secret configuré, une clé aléatoire est générée :
+ * les jetons ne survivent alors ni au redémarrage ni au passage sur une autre instance.
+ * 
+ * La déconnexion place le jeton dans une liste de révocation locale jusqu'à son expiration.
+ */
+@Component
+public class SessionTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODEUR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODEUR = Base64.getUrlDecoder();
+    
+    /**
+     * Identité portée par un jeton valide
+     * @param type RESIDENT ou PRESTATAIRE
+     * @param identifiant Email ou NEQ
+     */
+    public record Session(String jeton, String type, String identifiant, Long userId, Instant expiration) {
+        
+        /**
+         * Refuse (403) une requête dont l'identité annoncée ne correspond pas au jeton
+         */
+        public void exigerIdentite(String typeAttendu, String identifiantAnnonce) {
+            if (!type.equals(typeAttendu)
+                    || (identifiantAnnonce != null && !identifiant.equalsIgnoreCase(identifiantAnnonce))) {
+                throw new AccessDeniedException("L'identité de la requête ne correspond pas à la session");
+            }
+        }
+    }
+    
+    private final SecretKeySpec cle;
+    private final Duration duree;
+    private final Map<String, Instant> revoques = new ConcurrentHashMap<>();
+    
+    public SessionTokenService(@Value("${maville.auth.session-ttl:30m}") Duration duree,
+                               @Value("${maville.auth.token-secret:}") String secret) {
+        this.duree = duree;
+        byte[] octets;
+        if (secret == null || secret.isBlank()) {
+            octets = new byte[32];
+            new SecureRandom().nextBytes(octets);
+            logger.warn("maville.auth.token-secret non configuré : clé aléatoire, jetons propres à cette instance");
+        } else {
+            octets = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.cle = new SecretKeySpec(octets, "HmacSHA256");
+    }
+    
+    public Session emettre(String type, String identifiant, Long userId) {
+        Instant expiration = Instant.now().plus(duree);
+        String charge = type + "|" + userId + "|" + identifiant + "|" + expiration.getEpochSecond();
+        String chargeEncodee = ENCODEUR.encodeToString(charge.getBytes(StandardCharsets.UTF_8));
+        String jeton = VERSION + "." + chargeEncodee + "." + ENCODEUR.encodeToString(signer(chargeEncodee));
+        return new Session(jeton, type, identifiant, userId, expiration);
+    }
+    
+    public Optional<Session> valider(String jeton) {
+        if (jeton == null || jeton.isBlank()) {
+            return Optional.empty();
+        }
+        String[] parties = jeton.split("\\.");
+        if (parties.length != 3 || !VERSION.equals(parties[0])) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = DECODEUR.decode(parties[2]);
+            if (!MessageDigest.isEqual(signature, signer(parties[1]))) {
+                return Optional.empty();
+            }
+            String charge = new String(DECODEUR.decode(parties[1]), StandardCharsets.UTF_8);
+            String[] champs = charge.split("\\|", 3);
+            int dernier = charge.lastIndexOf('|');
+            if (champs.length != 3 || dernier <= champs[0].length() + champs[1].length() + 1) {
+                return Optional.empty();
+            }
+            // L'expiration est le dernier champ : l'identifiant peut contenir n'importe quel caractère
+            String identifiant = charge.substring(champs[0].length() + champs[1].length() + 2, dernier);
+            Instant expiration = Instant.ofEpochSecond(Long.parseLong(charge.substring(dernier + 1)));
+            if (expiration.isBefore(Instant.now()) || revoques.containsKey(jeton)) {
+                return Optional.empty();
+            }
+            return Optional.of(new Session(jeton, champs[0], identifiant,
+                "null".equals(champs[1]) ? null : Long.valueOf(champs[1]), expiration));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
+    public void revoquer(String jeton) {
+        valider(jeton).ifPresent(session -> revoques.put(jeton, session.expiration()));
+    }
+    
+    public Duration duree() {
+        return duree;
+    }
+    
+    @Scheduled(fixedDelayString = "${maville.auth.rate-limit.cleanup-interval:60000}")
+    public void purger() {
+        Instant maintenant = Instant.now();
+        revoques.values().removeIf(expiration -> expiration.isBefore(maintenant));
+    }
+    
+    private byte[] signer(String chargeEncodee) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(cle);
+            return mac.doFinal(chargeEncodee.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 indisponible", e);
+        }
+    }
+}
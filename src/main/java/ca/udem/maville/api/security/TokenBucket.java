@@ -0,0 +1,45 @@
+package ca.udem.maville.api.security;
+
+/**
+ * Seau à jetons : capacité maximale, rechargé en continu à débit constant
+ */
+class TokenBucket {
+    private final double capacite;
+    private final double jetonsParNano;
+    private double jetons;
+    private long derniereRecharge;
+    
+    TokenBucket(int capacite, double jetonsParMinute) {
+        this.capacite = capacite;
+        this.jetonsParNano = jetonsParMinute / 60_000_000_000.0;
+        this.jetons = capacite;
+        this.derniereRecharge = System.nanoTime();
+    }
+    
+    /**
+     * Consomme un jeton
+     * @return 0 si accordé, sinon le délai (ns) avant qu'un jeton soit disponible
+     */
+    synchronized long consommer() {
+        recharger();
+        if (jetons >= 1) {
+            jetons -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - jetons) / jetonsParNano);
+    }
+    
+    /**
+     * Vrai si le seau est plein : plus aucune trace d'activité récente, il peut être oublié
+     */
+    synchronized boolean estPlein() {
+        recharger();
+        return jetons >= capacite;
+    }
+    
+    private void recharger() {
+        long maintenant = System.nanoTime();
+        jetons = Math.min(capacite, jetons + (maintenant - derniereRecharge) * jetonsParNano);
+        derniereRecharge = maintenant;
+    }
+}
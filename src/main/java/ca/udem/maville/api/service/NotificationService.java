@@ -4,6 +4,7 @@ import ca.udem.maville.api.controller.NotificationController;
 import ca.udem.maville.entity.NotificationEntity;
 import ca.udem.maville.repository.NotificationRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,7 @@ import java.util.List;
 /**
  * Service unifié pour envoyer des notifications via WebSocket ET SSE
  * Permet de choisir le canal de communication selon les besoins
+ * Chaque envoi est un span (maville.notifications.dispatch) contenant les envois WebSocket et SSE
  */
 @Service
 public class NotificationService {
@@ -23,6 +25,7 @@ public class NotificationService {
     
     private final NotificationWebSocketService webSocketService;
     private final NotificationRepository notificationRepository;
+    private final NotificationStreamHub streamHub;
     private final ObjectMapper objectMapper;
     
     // ObjectMapper est automatiquement fourni par Spring Boot
@@ -34,9 +37,11 @@ public class NotificationService {
     public NotificationService(
             NotificationWebSocketService webSocketService,
             NotificationRepository notificationRepository,
+            NotificationStreamHub streamHub,
             ObjectMapper objectMapper) {
         this.webSocketService = webSocketService;
         this.notificationRepository = notificationRepository;
+        this.streamHub = streamHub;
         this.objectMapper = objectMapper;
     }
 
@@ -56,6 +61,7 @@ public class NotificationService {
      * @param useWebSocket Si true, envoie via WebSocket
      * @param useSSE Si true, envoie via SSE
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void sendNotificationToUser(
             @NonNull String userIdentifier,
             @NonNull NotificationEntity notification,
@@ -69,11 +75,16 @@ public class NotificationService {
         if (useSSE && sseController != null) {
             sseController.sendNotificationViaSSE(userIdentifier, notification);
         }
+        
+        if (useSSE) {
+            streamHub.publier(userIdentifier, formatNotificationAsJson(notification));
+        }
     }
 
     /**
      * Envoie une notification à un utilisateur via les deux canaux (par défaut)
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void sendNotificationToUser(
             @NonNull String userIdentifier,
             @NonNull NotificationEntity notification) {
@@ -83,6 +94,7 @@ public class NotificationService {
     /**
      * Broadcast une notification à tous les utilisateurs
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void broadcastNotification(
             @NonNull NotificationEntity notification,
             boolean useWebSocket,
@@ -95,11 +107,16 @@ public class NotificationService {
         if (useSSE && sseController != null) {
             sseController.broadcastNotificationViaSSE(notification);
         }
+        
+        if (useSSE) {
+            streamHub.diffuser(formatNotificationAsJson(notification));
+        }
     }
 
     /**
      * Broadcast via les deux canaux (par défaut)
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void broadcastNotification(@NonNull NotificationEntity notification) {
         broadcastNotification(notification, true, true);
     }
@@ -107,6 +124,7 @@ public class NotificationService {
     /**
      * Envoie une notification à tous les résidents
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void sendToResidents(
             @NonNull NotificationEntity notification,
             boolean useWebSocket,
@@ -119,11 +137,16 @@ public class NotificationService {
         if (useSSE && sseController != null) {
             sseController.sendToGroupViaSSE("residents", notification);
         }
+        
+        if (useSSE) {
+            streamHub.publier("residents", formatNotificationAsJson(notification));
+        }
     }
 
     /**
      * Envoie une notification à tous les prestataires
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void sendToPrestataires(
             @NonNull NotificationEntity notification,
             boolean useWebSocket,
@@ -136,11 +159,16 @@ public class NotificationService {
         if (useSSE && sseController != null) {
             sseController.sendToGroupViaSSE("prestataires", notification);
         }
+        
+        if (useSSE) {
+            streamHub.publier("prestataires", formatNotificationAsJson(notification));
+        }
     }
 
     /**
      * Envoie une notification au STPM
      */
+    @Observed(name = "maville.notifications.dispatch")
     public void sendToStpm(
             @NonNull NotificationEntity notification,
             boolean useWebSocket,
@@ -153,6 +181,10 @@ public class NotificationService {
         if (useSSE && sseController != null) {
             sseController.sendNotificationViaSSE("stpm", notification);
         }
+        
+        if (useSSE) {
+            streamHub.publier("stpm", formatNotificationAsJson(notification));
+        }
     }
 
     /**
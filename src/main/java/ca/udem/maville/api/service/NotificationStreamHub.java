@@ -0,0 +1,167 @@
+package ca.udem.maville.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffusion réactive des notifications pour les flux SSE de /api/reactive
+ * 
+ * Un sink multicast par destinataire (utilisateur ou groupe) : un abonné ne coûte qu'une
+ * souscription Reactor, sans SseEmitter ni thread. Plusieurs connexions par utilisateur
+ * sont supportées (contrairement à la map d'emitters du contrôleur SSE classique).
+ * 
+ * Métriques (tag canal=sse) : connexions ouvertes, nombre d'abonnés atteints par publication
+ * (maville.notifications.fanout), délai entre publication et écriture dans le flux
+ * (maville.notifications.delivery.lag) et messages abandonnés pour les clients trop lents.
+ */
+@Service
+public class NotificationStreamHub {
+    
+    // Buffer par abonné : au-delà, les notifications les plus anciennes sont abandonnées (client trop lent)
+    private static final int BUFFER_PAR_ABONNE = 256;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+    
+    private final Map<String, Destinataire> destinataires = new ConcurrentHashMap<>();
+    private final Sinks.Many<Publication> broadcast = nouveauSink();
+    private final DistributionSummary fanout;
+    private final Timer delaiLivraison;
+    private final Counter abandons;
+    private final ObjectMapper objectMapper;
+    
+    public NotificationStreamHub(MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Chaque flux est abonné au broadcast : son nombre d'abonnés est le nombre de connexions
+        Gauge.builder("maville.sse.connections", broadcast, Sinks.Many::currentSubscriberCount)
+            .description("Flux SSE ouverts")
+            .tag("api", "reactive")
+            .register(meterRegistry);
+        this.fanout = DistributionSummary.builder("maville.notifications.fanout")
+            .description("Abonnés atteints par notification publiée")
+            .tag("canal", "sse")
+            .register(meterRegistry);
+        this.delaiLivraison = Timer.builder("maville.notifications.delivery.lag")
+            .description("Délai entre la publication d'une notification et son envoi à l'abonné")
+            .tag("canal", "sse")
+            .register(meterRegistry);
+        this.abandons = Counter.builder("maville.notifications.dropped")
+            .description("Notifications abandonnées (buffer d'un abonné trop lent plein)")
+            .tag("canal", "sse")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Flux SSE pour un utilisateur : messages directs, messages de son groupe
+     * ("residents/marie@test.com" reçoit le groupe "residents") et broadcasts
+     */
+    public Flux<ServerSentEvent<String>> stream(String userIdentifier) {
+        Flux<Publication> messages = Flux.merge(
+            fluxPour(userIdentifier),
+            broadcast.asFlux()
+        );
+        int separateur = userIdentifier.indexOf('/');
+        if (separateur > 0) {
+            messages = messages.mergeWith(fluxPour(userIdentifier.substring(0, separateur)));
+        }
+        
+        Flux<ServerSentEvent<String>> notifications = messages
+            .onBackpressureBuffer(BUFFER_PAR_ABONNE, dropped -> abandons.increment(), BufferOverflowStrategy.DROP_OLDEST)
+            .map(publication -> {
+                delaiLivraison.record(System.nanoTime() - publication.publieeNanos(), TimeUnit.NANOSECONDS);
+                return ServerSentEvent.<String>builder().event("notification").data(publication.json()).build();
+            });
+        
+        Flux<ServerSentEvent<String>> heartbeat = Flux.interval(HEARTBEAT)
+            .map(tick -> ServerSentEvent.<String>builder().comment("heartbeat").build());
+        
+        ServerSentEvent<String> connexion = ServerSentEvent.<String>builder()
+            .event("connected")
+            // Identifiant fourni par le client : échappé par Jackson
+            .data(objectMapper.createObjectNode().put("status", "connected").put("user", userIdentifier).toString())
+            .build();
+        
+        return Flux.just(connexion)
+            .concatWith(Flux.merge(notifications, heartbeat));
+    }
+    
+    /**
+     * Publie un message JSON pour un utilisateur ou un groupe
+     */
+    public void publier(String destinataire, String json) {
+        Destinataire cible = destinataires.get(destinataire);
+        if (cible == null) {
+            fanout.record(0);
+            return;
+        }
+        fanout.record(cible.sink.currentSubscriberCount());
+        cible.sink.tryEmitNext(new Publication(json, System.nanoTime()));
+    }
+    
+    /**
+     * Publie un message JSON pour tous les abonnés
+     */
+    public void diffuser(String json) {
+        fanout.record(broadcast.currentSubscriberCount());
+        broadcast.tryEmitNext(new Publication(json, System.nanoTime()));
+    }
+    
+    /**
+     * Nombre de destinataires (utilisateurs ou groupes) ayant au moins un abonné
+     */
+    public int nombreDestinataires() {
+        return destinataires.size();
+    }
+    
+    /**
+     * Messages d'un destinataire : le sink est réservé à la souscription et libéré à la fin du flux
+     */
+    private Flux<Publication> fluxPour(String destinataire) {
+        return Flux.using(() -> reserver(destinataire), sink -> sink.asFlux(), sink -> liberer(destinataire));
+    }
+    
+    private Sinks.Many<Publication> reserver(String destinataire) {
+        // Compteur modifié sous le verrou de la map : un sink réservé ne peut pas être retiré
+        // par la fin d'un autre flux avant que cet abonné y soit souscrit
+        return destinataires.compute(destinataire, (k, cible) -> {
+            Destinataire d = cible != null ? cible : new Destinataire();
+            d.flux++;
+            return d;
+        }).sink;
+    }
+    
+    private void liberer(String destinataire) {
+        destinataires.computeIfPresent(destinataire, (k, cible) -> --cible.flux == 0 ? null : cible);
+    }
+    
+    private static Sinks.Many<Publication> nouveauSink() {
+        // Sans abonné, les messages sont simplement ignorés (pas de rejeu)
+        return Sinks.many().multicast().directBestEffort();
+    }
+    
+    /**
+     * Message JSON et instant de publication (mesure du délai de livraison)
+     */
+    private record Publication(String json, long publieeNanos) {}
+    
+    /**
+     * Sink d'un utilisateur ou d'un groupe et nombre de flux qui l'ont réservé
+     * (flux : modifié uniquement dans les fonctions compute de la map)
+     */
+    private static final class Destinataire {
+        final Sinks.Many<Publication> sink = nouveauSink();
+        int flux;
+    }
+}
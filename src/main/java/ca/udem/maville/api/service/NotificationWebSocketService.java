@@ -3,22 +3,29 @@ package ca.udem.maville.api.service;
 import ca.udem.maville.entity.NotificationEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 /**
  * Service pour envoyer des notifications via WebSocket
+ *
+ * Sans broker STOMP (maville.features.websocket.enabled=false), les envois sont ignorés :
+ * les notifications restent disponibles en base et par SSE.
  */
 @Service
 public class NotificationWebSocketService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationWebSocketService.class);
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectProvider<SimpMessagingTemplate> messagingTemplate;
+    private final WebSocketMetrics metrics;
 
-    public NotificationWebSocketService(SimpMessagingTemplate messagingTemplate) {
+    public NotificationWebSocketService(ObjectProvider<SimpMessagingTemplate> messagingTemplate,
+                                        WebSocketMetrics metrics) {
         this.messagingTemplate = messagingTemplate;
+        this.metrics = metrics;
     }
 
     /**
@@ -29,7 +36,7 @@ public class NotificationWebSocketService {
     public void sendNotificationToUser(@NonNull String userIdentifier, @NonNull NotificationEntity notification) {
         try {
             String destination = "/topic/notifications/" + userIdentifier;
-            messagingTemplate.convertAndSend(destination, createNotificationMessage(notification));
+            envoyer(destination, createNotificationMessage(notification));
             logger.debug("Notification envoyée via WebSocket à {}: {}", userIdentifier, notification.getMessage());
         } catch (Exception e) {
             logger.error("Erreur lors de l'envoi de notification WebSocket à {}", userIdentifier, e);
@@ -42,7 +49,7 @@ public class NotificationWebSocketService {
      */
     public void broadcastNotification(@NonNull NotificationEntity notification) {
         try {
-            messagingTemplate.convertAndSend("/topic/notifications", createNotificationMessage(notification));
+            envoyer("/topic/notifications", createNotificationMessage(notification));
             logger.debug("Notification broadcast envoyée via WebSocket: {}", notification.getMessage());
         } catch (Exception e) {
             logger.error("Erreur lors du broadcast de notification WebSocket", e);
@@ -54,7 +61,7 @@ public class NotificationWebSocketService {
      */
     public void sendToResidents(@NonNull NotificationEntity notification) {
         try {
-            messagingTemplate.convertAndSend("/topic/notifications/residents", createNotificationMessage(notification));
+            envoyer("/topic/notifications/residents", createNotificationMessage(notification));
             logger.debug("Notification envoyée aux résidents via WebSocket: {}", notification.getMessage());
         } catch (Exception e) {
             logger.error("Erreur lors de l'envoi de notification aux résidents", e);
@@ -66,7 +73,7 @@ public class NotificationWebSocketService {
      */
     public void sendToPrestataires(@NonNull NotificationEntity notification) {
         try {
-            messagingTemplate.convertAndSend("/topic/notifications/prestataires", createNotificationMessage(notification));
+            envoyer("/topic/notifications/prestataires", createNotificationMessage(notification));
             logger.debug("Notification envoyée aux prestataires via WebSocket: {}", notification.getMessage());
         } catch (Exception e) {
             logger.error("Erreur lors de l'envoi de notification aux prestataires", e);
@@ -78,13 +85,24 @@ public class NotificationWebSocketService {
      */
     public void sendToStpm(@NonNull NotificationEntity notification) {
         try {
-            messagingTemplate.convertAndSend("/topic/notifications/stpm", createNotificationMessage(notification));
+            envoyer("/topic/notifications/stpm", createNotificationMessage(notification));
             logger.debug("Notification envoyée au STPM via WebSocket: {}", notification.getMessage());
         } catch (Exception e) {
             logger.error("Erreur lors de l'envoi de notification au STPM", e);
         }
     }
 
+    /**
+     * Envoie au broker STOMP s'il est actif (rôles sans WebSocket : aucun envoi)
+     * L'en-tête publication-ms permet de mesurer le délai de livraison (voir WebSocketMetrics)
+     */
+    private void envoyer(@NonNull String destination, @NonNull NotificationMessage message) {
+        SimpMessagingTemplate template = messagingTemplate.getIfAvailable();
+        if (template != null) {
+            template.convertAndSend(destination, message, metrics.publication(destination));
+        }
+    }
+
     /**
      * Crée un message de notification au format JSON pour le frontend
      */
@@ -0,0 +1,44 @@
+package ca.udem.maville.api.service;
+
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.dto.SearchResultResponse;
+import ca.udem.maville.service.search.SearchHit;
+import ca.udem.maville.service.search.SearchIndex;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Recherche plein texte classée et paginée sur les problèmes et les projets
+ * Délègue au moteur configuré (PostgreSQL ou index en mémoire, voir SearchIndex)
+ */
+@Service
+@Transactional(readOnly = true)
+public class RechercheService {
+    
+    private final SearchIndex searchIndex;
+    
+    public RechercheService(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+    
+    public PaginatedResponse<SearchResultResponse> rechercherProblemes(String texte, int page, int size) {
+        return enPage(searchIndex.rechercherProblemes(texte, PageRequest.of(page, size)), page, size);
+    }
+    
+    public PaginatedResponse<SearchResultResponse> rechercherProjets(String texte, int page, int size) {
+        return enPage(searchIndex.rechercherProjets(texte, PageRequest.of(page, size)), page, size);
+    }
+    
+    public String moteur() {
+        return searchIndex.nom();
+    }
+    
+    private static PaginatedResponse<SearchResultResponse> enPage(Page<SearchHit> resultats, int page, int size) {
+        List<SearchResultResponse> contenu = resultats.map(SearchResultResponse::from).getContent();
+        return new PaginatedResponse<>(contenu, page, size, resultats.getTotalElements());
+    }
+}
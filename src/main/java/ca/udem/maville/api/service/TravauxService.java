@@ -0,0 +1,115 @@
+package ca.udem.maville.api.service;
+
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.repository.projection.ProjetListView;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fusion des travaux MaVille et des travaux de l'API Montréal
+ * Partagé entre l'API servlet (/api/residents/travaux) et l'API réactive
+ */
+@Service
+public class TravauxService {
+    
+    private final ApiService apiService;
+    
+    public TravauxService(ApiService apiService) {
+        this.apiService = apiService;
+    }
+    
+    /**
+     * Fusionne les projets MaVille et les travaux de Montréal en appliquant les filtres
+     */
+    @Observed(name = "maville.travaux", contextualName = "travaux-fusion")
+    public List<Map<String, Object>> fusionnerTravaux(List<ProjetListView> projetsMaVille,
+                                                      List<Map<String, Object>> travauxMontreal,
+                                                      String quartier, String type) {
+        List<Map<String, Object>> tousTravaux = new ArrayList<>();
+        
+        // 1. Projets MaVille
+        for (ProjetListView projet : projetsMaVille) {
+            String quartierProjet = apiService.extraireQuartier(projet.getLocalisation());
+            
+            // Filtrer par quartier si spécifié
+            if (quartier != null && !quartier.isEmpty() && !quartier.equalsIgnoreCase(quartierProjet)) {
+                continue;
+            }
+            
+            // Filtrer par type si spécifié
+            String typeProjet = projet.getTypeTravail() != null ? 
+                projet.getTypeTravail().getDescription() : "";
+            if (type != null && !type.isEmpty() && !type.equalsIgnoreCase(typeProjet)) {
+                continue;
+            }
+            
+            Map<String, Object> travail = new HashMap<>();
+            travail.put("id", "MAVILLE-" + projet.getId());
+            travail.put("source", "MaVille");
+            travail.put("titre", projet.getDescriptionProjet() != null ? 
+                projet.getDescriptionProjet() : "Projet #" + projet.getId());
+            travail.put("description", projet.getDescriptionProjet());
+            travail.put("lieu", projet.getLocalisation());
+            travail.put("quartier", quartierProjet);
+            travail.put("type", projet.getTypeTravail() != null ? 
+                projet.getTypeTravail().getDescription() : "Non spécifié");
+            travail.put("date_debut", projet.getDateDebutPrevue() != null ? 
+                projet.getDateDebutPrevue().toString() : null);
+            travail.put("date_fin", projet.getDateFinPrevue() != null ? 
+                projet.getDateFinPrevue().toString() : null);
+            travail.put("cout", projet.getCout());
+            travail.put("statut", projet.getStatut() != null ? 
+                projet.getStatut().getDescription() : "En attente");
+            tousTravaux.add(travail);
+        }
+        
+        // 2. Travaux de l'API Montréal
+        for (Map<String, Object> travailMontreal : travauxMontreal) {
+            // Filtrer par quartier si spécifié
+            if (quartier != null && !quartier.isEmpty()) {
+                Object arrondissement = travailMontreal.get("arrondissement");
+                if (arrondissement == null || 
+                    !quartier.equalsIgnoreCase(arrondissement.toString())) {
+                    continue;
+                }
+            }
+            
+            // Filtrer par type si spécifié
+            if (type != null && !type.isEmpty()) {
+                Object motif = travailMontreal.get("motif");
+                if (motif == null || 
+                    !type.equalsIgnoreCase(motif.toString())) {
+                    continue;
+                }
+            }
+            
+            // Copie : les maps Montréal proviennent du cache partagé et ne doivent pas être modifiées
+            Map<String, Object> travail = new HashMap<>(travailMontreal);
+            travail.put("source", "Montreal");
+            tousTravaux.add(travail);
+        }
+        
+        return tousTravaux;
+    }
+    
+    /**
+     * Découpe la liste fusionnée en page
+     */
+    @Observed(name = "maville.travaux", contextualName = "travaux-pagination")
+    public PaginatedResponse<Map<String, Object>> paginer(List<Map<String, Object>> tousTravaux, 
+                                                          int page, int size) {
+        int total = tousTravaux.size();
+        int start = page * size;
+        int end = Math.min(start + size, total);
+        
+        List<Map<String, Object>> pageTravaux = (start < total) ? 
+            tousTravaux.subList(start, end) : new ArrayList<>();
+        
+        return new PaginatedResponse<>(pageTravaux, page, size, total);
+    }
+}
@@ -0,0 +1,135 @@
+package ca.udem.maville.api.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques des notifications WebSocket (STOMP), tag canal=websocket
+ *
+ * - sessions STOMP connectées (maville.websocket.sessions)
+ * - abonnés atteints par notification (maville.notifications.fanout), d'après les abonnements
+ *   suivis ici par destination : le broker simple ne les expose pas
+ * - délai entre l'envoi au broker et la prise en charge par le canal sortant de la session
+ *   (maville.notifications.delivery.lag), via l'en-tête publication-ms posé à l'envoi
+ *
+ * Sans broker (maville.features.websocket.enabled=false), aucun événement : jauges à 0.
+ */
+@Component
+public class WebSocketMetrics {
+    
+    /**
+     * En-tête STOMP (epoch ms) ajouté aux notifications, aussi utilisable par les clients
+     */
+    public static final String EN_TETE_PUBLICATION = "publication-ms";
+    
+    // sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> abonnesParDestination = new ConcurrentHashMap<>();
+    private final DistributionSummary fanout;
+    private final Timer delaiLivraison;
+    
+    public WebSocketMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("maville.websocket.sessions", sessions, Map::size)
+            .description("Sessions STOMP connectées")
+            .register(meterRegistry);
+        this.fanout = DistributionSummary.builder("maville.notifications.fanout")
+            .description("Abonnés atteints par notification publiée")
+            .tag("canal", "websocket")
+            .register(meterRegistry);
+        this.delaiLivraison = Timer.builder("maville.notifications.delivery.lag")
+            .description("Délai entre la publication d'une notification et son envoi à l'abonné")
+            .tag("canal", "websocket")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Enregistre une publication vers une destination et retourne l'en-tête à joindre au message
+     */
+    public Map<String, Object> publication(String destination) {
+        fanout.record(abonnesParDestination.getOrDefault(destination, 0));
+        return Map.of(EN_TETE_PUBLICATION, System.currentTimeMillis());
+    }
+    
+    /**
+     * Appelé par le canal sortant pour chaque message envoyé à une session (voir WebSocketConfig)
+     */
+    public void livraison(Message<?> message) {
+        String publication = NativeMessageHeaderAccessor.getFirstNativeHeader(EN_TETE_PUBLICATION, message.getHeaders());
+        if (publication == null) {
+            return;
+        }
+        try {
+            long delai = System.currentTimeMillis() - Long.parseLong(publication);
+            delaiLivraison.record(Math.max(delai, 0), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException e) {
+            // En-tête étranger : ignoré
+        }
+    }
+    
+    @EventListener
+    public void connexion(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null) {
+            sessions.putIfAbsent(sessionId, new ConcurrentHashMap<>());
+        }
+    }
+    
+    @EventListener
+    public void abonnement(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (headers.getSessionId() == null || headers.getSubscriptionId() == null || destination == null) {
+            return;
+        }
+        String precedente = sessions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+            .put(headers.getSubscriptionId(), destination);
+        if (precedente != null) {
+            ajuster(precedente, -1);
+        }
+        ajuster(destination, 1);
+    }
+    
+    @EventListener
+    public void desabonnement(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> abonnements = headers.getSessionId() != null ? sessions.get(headers.getSessionId()) : null;
+        if (abonnements != null && headers.getSubscriptionId() != null) {
+            String destination = abonnements.remove(headers.getSubscriptionId());
+            if (destination != null) {
+                ajuster(destination, -1);
+            }
+        }
+    }
+    
+    @EventListener
+    public void deconnexion(SessionDisconnectEvent event) {
+        Map<String, String> abonnements = sessions.remove(event.getSessionId());
+        if (abonnements != null) {
+            abonnements.values().forEach(destination -> ajuster(destination, -1));
+        }
+    }
+    
+    private void ajuster(String destination, int delta) {
+        // Destination retirée à 0 abonné : la map ne grossit pas avec les utilisateurs déconnectés
+        if (delta > 0) {
+            abonnesParDestination.merge(destination, delta, Integer::sum);
+        } else {
+            abonnesParDestination.computeIfPresent(destination, (d, actuel) -> actuel + delta > 0 ? actuel + delta : null);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ca.udem.maville.api.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utilitaires de cache HTTP (ETag / Last-Modified / 304) pour les listes
+ */
+public class HttpCacheUtil {
+    
+    /**
+     * Cache partagé autorisé (CDN) mais revalidation obligatoire via ETag à chaque requête
+     */
+    public static final CacheControl LISTES = CacheControl.noCache().cachePublic();
+    
+    /**
+     * Vérifie If-None-Match / If-Modified-Since avant tout calcul
+     * @return true si le client possède déjà la version courante
+     */
+    public static boolean estNonModifie(WebRequest request, String etag, long dernierChangement) {
+        return request.checkNotModified(etag, dernierChangement);
+    }
+    
+    /**
+     * Réponse 304 (sans corps) avec les en-têtes de cache
+     */
+    public static ResponseEntity<Object> nonModifie(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(LISTES)
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(etag)
+            .build();
+    }
+    
+    /**
+     * Réponse 200 avec ETag et Cache-Control
+     */
+    public static <T> ResponseEntity<T> ok(T body, String etag, long dernierChangement) {
+        return ResponseEntity.ok()
+            .cacheControl(LISTES)
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(etag)
+            .lastModified(dernierChangement)
+            .body(body);
+    }
+}
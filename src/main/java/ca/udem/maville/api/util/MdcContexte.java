@@ -0,0 +1,50 @@
+package ca.udem.maville.api.util;
+
+import org.slf4j.MDC;
+
+/**
+ * Champs MDC d'un log structuré, retirés à la fermeture (try-with-resources)
+ *
+ * Seules les clés ajoutées ici sont retirées : pas de MDC.clear(), traceId/spanId (traçage)
+ * doivent rester jusqu'à la fin de la requête.
+ */
+public final class MdcContexte implements AutoCloseable {
+    private final String[] cles;
+    
+    private MdcContexte(String[] cles) {
+        this.cles = cles;
+    }
+    
+    /**
+     * Ajoute les champs au MDC
+     * @param clesValeurs Clés et valeurs en alternance (clé1, valeur1, clé2, valeur2...)
+     */
+    public static MdcContexte avec(String... clesValeurs) {
+        if (clesValeurs.length % 2 != 0) {
+            throw new IllegalArgumentException("Clés et valeurs MDC attendues par paires");
+        }
+        String[] cles = new String[clesValeurs.length / 2];
+        for (int i = 0; i < cles.length; i++) {
+            cles[i] = clesValeurs[2 * i];
+        }
+        MdcContexte contexte = new MdcContexte(cles);
+        try {
+            for (int i = 0; i < cles.length; i++) {
+                MDC.put(cles[i], clesValeurs[2 * i + 1]);
+            }
+        } catch (RuntimeException e) {
+            contexte.close();
+            throw e;
+        }
+        return contexte;
+    }
+    
+    @Override
+    public void close() {
+        for (String cle : cles) {
+            if (cle != null) {
+                MDC.remove(cle);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ca.udem.maville.api.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Nombre maximal de requêtes SQL attendu pour un endpoint (cache froid)
+ * Vérifié par QueryBudgetInterceptor ; en mode strict (maville.sql.budget.strict=true),
+ * la requête SQL qui dépasse le budget échoue, ce qui fait échouer les tests d'intégration
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int value();
+}
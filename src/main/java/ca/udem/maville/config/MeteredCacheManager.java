@@ -0,0 +1,133 @@
+package ca.udem.maville.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentMapCacheManager dont chaque cache compte ses succès, échecs, écritures et évictions
+ *
+ * ConcurrentMapCache ne tient aucune statistique : sans ces compteurs, le taux de succès par cache
+ * (cache.gets{result=hit|miss}) ne peut pas être publié. Les caches sont liés aux métriques par
+ * le CacheMeterBinderProvider déclaré dans MetricsConfig, comme le ferait Boot pour Caffeine.
+ */
+public class MeteredCacheManager extends ConcurrentMapCacheManager {
+    
+    public MeteredCacheManager(String... cacheNames) {
+        super(cacheNames);
+    }
+    
+    @Override
+    @NonNull
+    protected Cache createConcurrentMapCache(@NonNull String name) {
+        if (isStoreByValue()) {
+            // Copie par sérialisation : non utilisée ici, laissée à l'implémentation standard
+            return super.createConcurrentMapCache(name);
+        }
+        return new CacheMesure(name, isAllowNullValues());
+    }
+    
+    /**
+     * Cache en mémoire avec compteurs (LongAdder : aucune contention sur les lectures concurrentes)
+     */
+    public static class CacheMesure extends ConcurrentMapCache {
+        private final LongAdder succes = new LongAdder();
+        private final LongAdder echecs = new LongAdder();
+        private final LongAdder ecritures = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        
+        CacheMesure(String name, boolean allowNullValues) {
+            super(name, allowNullValues);
+        }
+        
+        @Override
+        protected Object lookup(@NonNull Object key) {
+            Object valeur = super.lookup(key);
+            (valeur != null ? succes : echecs).increment();
+            return valeur;
+        }
+        
+        @Override
+        public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+            // @Cacheable(sync = true) : computeIfAbsent, sans passer par lookup()
+            boolean[] charge = {false};
+            T valeur = super.get(key, () -> {
+                charge[0] = true;
+                return valueLoader.call();
+            });
+            (charge[0] ? echecs : succes).increment();
+            return valeur;
+        }
+        
+        @Override
+        public void put(@NonNull Object key, Object value) {
+            super.put(key, value);
+            ecritures.increment();
+        }
+        
+        @Override
+        public void evict(@NonNull Object key) {
+            super.evict(key);
+            evictions.increment();
+        }
+        
+        @Override
+        public boolean evictIfPresent(@NonNull Object key) {
+            boolean retire = super.evictIfPresent(key);
+            if (retire) {
+                evictions.increment();
+            }
+            return retire;
+        }
+    }
+    
+    /**
+     * Expose les compteurs d'un CacheMesure sous les noms standards de Micrometer (cache.gets, cache.puts...)
+     */
+    static class CacheMesureMetrics extends CacheMeterBinder<CacheMesure> {
+        // Référence forte : les caches vivent aussi longtemps que le gestionnaire (singleton)
+        private final CacheMesure cache;
+        
+        CacheMesureMetrics(CacheMesure cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+            this.cache = cache;
+        }
+        
+        @Override
+        protected Long size() {
+            return (long) cache.getNativeCache().size();
+        }
+        
+        @Override
+        protected long hitCount() {
+            return cache.succes.sum();
+        }
+        
+        @Override
+        protected Long missCount() {
+            return cache.echecs.sum();
+        }
+        
+        @Override
+        protected Long evictionCount() {
+            return cache.evictions.sum();
+        }
+        
+        @Override
+        protected long putCount() {
+            return cache.ecritures.sum();
+        }
+        
+        @Override
+        protected void bindImplementationSpecificMetrics(@NonNull MeterRegistry registry) {
+            // Aucune métrique propre à ConcurrentMapCache
+        }
+    }
+}
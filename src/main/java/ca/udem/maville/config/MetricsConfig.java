@@ -0,0 +1,25 @@
+package ca.udem.maville.config;
+
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métriques Micrometer propres à MaVille, publiées avec celles de Spring Boot sur /actuator/prometheus
+ *
+ * Les autres sources s'enregistrent elles-mêmes : QueryBudgetInterceptor (temps et nombre de requêtes
+ * SQL par endpoint), MontrealApiMetrics, NotificationStreamHub et WebSocketMetrics (connexions,
+ * fan-out, délai de livraison), PoolMetricsTracker (Hikari), PasswordVerifier et StartupTasks.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    /**
+     * Taux de succès des caches de MeteredCacheManager : Boot lie chaque cache nommé au démarrage
+     * (cache.gets{cache=...,result=hit|miss}, cache.puts, cache.evictions, cache.size)
+     */
+    @Bean
+    public CacheMeterBinderProvider<MeteredCacheManager.CacheMesure> meteredCacheMeterBinderProvider() {
+        return MeteredCacheManager.CacheMesureMetrics::new;
+    }
+}
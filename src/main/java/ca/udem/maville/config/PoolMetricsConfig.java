@@ -0,0 +1,40 @@
+package ca.udem.maville.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+/**
+ * Branche PoolMetricsTracker sur chaque pool Hikari (primaire, réplique) avant son démarrage
+ * 
+ * Le pool étant configuré ici, Spring Boot n'y installe plus son propre tracker Micrometer :
+ * PoolMetricsTracker le crée lui-même comme délégué, au démarrage du pool (registre résolu à ce moment).
+ */
+@Configuration
+public class PoolMetricsConfig {
+    
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof HikariDataSource hikari
+                        && hikari.getMetricsTrackerFactory() == null
+                        && hikari.getMetricRegistry() == null) {
+                    hikari.setMetricsTrackerFactory(PoolMetricsTracker.factory((poolName, poolStats) -> {
+                        MeterRegistry registry = meterRegistry.getIfAvailable();
+                        return registry != null
+                            ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+                            : null;
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package ca.udem.maville.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques Hikari sans dépendance externe : histogramme du temps d'attente d'une connexion,
+ * durée d'utilisation et délais d'attente dépassés, par pool
+ * 
+ * Hikari n'accepte qu'une fabrique de trackers : chaque mesure est aussi transmise à un tracker
+ * délégué (Micrometer, métriques hikaricp.connections.* de /actuator/prometheus).
+ */
+public class PoolMetricsTracker implements IMetricsTracker {
+    
+    // Bornes supérieures (ms) des classes de l'histogramme d'attente ; la dernière classe est ouverte
+    private static final long[] BORNES_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+    
+    private static final Map<String, PoolMetricsTracker> TRACKERS = new ConcurrentHashMap<>();
+    
+    private final LongAdder[] classes = new LongAdder[BORNES_MS.length + 1];
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder attenteTotaleNanos = new LongAdder();
+    private final LongAccumulator attenteMaxNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder utilisations = new LongAdder();
+    private final LongAdder utilisationTotaleMs = new LongAdder();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final PoolStats poolStats;
+    private final IMetricsTracker delegue;
+    
+    private PoolMetricsTracker(PoolStats poolStats, IMetricsTracker delegue) {
+        this.poolStats = poolStats;
+        this.delegue = delegue;
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Fabrique à passer à HikariConfig.setMetricsTrackerFactory
+     * @param delegue Fabrique du tracker qui reçoit aussi chaque mesure (peut retourner null)
+     */
+    public static MetricsTrackerFactory factory(MetricsTrackerFactory delegue) {
+        return (poolName, poolStats) -> {
+            IMetricsTracker autre = delegue != null ? delegue.create(poolName, poolStats) : null;
+            PoolMetricsTracker tracker = new PoolMetricsTracker(poolStats, autre);
+            TRACKERS.put(poolName, tracker);
+            return tracker;
+        };
+    }
+    
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquisitions.increment();
+        attenteTotaleNanos.add(elapsedAcquiredNanos);
+        attenteMaxNanos.accumulate(elapsedAcquiredNanos);
+        long ms = TimeUnit.NANOSECONDS.toMillis(elapsedAcquiredNanos);
+        int i = 0;
+        while (i < BORNES_MS.length && ms > BORNES_MS[i]) {
+            i++;
+        }
+        classes[i].increment();
+        if (delegue != null) {
+            delegue.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        }
+    }
+    
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        utilisations.increment();
+        utilisationTotaleMs.add(elapsedBorrowedMillis);
+        if (delegue != null) {
+            delegue.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        }
+    }
+    
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+        if (delegue != null) {
+            delegue.recordConnectionTimeout();
+        }
+    }
+    
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        if (delegue != null) {
+            delegue.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+    }
+    
+    @Override
+    public void close() {
+        TRACKERS.values().remove(this);
+        if (delegue != null) {
+            delegue.close();
+        }
+    }
+    
+    /**
+     * État et métriques de chaque pool Hikari démarré
+     */
+    public static Map<String, Object> statistiques() {
+        Map<String, Object> pools = new LinkedHashMap<>();
+        TRACKERS.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> pools.put(e.getKey(), e.getValue().enMap()));
+        return pools;
+    }
+    
+    private Map<String, Object> enMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("actives", poolStats.getActiveConnections());
+        m.put("inactives", poolStats.getIdleConnections());
+        m.put("total", poolStats.getTotalConnections());
+        m.put("max", poolStats.getMaxConnections());
+        m.put("enAttente", poolStats.getPendingThreads());
+        m.put("timeouts", timeouts.get());
+        
+        long n = acquisitions.sum();
+        Map<String, Object> attente = new LinkedHashMap<>();
+        attente.put("acquisitions", n);
+        attente.put("moyenneMs", n > 0 ? attenteTotaleNanos.sum() / n / 1_000_000.0 : 0.0);
+        attente.put("maxMs", attenteMaxNanos.get() / 1_000_000.0);
+        Map<String, Long> histogramme = new LinkedHashMap<>();
+        for (int i = 0; i < BORNES_MS.length; i++) {
+            histogramme.put("<=" + BORNES_MS[i] + "ms", classes[i].sum());
+        }
+        histogramme.put(">" + BORNES_MS[BORNES_MS.length - 1] + "ms", classes[BORNES_MS.length].sum());
+        attente.put("histogramme", histogramme);
+        m.put("attenteConnexion", attente);
+        
+        long u = utilisations.sum();
+        m.put("utilisationMoyenneMs", u > 0 ? (double) utilisationTotaleMs.sum() / u : 0.0);
+        return m;
+    }
+}
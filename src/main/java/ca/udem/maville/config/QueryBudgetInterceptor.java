@@ -0,0 +1,112 @@
+package ca.udem.maville.config;
+
+import ca.udem.maville.api.util.QueryBudget;
+import ca.udem.maville.service.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compte les requêtes SQL de chaque requête HTTP et les compare au budget @QueryBudget
+ * 
+ * Pour les réponses asynchrones (CompletableFuture, SSE), le comptage est suspendu à la fin du
+ * premier dispatch et repris au dispatch asynchrone : le thread Tomcat libéré ne garde rien.
+ * 
+ * Métriques par endpoint (Classe.méthode) : maville.http.db.time (temps d'exécution JDBC)
+ * et maville.http.db.statements (nombre de requêtes SQL).
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final String MESURE_SUSPENDUE = QueryBudgetInterceptor.class.getName() + ".mesure";
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+    
+    private final boolean strict;
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * @param meterRegistry Registre des métriques, ou null pour ne pas en publier
+     */
+    public QueryBudgetInterceptor(boolean strict, MeterRegistry meterRegistry) {
+        this.strict = strict;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        Object suspendue = request.getAttribute(MESURE_SUSPENDUE);
+        if (suspendue != null) {
+            request.removeAttribute(MESURE_SUSPENDUE);
+            SqlStatementCounter.reprendre(suspendue);
+            return true;
+        }
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            SqlStatementCounter.demarrer(endpoint(handlerMethod), budget != null ? budget.value() : -1, strict);
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        Object mesure = SqlStatementCounter.suspendre();
+        if (mesure != null) {
+            request.setAttribute(MESURE_SUSPENDUE, mesure);
+        }
+    }
+    
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        long dureeNanos = SqlStatementCounter.dureeCouranteNanos();
+        int requetes = SqlStatementCounter.arreter();
+        QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+        enregistrer(endpoint(handlerMethod), requetes, dureeNanos);
+        
+        MDC.put("sqlCount", String.valueOf(requetes));
+        try {
+            if (budget != null && requetes > budget.value()) {
+                logger.warn("Budget SQL dépassé : {} {} - {} requêtes (budget {})",
+                    request.getMethod(), request.getRequestURI(), requetes, budget.value());
+            } else {
+                logger.debug("{} {} - {} requêtes SQL", request.getMethod(), request.getRequestURI(), requetes);
+            }
+        } finally {
+            MDC.remove("sqlCount");
+        }
+    }
+    
+    private void enregistrer(String endpoint, int requetes, long dureeNanos) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("maville.http.db.time")
+            .description("Temps d'exécution JDBC par requête HTTP")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(dureeNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("maville.http.db.statements")
+            .description("Requêtes SQL par requête HTTP")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry)
+            .record(requetes);
+    }
+    
+    private static String endpoint(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
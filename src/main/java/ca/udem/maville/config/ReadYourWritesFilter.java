@@ -0,0 +1,73 @@
+package ca.udem.maville.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Lecture de ses propres écritures avec une réplique
+ * 
+ * Chaque écriture (POST, PUT, PATCH, DELETE) pose le cookie mv_last_write ; tant qu'il est
+ * plus récent que la fenêtre configurée, les lectures de ce client restent sur le primaire.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE = "mv_last_write";
+    
+    private final Duration fenetre;
+    
+    public ReadYourWritesFilter(Duration fenetre) {
+        this.fenetre = fenetre;
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain chain) throws ServletException, IOException {
+        long maintenant = System.currentTimeMillis();
+        boolean ecriture = estEcriture(request.getMethod());
+        
+        if (ecriture) {
+            // Posé avant le traitement : la réponse peut être validée (committed) avant la fin
+            Cookie cookie = new Cookie(COOKIE, Long.toString(maintenant));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) fenetre.toSeconds());
+            response.addCookie(cookie);
+        }
+        
+        ReplicaRoutingDataSource.forcerPrimaire(ecriture || ecritureRecente(request, maintenant));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.forcerPrimaire(false);
+        }
+    }
+    
+    private boolean ecritureRecente(HttpServletRequest request, long maintenant) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return maintenant - Long.parseLong(cookie.getValue()) < fenetre.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean estEcriture(String methode) {
+        return "POST".equals(methode) || "PUT".equals(methode)
+            || "PATCH".equals(methode) || "DELETE".equals(methode);
+    }
+}
@@ -0,0 +1,87 @@
+package ca.udem.maville.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Réplique en lecture : activée seulement si maville.datasource.replica.url est défini
+ * Sans cette propriété, Spring Boot configure la source de données unique habituelle.
+ */
+@Configuration
+@ConditionalOnProperty(name = "maville.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("maville-primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("maville.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${maville.datasource.replica.url}") String url,
+                                              @Value("${maville.datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${maville.datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("maville-replica");
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${maville.datasource.replica.max-lag:5s}") Duration retardMax,
+                                               @Value("${maville.datasource.replica.lag-check-interval:2s}") Duration intervalle) {
+        return new ReplicaLagMonitor(replicaDataSource, retardMax, intervalle);
+    }
+    
+    /**
+     * Source de données utilisée par JPA : aiguillage paresseux primaire / réplique
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagMonitor);
+        Map<Object, Object> cibles = new HashMap<>();
+        cibles.put(ReplicaRoutingDataSource.PRIMAIRE, primaryDataSource);
+        cibles.put(ReplicaRoutingDataSource.REPLIQUE, replicaDataSource);
+        routing.setTargetDataSources(cibles);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${maville.datasource.replica.sticky-window:10s}") Duration fenetre) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+            new FilterRegistrationBean<>(new ReadYourWritesFilter(fenetre));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,80 @@
+package ca.udem.maville.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure périodiquement le retard de réplication et retire la réplique de l'aiguillage
+ * quand il dépasse le budget de fraîcheur (ou quand elle ne répond plus)
+ */
+public class ReplicaLagMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    // 0 si tout le WAL reçu est rejoué, sinon ancienneté de la dernière transaction rejouée
+    private static final String REQUETE_RETARD =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    
+    private final JdbcTemplate replique;
+    private final Duration retardMax;
+    private final ScheduledExecutorService planificateur;
+    
+    private volatile long retardMs = 0;
+    private volatile boolean disponible = false;
+    
+    public ReplicaLagMonitor(DataSource replique, Duration retardMax, Duration intervalle) {
+        this.replique = new JdbcTemplate(replique);
+        this.retardMax = retardMax;
+        this.planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag");
+            t.setDaemon(true);
+            return t;
+        });
+        planificateur.scheduleWithFixedDelay(this::mesurer, 0, intervalle.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    void mesurer() {
+        try {
+            Number retard = replique.queryForObject(REQUETE_RETARD, Number.class);
+            retardMs = retard != null ? retard.longValue() : 0;
+            boolean utilisable = retardMs <= retardMax.toMillis();
+            if (utilisable != disponible) {
+                logger.info("Réplique {} (retard: {} ms, budget: {} ms)",
+                    utilisable ? "réactivée" : "écartée", retardMs, retardMax.toMillis());
+            }
+            disponible = utilisable;
+        } catch (Exception e) {
+            if (disponible) {
+                logger.warn("Réplique injoignable, lectures redirigées vers le primaire: {}", e.getMessage());
+            }
+            disponible = false;
+        }
+    }
+    
+    public boolean repliqueUtilisable() {
+        return disponible;
+    }
+    
+    public Map<String, Object> etat() {
+        Map<String, Object> etat = new LinkedHashMap<>();
+        etat.put("disponible", disponible);
+        etat.put("retardMs", retardMs);
+        etat.put("retardMaxMs", retardMax.toMillis());
+        return etat;
+    }
+    
+    @PreDestroy
+    public void arreter() {
+        planificateur.shutdownNow();
+    }
+}
@@ -0,0 +1,47 @@
+package ca.udem.maville.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aiguillage primaire / réplique selon la transaction en cours
+ * 
+ * Les transactions @Transactional(readOnly = true) vont sur la réplique, sauf si :
+ * - la réplique est en retard au-delà du budget (ReplicaLagMonitor)
+ * - la requête HTTP suit une écriture du même client (ReadYourWritesFilter)
+ * Doit être enveloppé dans un LazyConnectionDataSourceProxy : la connexion n'est obtenue
+ * qu'à la première requête SQL, une fois le drapeau readOnly de la transaction positionné.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMAIRE = "primaire";
+    public static final String REPLIQUE = "replique";
+    
+    private static final ThreadLocal<Boolean> FORCER_PRIMAIRE = new ThreadLocal<>();
+    
+    private final ReplicaLagMonitor lagMonitor;
+    
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+    
+    /**
+     * Force les lectures du thread courant sur le primaire (lecture de ses propres écritures)
+     */
+    public static void forcerPrimaire(boolean forcer) {
+        if (forcer) {
+            FORCER_PRIMAIRE.set(Boolean.TRUE);
+        } else {
+            FORCER_PRIMAIRE.remove();
+        }
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && FORCER_PRIMAIRE.get() == null
+                && lagMonitor.repliqueUtilisable()) {
+            return REPLIQUE;
+        }
+        return PRIMAIRE;
+    }
+}
@@ -0,0 +1,50 @@
+package ca.udem.maville.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Un span (observation "maville.repository") par appel d'un repository Spring Data de MaVille
+ * 
+ * Les repositories sont des proxys générés : ni @Observed ni instrumentation JDBC ne les nomment.
+ * Le span porte le nom de l'interface et de la méthode (ex. ProblemeRepository#findNonResolus),
+ * y compris pour les méthodes héritées (findById, save...).
+ */
+@Aspect
+public class RepositoryObservationAspect {
+    private static final String PAQUET = "ca.udem.maville.repository.";
+    
+    private final ObservationRegistry observationRegistry;
+    // Classe du proxy -> nom simple de l'interface du repository
+    private final Map<Class<?>, String> noms = new ConcurrentHashMap<>();
+    
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Around("target(org.springframework.data.repository.Repository) && !execution(* java.lang.Object.*(..))")
+    public Object observer(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = noms.computeIfAbsent(joinPoint.getTarget().getClass(), RepositoryObservationAspect::nomRepository);
+        String methode = joinPoint.getSignature().getName();
+        return Observation.createNotStarted("maville.repository", observationRegistry)
+            .contextualName(repository + "#" + methode)
+            .lowCardinalityKeyValue("repository", repository)
+            .lowCardinalityKeyValue("method", methode)
+            .observeChecked(() -> joinPoint.proceed());
+    }
+    
+    private static String nomRepository(Class<?> proxy) {
+        for (Class<?> interfaceProxy : proxy.getInterfaces()) {
+            if (interfaceProxy.getName().startsWith(PAQUET)) {
+                return interfaceProxy.getSimpleName();
+            }
+        }
+        return proxy.getSimpleName();
+    }
+}
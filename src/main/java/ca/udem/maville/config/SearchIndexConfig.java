@@ -0,0 +1,49 @@
+package ca.udem.maville.config;
+
+import ca.udem.maville.repository.ProblemeRepository;
+import ca.udem.maville.repository.ProjetRepository;
+import ca.udem.maville.service.FullTextSearchSetup;
+import ca.udem.maville.service.search.InMemorySearchIndex;
+import ca.udem.maville.service.search.PostgresSearchIndex;
+import ca.udem.maville.service.search.SearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Choix du moteur de recherche (maville.search.backend) :
+ * - auto (défaut) : PostgreSQL si la recherche plein texte a pu être préparée, sinon en mémoire
+ * - postgres : toujours PostgreSQL
+ * - memory : index embarqué (H2, tests)
+ */
+@Configuration
+public class SearchIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexConfig.class);
+    
+    @Bean
+    public SearchIndex searchIndex(@Value("${maville.search.backend:auto}") String backend,
+                                   FullTextSearchSetup fullTextSearchSetup,
+                                   ProblemeRepository problemeRepository,
+                                   ProjetRepository projetRepository) {
+        boolean postgres = switch (backend.trim().toLowerCase()) {
+            case "postgres" -> {
+                if (!fullTextSearchSetup.estDisponible()) {
+                    logger.warn("maville.search.backend=postgres mais la recherche plein texte n'est pas initialisée");
+                }
+                yield true;
+            }
+            case "memory" -> false;
+            case "auto" -> fullTextSearchSetup.estDisponible();
+            default -> throw new IllegalStateException(
+                "maville.search.backend invalide: " + backend + " (auto, postgres ou memory)");
+        };
+        
+        SearchIndex index = postgres
+            ? new PostgresSearchIndex(problemeRepository, projetRepository)
+            : new InMemorySearchIndex(problemeRepository, projetRepository);
+        logger.info("Moteur de recherche: {}", index.nom());
+        return index;
+    }
+}
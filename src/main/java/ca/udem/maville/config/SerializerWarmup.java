@@ -0,0 +1,57 @@
+package ca.udem.maville.config;
+
+import ca.udem.maville.api.dto.CandidatureResponse;
+import ca.udem.maville.api.dto.NotificationResponse;
+import ca.udem.maville.api.dto.PaginatedResponse;
+import ca.udem.maville.api.dto.ProblemeResponse;
+import ca.udem.maville.api.dto.ProjetResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Résout au démarrage les sérialiseurs Jackson des DTO de réponse
+ * Le cache de sérialiseurs de l'ObjectMapper étant partagé, la première requête
+ * n'a plus à introspecter les records
+ */
+@Component
+public class SerializerWarmup {
+    private static final Logger logger = LoggerFactory.getLogger(SerializerWarmup.class);
+    
+    private static final List<Class<?>> DTOS = List.of(
+        ProblemeResponse.class,
+        ProjetResponse.class,
+        CandidatureResponse.class,
+        NotificationResponse.class
+    );
+    
+    private final ObjectMapper objectMapper;
+    
+    public SerializerWarmup(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @PostConstruct
+    public void prechargerSerialiseurs() {
+        TypeFactory types = objectMapper.getTypeFactory();
+        int resolus = 0;
+        for (Class<?> dto : DTOS) {
+            JavaType page = types.constructParametricType(PaginatedResponse.class, dto);
+            JavaType liste = types.constructCollectionType(List.class, dto);
+            for (JavaType type : List.of(types.constructType(dto), page, liste)) {
+                // writerFor() pré-résout le sérialiseur racine et le place dans le cache du mapper
+                objectMapper.writerFor(type);
+                if (objectMapper.canSerialize(type.getRawClass())) {
+                    resolus++;
+                }
+            }
+        }
+        logger.info("Sérialiseurs Jackson pré-résolus pour {} types de réponse", resolus);
+    }
+}
@@ -1,24 +1,51 @@
 package ca.udem.maville.config;
 
+import ca.udem.maville.api.MontrealApiMetrics;
 import ca.udem.maville.api.MontrealApiService;
+import ca.udem.maville.api.ReactiveMontrealClient;
+import ca.udem.maville.api.security.SessionIdentityInterceptor;
 import ca.udem.maville.service.GestionnaireProjets;
+import ca.udem.maville.service.ContentVersionService;
 import ca.udem.maville.service.ModelMapperService;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration Spring pour MaVille
  * Utilise maintenant PostgreSQL via DatabaseStorageService
+ * 
+ * Proxies @Async par sous-classe : StartupTasks (MeterBinder) est injectée par sa classe
  */
 @Configuration
 @EnableCaching
+@EnableScheduling
+@EnableAsync(proxyTargetClass = true)
 public class SpringConfig implements WebMvcConfigurer {
     
     @Bean
@@ -26,20 +53,101 @@ public class SpringConfig implements WebMvcConfigurer {
         return new ModelMapperService();
     }
     
+    /**
+     * Coût BCrypt configurable (maville.auth.bcrypt-strength, 10 par défaut) : chaque +1 double
+     * le temps de vérification. Les hash existants gardent leur coût, encodé dans le hash.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${maville.auth.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+    
+    /**
+     * Prototype en mémoire, sans consommateur actuel : jamais instancié tant que personne ne l'injecte
+     */
     @Bean
+    @Lazy
     public GestionnaireProjets gestionnaireProjets() {
         return new GestionnaireProjets();
     }
     
+    /**
+     * Client de l'API de Montréal créé au premier appel (points d'injection @Lazy) :
+     * les rôles "streaming" et "worker" ne le construisent jamais.
+     */
     @Bean
-    public MontrealApiService montrealApiService() {
-        return new MontrealApiService();
+    @Lazy
+    public MontrealApiService montrealApiService(OkHttpClient montrealHttpClient,
+                                                 ContentVersionService contentVersions,
+                                                 @Value("${api.montreal.url:" + MontrealApiService.API_URL + "}") String apiUrl,
+                                                 @Value("${api.montreal.resource_id:" + MontrealApiService.RESOURCE_ID + "}") String resourceId) {
+        return new MontrealApiService(montrealHttpClient, contentVersions, apiUrl, resourceId);
     }
     
+    @Bean
+    @Lazy
+    public MontrealApiMetrics montrealApiMetrics(MeterRegistry meterRegistry) {
+        return new MontrealApiMetrics(meterRegistry);
+    }
+    
+    /**
+     * Client HTTP pour l'API de Montréal.
+     * Chaque appel est mesuré (maville.montreal.requests) par l'intercepteur de MontrealApiMetrics.
+     * Avec spring.threads.virtual.enabled=true (profil "virtual"), les appels asynchrones
+     * du dispatcher OkHttp tournent aussi sur des threads virtuels; les appels synchrones
+     * s'exécutent déjà sur le thread (virtuel) de la requête Tomcat.
+     */
+    @Bean
+    @Lazy
+    public OkHttpClient montrealHttpClient(
+            @Value("${api.montreal.timeout:5000}") long timeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MontrealApiMetrics montrealApiMetrics) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .connectTimeout(Duration.ofMillis(timeoutMs))
+            .readTimeout(Duration.ofMillis(timeoutMs))
+            .callTimeout(Duration.ofMillis(timeoutMs * 2))
+            .addInterceptor(montrealApiMetrics.intercepteur());
+        
+        if (virtualThreads) {
+            Dispatcher dispatcher = new Dispatcher(Executors.newVirtualThreadPerTaskExecutor());
+            // Les threads virtuels ne coûtent presque rien : on limite seulement la pression sur l'API distante
+            dispatcher.setMaxRequests(256);
+            dispatcher.setMaxRequestsPerHost(32);
+            builder.dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(32, 5, TimeUnit.MINUTES));
+        }
+        return builder.build();
+    }
+    
+    @Bean
+    @Lazy
+    public ReactiveMontrealClient reactiveMontrealClient(WebClient.Builder webClientBuilder,
+                                                         CacheManager cacheManager,
+                                                         MontrealApiService montrealApiService,
+                                                         @Value("${api.montreal.timeout:5000}") long timeoutMs,
+                                                         MontrealApiMetrics montrealApiMetrics) {
+        return new ReactiveMontrealClient(webClientBuilder.build(), cacheManager, montrealApiService,
+                                          Duration.ofMillis(timeoutMs), montrealApiMetrics);
+    }
+    
+    /**
+     * Pont borné entre l'API réactive et JPA (bloquant).
+     * Taille alignée sur le pool JDBC : au-delà, les tâches attendent dans la file au lieu
+     * de bloquer des threads en attente d'une connexion.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return Schedulers.newBoundedElastic(poolSize, 10_000, "jdbc-bridge");
+    }
+    
+    /**
+     * Caches en mémoire avec compteurs de succès/échecs (métriques cache.gets, voir MeteredCacheManager)
+     */
     @Bean
     public CacheManager cacheManager() {
         // Cache pour : API externe, listes de problèmes, listes de projets
-        return new ConcurrentMapCacheManager(
+        return new MeteredCacheManager(
             "travauxMontreal",      // API externe Montréal
             "problemes",            // Liste des problèmes (cache 5 minutes)
             "projets",              // Liste des projets (cache 5 minutes)
@@ -49,6 +157,22 @@ public class SpringConfig implements WebMvcConfigurer {
         );
     }
     
+    @Value("${maville.sql.budget.strict:false}")
+    private boolean budgetSqlStrict;
+    
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+    
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // Comptage des requêtes SQL par requête HTTP (voir SqlStatementCounter et @QueryBudget)
+        registry.addInterceptor(new QueryBudgetInterceptor(budgetSqlStrict, meterRegistry.getIfAvailable()))
+                .addPathPatterns("/api/**");
+        // Jeton présent : {email} / {neq} doivent désigner l'utilisateur connecté
+        registry.addInterceptor(new SessionIdentityInterceptor())
+                .addPathPatterns("/api/residents/**", "/api/prestataires/**");
+    }
+    
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -63,4 +187,3 @@ public class SpringConfig implements WebMvcConfigurer {
                 .addResourceLocations("classpath:/static/");
     }
 }
-
@@ -4,13 +4,20 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * Configuration Swagger/OpenAPI pour la documentation de l'API
+ *
+ * Créée au premier accès à /v3/api-docs ; absente quand springdoc est désactivé
+ * (springdoc.api-docs.enabled=false, rôles "streaming" et "worker").
  */
 @Configuration
+@Lazy
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
     
     @Bean
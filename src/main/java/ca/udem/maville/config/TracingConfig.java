@@ -0,0 +1,55 @@
+package ca.udem.maville.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Traçage distribué : Spring Boot crée le span de chaque requête HTTP (et des appels WebClient),
+ * cette configuration ajoute les spans applicatifs
+ * 
+ * - @Observed : DatabaseStorageService, MontrealApiService.getTravauxEnCours, TravauxService
+ *   (fusion, pagination) et envoi des notifications ; l'extraction des quartiers n'a pas de span
+ *   propre, sa durée est comprise dans celui de la fusion (travaux-fusion)
+ * - RepositoryObservationAspect : une requête de repository Spring Data = un span
+ * 
+ * Un span ouvert place traceId/spanId dans le MDC (voir logback-spring.xml). Export OTLP si
+ * management.otlp.tracing.endpoint est défini, dans les logs si maville.tracing.log-spans=true.
+ */
+@Configuration
+public class TracingConfig {
+    
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+    
+    @Bean
+    public RepositoryObservationAspect repositoryObservationAspect(ObservationRegistry observationRegistry) {
+        return new RepositoryObservationAspect(observationRegistry);
+    }
+    
+    /**
+     * Sans collecteur : chaque span terminé est écrit dans les logs (nom, traceId, durée, attributs)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "maville.tracing.log-spans", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+    
+    /**
+     * Pas de trace ni de métrique http.server.requests pour les appels de supervision (/actuator)
+     */
+    @Bean
+    public ObservationPredicate ignorerActuator() {
+        return (nom, contexte) -> !(contexte instanceof ServerRequestObservationContext requete
+                                    && requete.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+}
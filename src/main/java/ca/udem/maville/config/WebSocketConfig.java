@@ -1,8 +1,15 @@
 package ca.udem.maville.config;
 
+import ca.udem.maville.api.service.WebSocketMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -15,11 +22,21 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * - Utiliser Server-Sent Events (SSE) à la place
  * - Utiliser polling HTTP périodique
  * - Accepter qu'une instance reste active pour les WebSockets temps réel
+ *
+ * Désactivable (maville.features.websocket.enabled=false, rôles "api" et "worker") : ni broker
+ * STOMP, ni endpoint SockJS, ni scheduler de heartbeat ne sont alors créés.
  */
 @Configuration
+@ConditionalOnProperty(name = "maville.features.websocket.enabled", havingValue = "true", matchIfMissing = true)
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketMetrics webSocketMetrics;
+
+    public WebSocketConfig(WebSocketMetrics webSocketMetrics) {
+        this.webSocketMetrics = webSocketMetrics;
+    }
+
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
         // Préfixe pour les destinations où les clients peuvent envoyer des messages
@@ -46,6 +63,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setDisconnectDelay(5000); // Délai avant de nettoyer les connexions fermées
     }
 
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        // Délai de livraison mesuré sur le thread d'envoi, après l'attente dans la file du canal sortant
+        registration.interceptors(new ExecutorChannelInterceptor() {
+            @Override
+            public Message<?> beforeHandle(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                           @NonNull MessageHandler handler) {
+                webSocketMetrics.livraison(message);
+                return message;
+            }
+        });
+    }
+
     /**
      * Scheduler dédié au heartbeat du broker.
      *
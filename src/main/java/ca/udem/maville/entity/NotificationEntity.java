@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 /**
  * Entité JPA pour les notifications
+ * Table partitionnée par mois sur date_creation en PostgreSQL (voir NotificationPartitionManager)
  */
 @Entity
 @Table(name = "notifications")
@@ -39,6 +40,14 @@ public class NotificationEntity {
     
     public NotificationEntity() {}
     
+    // date_creation est la clé de partitionnement : jamais nulle
+    @PrePersist
+    void avantInsertion() {
+        if (dateCreation == null) {
+            dateCreation = LocalDateTime.now();
+        }
+    }
+    
     public NotificationEntity(String message, String typeChangement, String residentEmail, 
                               Long projetId, String typeDestinataire) {
         this.message = message;
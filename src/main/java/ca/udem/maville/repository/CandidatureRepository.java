@@ -2,13 +2,13 @@ package ca.udem.maville.repository;
 
 import ca.udem.maville.entity.CandidatureEntity;
 import ca.udem.maville.modele.StatutCandidature;
+import ca.udem.maville.repository.projection.CandidatureListView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,10 +19,13 @@ import java.util.List;
  */
 @Repository
 public interface CandidatureRepository extends JpaRepository<CandidatureEntity, Long> {
-    @Override
-    @EntityGraph(attributePaths = {"prestataire", "problemes"})
-    @NonNull
-    Page<CandidatureEntity> findAll(@NonNull Pageable pageable);
+    /**
+     * Liste paginée des candidatures : nom du prestataire joint, problèmes visés non chargés
+     */
+    @Query(value = "SELECT c.id AS id, pr.nomEntreprise AS prestataire, c.statut AS statut, " +
+           "c.descriptionProjet AS descriptionProjet FROM CandidatureEntity c JOIN c.prestataire pr ORDER BY c.id",
+           countQuery = "SELECT COUNT(c) FROM CandidatureEntity c")
+    Page<CandidatureListView> findAllViews(Pageable pageable);
     
     @EntityGraph(attributePaths = {"prestataire", "problemes"})
     List<CandidatureEntity> findByStatut(StatutCandidature statut);
@@ -30,9 +33,5 @@ public interface CandidatureRepository extends JpaRepository<CandidatureEntity,
     @EntityGraph(attributePaths = {"prestataire", "problemes"})
     @Query("SELECT c FROM CandidatureEntity c WHERE c.prestataire.numeroEntreprise = :neq")
     List<CandidatureEntity> findByPrestataireNeq(@Param("neq") String neq);
-    
-    @EntityGraph(attributePaths = {"prestataire", "problemes"})
-    @Query("SELECT c FROM CandidatureEntity c WHERE c.statut = :statut")
-    Page<CandidatureEntity> findByStatut(@Param("statut") StatutCandidature statut, Pageable pageable);
 }
 
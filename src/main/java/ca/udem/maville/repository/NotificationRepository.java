@@ -1,11 +1,13 @@
 package ca.udem.maville.repository;
 
 import ca.udem.maville.entity.NotificationEntity;
+import ca.udem.maville.repository.projection.NotificationListView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -26,7 +28,29 @@ public interface NotificationRepository extends JpaRepository<NotificationEntity
     @Query("SELECT n FROM NotificationEntity n WHERE n.typeDestinataire = 'PRESTATAIRE' AND n.destinataire = :neq ORDER BY n.dateCreation DESC")
     List<NotificationEntity> findByPrestataireNeq(@Param("neq") String neq);
     
-    @Query("SELECT COUNT(n) FROM NotificationEntity n WHERE n.residentEmail = :email AND n.lu = false")
-    long countUnreadByResidentEmail(@Param("email") String email);
+    // Projections pour l'affichage des listes (aucune entité gérée)
+    // Le prédicat sur date_creation permet à PostgreSQL d'ignorer les partitions plus anciennes
+    
+    @Query("SELECT n.id AS id, n.message AS message, n.typeChangement AS typeChangement, " +
+           "n.dateCreation AS dateCreation, n.lu AS lu, n.projetId AS projetId FROM NotificationEntity n " +
+           "WHERE n.residentEmail = :email AND n.dateCreation >= :depuis ORDER BY n.dateCreation DESC")
+    List<NotificationListView> findViewsByResidentEmail(@Param("email") String email,
+                                                        @Param("depuis") LocalDateTime depuis);
+    
+    @Query("SELECT n.id AS id, n.message AS message, n.typeChangement AS typeChangement, " +
+           "n.dateCreation AS dateCreation, n.lu AS lu, n.projetId AS projetId FROM NotificationEntity n " +
+           "WHERE n.typeDestinataire = 'STPM' AND n.dateCreation >= :depuis ORDER BY n.dateCreation DESC")
+    List<NotificationListView> findStpmNotificationViews(@Param("depuis") LocalDateTime depuis);
+    
+    @Query("SELECT n.id AS id, n.message AS message, n.typeChangement AS typeChangement, " +
+           "n.dateCreation AS dateCreation, n.lu AS lu, n.projetId AS projetId FROM NotificationEntity n " +
+           "WHERE n.typeDestinataire = 'PRESTATAIRE' AND (n.destinataire = :neq OR n.destinataire IS NULL) " +
+           "AND n.dateCreation >= :depuis ORDER BY n.dateCreation DESC")
+    List<NotificationListView> findPrestataireNotificationViews(@Param("neq") String neq,
+                                                                @Param("depuis") LocalDateTime depuis);
+    
+    @Query("SELECT COUNT(n) FROM NotificationEntity n WHERE n.residentEmail = :email AND n.lu = false " +
+           "AND n.dateCreation >= :depuis")
+    long countUnreadByResidentEmail(@Param("email") String email, @Param("depuis") LocalDateTime depuis);
 }
 
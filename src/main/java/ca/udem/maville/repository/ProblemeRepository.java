@@ -3,6 +3,8 @@ package ca.udem.maville.repository;
 import ca.udem.maville.entity.ProblemeEntity;
 import ca.udem.maville.modele.Priorite;
 import ca.udem.maville.modele.TypeTravaux;
+import ca.udem.maville.repository.projection.ProblemeListView;
+import ca.udem.maville.repository.projection.ProblemeSearchView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -11,7 +13,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour les problèmes
@@ -21,6 +25,12 @@ import java.util.List;
 public interface ProblemeRepository extends JpaRepository<ProblemeEntity, Long> {
     List<ProblemeEntity> findByResoluFalse();
     
+    @Query("SELECT p FROM ProblemeEntity p WHERE p.resolu = false AND p.id IN :ids")
+    List<ProblemeEntity> findNonResolusByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Premier problème ouvert (LIMIT 1 en SQL)
+    Optional<ProblemeEntity> findFirstByResoluFalseOrderByIdAsc();
+    
     @EntityGraph(attributePaths = {"declarant"})
     Page<ProblemeEntity> findByResoluFalse(Pageable pageable);
     
@@ -32,6 +42,22 @@ public interface ProblemeRepository extends JpaRepository<ProblemeEntity, Long>
         Pageable pageable
     );
     
+    /**
+     * Liste paginée des problèmes ouverts : seules les colonnes affichées sont lues,
+     * aucune entité n'est chargée dans le contexte de persistance
+     */
+    @Query(value = "SELECT p.id AS id, p.lieu AS lieu, p.description AS description, " +
+           "p.typeProbleme AS typeProbleme, p.priorite AS priorite, " +
+           "CONCAT(d.prenom, ' ', d.nom) AS declarant, p.dateSignalement AS dateSignalement " +
+           "FROM ProblemeEntity p JOIN p.declarant d WHERE p.resolu = false AND " +
+           "(:type IS NULL OR p.typeProbleme = :type) ORDER BY p.id",
+           countQuery = "SELECT COUNT(p) FROM ProblemeEntity p WHERE p.resolu = false AND " +
+           "(:type IS NULL OR p.typeProbleme = :type)")
+    Page<ProblemeListView> findNonResolusViews(
+        @Param("type") TypeTravaux type,
+        Pageable pageable
+    );
+    
     @EntityGraph(attributePaths = {"declarant"})
     List<ProblemeEntity> findByPriorite(Priorite priorite);
     
@@ -41,5 +67,17 @@ public interface ProblemeRepository extends JpaRepository<ProblemeEntity, Long>
     @EntityGraph(attributePaths = {"declarant"})
     @Query("SELECT p FROM ProblemeEntity p WHERE p.declarant.email = :email")
     List<ProblemeEntity> findByDeclarantEmail(@Param("email") String email);
+    
+    /**
+     * Recherche plein texte (colonne tsvector générée + index GIN, voir FullTextSearchSetup)
+     * websearch_to_tsquery accepte la syntaxe usuelle : "expression exacte", -exclusion, OR
+     */
+    @Query(value = "SELECT p.id AS id, p.lieu AS lieu, p.description AS description, " +
+           "p.type_probleme AS \"typeProbleme\", ts_rank_cd(p.recherche, q)::float8 AS score " +
+           "FROM problemes p, websearch_to_tsquery('maville_fr', :texte) q " +
+           "WHERE p.recherche @@ q ORDER BY score DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM problemes p " +
+           "WHERE p.recherche @@ websearch_to_tsquery('maville_fr', :texte)",
+           nativeQuery = true)
+    Page<ProblemeSearchView> rechercher(@Param("texte") String texte, Pageable pageable);
 }
-
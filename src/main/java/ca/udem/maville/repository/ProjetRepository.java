@@ -2,6 +2,10 @@ package ca.udem.maville.repository;
 
 import ca.udem.maville.entity.ProjetEntity;
 import ca.udem.maville.modele.StatutProjet;
+import ca.udem.maville.repository.projection.ProjetListView;
+import ca.udem.maville.repository.projection.ProjetSearchView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -20,11 +24,36 @@ public interface ProjetRepository extends JpaRepository<ProjetEntity, Long> {
     @Query("SELECT p FROM ProjetEntity p WHERE p.prestataire.numeroEntreprise = :neq")
     List<ProjetEntity> findByPrestataireNeq(@Param("neq") String neq);
     
+    /**
+     * Projets de tous les prestataires, colonnes simples uniquement (travaux MaVille)
+     */
+    @Query("SELECT p.id AS id, p.descriptionProjet AS descriptionProjet, p.localisation AS localisation, " +
+           "p.statut AS statut, p.typeTravail AS typeTravail, p.dateDebutPrevue AS dateDebutPrevue, " +
+           "p.dateFinPrevue AS dateFinPrevue, p.cout AS cout FROM ProjetEntity p ORDER BY p.id")
+    List<ProjetListView> findAllViews();
+    
+    @Query("SELECT p.id AS id, p.descriptionProjet AS descriptionProjet, p.localisation AS localisation, " +
+           "p.statut AS statut, p.typeTravail AS typeTravail, p.dateDebutPrevue AS dateDebutPrevue, " +
+           "p.dateFinPrevue AS dateFinPrevue, p.cout AS cout FROM ProjetEntity p " +
+           "WHERE p.prestataire.numeroEntreprise = :neq ORDER BY p.id")
+    List<ProjetListView> findViewsByPrestataireNeq(@Param("neq") String neq);
+    
     @EntityGraph(attributePaths = {"prestataire", "problemes"})
     List<ProjetEntity> findByStatut(StatutProjet statut);
     
     @EntityGraph(attributePaths = {"prestataire", "problemes"})
     @Query("SELECT DISTINCT p FROM ProjetEntity p JOIN p.problemes pr WHERE pr.id = :problemeId")
     List<ProjetEntity> findByProblemeId(@Param("problemeId") Long problemeId);
+    
+    /**
+     * Recherche plein texte sur localisation (poids A) et description (poids B)
+     */
+    @Query(value = "SELECT p.id AS id, p.localisation AS localisation, " +
+           "p.description_projet AS \"descriptionProjet\", p.statut AS statut, ts_rank_cd(p.recherche, q)::float8 AS score " +
+           "FROM projets p, websearch_to_tsquery('maville_fr', :texte) q " +
+           "WHERE p.recherche @@ q ORDER BY score DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM projets p " +
+           "WHERE p.recherche @@ websearch_to_tsquery('maville_fr', :texte)",
+           nativeQuery = true)
+    Page<ProjetSearchView> rechercher(@Param("texte") String texte, Pageable pageable);
 }
-
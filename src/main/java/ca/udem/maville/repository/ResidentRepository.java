@@ -13,5 +13,10 @@ import java.util.Optional;
 public interface ResidentRepository extends JpaRepository<ResidentEntity, Long> {
     Optional<ResidentEntity> findByEmail(String email);
     boolean existsByEmail(String email);
+    
+    /**
+     * Vrai si la table contient au moins un résident (SELECT ... LIMIT 1)
+     */
+    boolean existsByIdIsNotNull();
 }
 
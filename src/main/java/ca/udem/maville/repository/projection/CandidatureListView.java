@@ -0,0 +1,13 @@
+package ca.udem.maville.repository.projection;
+
+import ca.udem.maville.modele.StatutCandidature;
+
+/**
+ * Projection de la liste des candidatures (sans les problèmes visés)
+ */
+public interface CandidatureListView {
+    Long getId();
+    String getPrestataire();
+    StatutCandidature getStatut();
+    String getDescriptionProjet();
+}
@@ -0,0 +1,15 @@
+package ca.udem.maville.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection des listes de notifications
+ */
+public interface NotificationListView {
+    Long getId();
+    String getMessage();
+    String getTypeChangement();
+    LocalDateTime getDateCreation();
+    boolean isLu();
+    Long getProjetId();
+}
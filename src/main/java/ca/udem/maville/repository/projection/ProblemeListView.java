@@ -0,0 +1,19 @@
+package ca.udem.maville.repository.projection;
+
+import ca.udem.maville.modele.Priorite;
+import ca.udem.maville.modele.TypeTravaux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection des listes de problèmes : colonnes affichées + nom du déclarant
+ */
+public interface ProblemeListView {
+    Long getId();
+    String getLieu();
+    String getDescription();
+    TypeTravaux getTypeProbleme();
+    Priorite getPriorite();
+    String getDeclarant();
+    LocalDateTime getDateSignalement();
+}
@@ -0,0 +1,12 @@
+package ca.udem.maville.repository.projection;
+
+/**
+ * Résultat de recherche plein texte sur les problèmes (requête native)
+ */
+public interface ProblemeSearchView {
+    Long getId();
+    String getLieu();
+    String getDescription();
+    String getTypeProbleme();
+    Double getScore();
+}
@@ -0,0 +1,20 @@
+package ca.udem.maville.repository.projection;
+
+import ca.udem.maville.modele.StatutProjet;
+import ca.udem.maville.modele.TypeTravaux;
+
+import java.time.LocalDate;
+
+/**
+ * Projection des listes de projets (projets d'un prestataire, travaux MaVille)
+ */
+public interface ProjetListView {
+    Long getId();
+    String getDescriptionProjet();
+    String getLocalisation();
+    StatutProjet getStatut();
+    TypeTravaux getTypeTravail();
+    LocalDate getDateDebutPrevue();
+    LocalDate getDateFinPrevue();
+    Double getCout();
+}
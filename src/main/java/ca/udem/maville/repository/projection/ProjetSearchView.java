@@ -0,0 +1,12 @@
+package ca.udem.maville.repository.projection;
+
+/**
+ * Résultat de recherche plein texte sur les projets (requête native)
+ */
+public interface ProjetSearchView {
+    Long getId();
+    String getLocalisation();
+    String getDescriptionProjet();
+    String getStatut();
+    Double getScore();
+}
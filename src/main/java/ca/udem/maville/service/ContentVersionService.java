@@ -0,0 +1,87 @@
+package ca.udem.maville.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version du contenu de chaque collection (problèmes, projets, candidatures, travaux Montréal)
+ * 
+ * Incrémentée à chaque écriture dans DatabaseStorageService (après le commit) et à chaque
+ * rafraîchissement des travaux de Montréal. Les contrôleurs en dérivent des ETags forts
+ * pour répondre 304 Not Modified sans interroger la base ni sérialiser.
+ * 
+ * Les versions sont propres à l'instance (comme les caches en mémoire) : l'époque aléatoire
+ * garantit qu'un ETag émis par une autre instance ou avant un redémarrage ne correspond jamais.
+ */
+@Service
+public class ContentVersionService {
+    public static final String PROBLEMES = "problemes";
+    public static final String PROJETS = "projets";
+    public static final String CANDIDATURES = "candidatures";
+    public static final String TRAVAUX_MONTREAL = "travauxMontreal";
+    
+    private final String epoque = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final long demarrage = System.currentTimeMillis();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Long> derniersChangements = new ConcurrentHashMap<>();
+    
+    /**
+     * Marque une collection comme modifiée
+     * Dans une transaction, l'incrément est différé après le commit pour qu'aucun lecteur
+     * n'associe la nouvelle version à des données pas encore visibles
+     */
+    public void incrementer(String collection) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementerMaintenant(collection);
+                }
+            });
+        } else {
+            incrementerMaintenant(collection);
+        }
+    }
+    
+    private void incrementerMaintenant(String collection) {
+        versions.computeIfAbsent(collection, k -> new AtomicLong()).incrementAndGet();
+        derniersChangements.put(collection, System.currentTimeMillis());
+    }
+    
+    public long version(String collection) {
+        AtomicLong version = versions.get(collection);
+        return version != null ? version.get() : 0L;
+    }
+    
+    /**
+     * Date (ms) du dernier changement parmi les collections, ou du démarrage si aucun
+     */
+    public long dernierChangement(String... collections) {
+        long max = demarrage;
+        for (String collection : collections) {
+            max = Math.max(max, derniersChangements.getOrDefault(collection, demarrage));
+        }
+        return max;
+    }
+    
+    /**
+     * ETag faible pour une vue : versions des collections + paramètres de la requête
+     * Faible car la même version est servie en JSON, CBOR ou Smile, compressée ou non
+     * @param vue Identifiant de la vue incluant ses paramètres (filtres, pagination)
+     * @param collections Collections dont dépend la vue
+     */
+    public String etag(String vue, String... collections) {
+        StringBuilder sb = new StringBuilder("W/\"").append(epoque);
+        for (String collection : collections) {
+            sb.append('-').append(version(collection));
+        }
+        sb.append('-').append(Integer.toHexString(vue.hashCode())).append('"');
+        return sb.toString();
+    }
+}
@@ -3,33 +3,44 @@ package ca.udem.maville.service;
 import ca.udem.maville.entity.*;
 import ca.udem.maville.modele.*;
 import ca.udem.maville.repository.*;
+import ca.udem.maville.repository.projection.*;
+import ca.udem.maville.service.search.SearchDocument;
+import ca.udem.maville.service.search.SearchIndexEvent;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Service de stockage utilisant PostgreSQL via Spring Data JPA
  * Remplace progressivement JsonStorage pour activer les transactions
+ * Chaque méthode appelée de l'extérieur est un span (DatabaseStorageService#methode)
  */
 @Service
 @Transactional
+@Observed(name = "maville.storage")
 public class DatabaseStorageService {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseStorageService.class);
     
@@ -57,7 +68,30 @@ public class DatabaseStorageService {
     @Autowired
     private PreferenceRepository preferenceRepository;
     
-    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private ContentVersionService contentVersions;
+    
+    // Index de recherche mis à jour après commit (voir SearchIndexUpdater)
+    @Autowired
+    private ApplicationEventPublisher evenements;
+    
+    @Value("${maville.notifications.retention-months:12}")
+    private int retentionNotificationsMois;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    // Coalescence des chargements concurrents lors d'un cache manquant (voir SingleFlight)
+    private final SingleFlight<String, List<ProblemeEntity>> chargementsProblemes = new SingleFlight<>("problemes");
+    private final SingleFlight<String, List<ProjetListView>> chargementsProjets = new SingleFlight<>("projets");
+    
+    /**
+     * Liste en cache, étiquetée avec la version de sa collection lue avant le chargement
+     */
+    private record EntreeVersionnee<T>(long version, T valeur) {}
     
     public ResidentEntity findOrCreateResident(String email, String prenom, String nom, 
                                                String telephone, String adresse) {
@@ -70,10 +104,19 @@ public class DatabaseStorageService {
         return residentRepository.save(resident);
     }
     
+    @Transactional(readOnly = true)
     public Optional<ResidentEntity> findResidentByEmail(String email) {
         return residentRepository.findByEmail(email);
     }
     
+    /**
+     * Référence (proxy non chargé) vers un résident déjà authentifié : aucun SELECT,
+     * suffisant pour l'associer à une nouvelle entité
+     */
+    public ResidentEntity referenceResident(@NonNull Long id) {
+        return residentRepository.getReferenceById(id);
+    }
+    
     
     public PrestataireEntity findOrCreatePrestataire(String numeroEntreprise, String nomEntreprise,
                                                      String contactNom, String telephone, String email) {
@@ -87,10 +130,18 @@ public class DatabaseStorageService {
         return prestataireRepository.save(prestataire);
     }
     
+    @Transactional(readOnly = true)
     public Optional<PrestataireEntity> findPrestataireByNeq(String neq) {
         return prestataireRepository.findByNumeroEntreprise(neq);
     }
     
+    /**
+     * Référence (proxy non chargé) vers un prestataire déjà authentifié
+     */
+    public PrestataireEntity referencePrestataire(@NonNull Long id) {
+        return prestataireRepository.getReferenceById(id);
+    }
+    
     
     /**
      * Vérifie si un mot de passe correspond au hash stocké
@@ -115,21 +166,28 @@ public class DatabaseStorageService {
     public ProblemeEntity createProbleme(String lieu, TypeTravaux typeProbleme, String description,
                                          ResidentEntity declarant, Priorite priorite) {
         ProblemeEntity probleme = new ProblemeEntity(lieu, typeProbleme, description, declarant, priorite);
-        return problemeRepository.save(probleme);
+        contentVersions.incrementer(ContentVersionService.PROBLEMES);
+        ProblemeEntity sauvegarde = problemeRepository.save(probleme);
+        evenements.publishEvent(new SearchIndexEvent.DocumentModifie(SearchDocument.from(sauvegarde)));
+        return sauvegarde;
     }
     
-    @Cacheable(value = "problemes", key = "'all'")
+    // SUPPORTS : les appelants en attente d'un chargement coalescé ne retiennent pas de connexion JDBC
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProblemeEntity> findAllProblemes() {
-        return problemeRepository.findAll();
+        return lireEnCache("problemes", "all", ContentVersionService.PROBLEMES,
+            chargementsProblemes, problemeRepository::findAll);
     }
     
-    @Cacheable(value = "problemes", key = "'nonResolus'")
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProblemeEntity> findNonResolus() {
-        return problemeRepository.findByResoluFalse();
+        return lireEnCache("problemes", "nonResolus", ContentVersionService.PROBLEMES,
+            chargementsProblemes, problemeRepository::findByResoluFalse);
     }
     
     // Cache avec clé composite incluant les filtres et pagination
     // Note: Le filtre quartier est fait en mémoire car la colonne lieu peut être de type bytea
+    @Transactional(readOnly = true)
     public Page<ProblemeEntity> findNonResolusWithFilters(String quartier, TypeTravaux type, 
                                                           int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
@@ -156,13 +214,55 @@ public class DatabaseStorageService {
         return pageResult;
     }
     
+    /**
+     * Même liste que findNonResolusWithFilters, en projection (colonnes affichées seulement)
+     */
+    @Transactional(readOnly = true)
+    public Page<ProblemeListView> findNonResolusViews(String quartier, TypeTravaux type, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProblemeListView> pageResult = problemeRepository.findNonResolusViews(type, pageable);
+        
+        // Même filtre quartier en mémoire que la version entité
+        if (quartier != null && !quartier.trim().isEmpty()) {
+            String quartierLower = quartier.toLowerCase().trim();
+            List<ProblemeListView> filtered = pageResult.getContent().stream()
+                .filter(p -> p.getLieu() != null && p.getLieu().toLowerCase().contains(quartierLower))
+                .collect(java.util.stream.Collectors.toList());
+            return new org.springframework.data.domain.PageImpl<>(filtered, pageable, filtered.size());
+        }
+        
+        return pageResult;
+    }
+    
+    /**
+     * Problèmes ouverts parmi les ids demandés, en une seule requête
+     * Les ids absents du résultat sont inexistants ou déjà résolus
+     */
+    @Transactional(readOnly = true)
+    public List<ProblemeEntity> findNonResolusByIds(java.util.Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return problemeRepository.findNonResolusByIdIn(ids);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ProblemeEntity> findPremierNonResolu() {
+        return problemeRepository.findFirstByResoluFalseOrderByIdAsc();
+    }
+    
+    @Transactional(readOnly = true)
     public Optional<ProblemeEntity> findProblemeById(@org.springframework.lang.NonNull Long id) {
         return problemeRepository.findById(id);
     }
     
     @Transactional
+    @CacheEvict(value = "problemes", allEntries = true)
     public ProblemeEntity updateProbleme(@org.springframework.lang.NonNull ProblemeEntity probleme) {
-        return problemeRepository.save(probleme);
+        contentVersions.incrementer(ContentVersionService.PROBLEMES);
+        ProblemeEntity sauvegarde = problemeRepository.save(probleme);
+        evenements.publishEvent(new SearchIndexEvent.DocumentModifie(SearchDocument.from(sauvegarde)));
+        return sauvegarde;
     }
     
     @Transactional
@@ -172,24 +272,28 @@ public class DatabaseStorageService {
                                                LocalDate dateDebutPrevue, LocalDate dateFinPrevue) {
         CandidatureEntity candidature = new CandidatureEntity(prestataire, problemes, descriptionProjet,
                                                              coutEstime, dateDebutPrevue, dateFinPrevue);
+        contentVersions.incrementer(ContentVersionService.CANDIDATURES);
         return candidatureRepository.save(candidature);
     }
     
+    @Transactional(readOnly = true)
     public List<CandidatureEntity> findAllCandidatures() {
         return candidatureRepository.findAll();
     }
     
-    public Page<CandidatureEntity> findAllCandidatures(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return candidatureRepository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public Page<CandidatureListView> findCandidatureViews(int page, int size) {
+        return candidatureRepository.findAllViews(PageRequest.of(page, size));
     }
     
+    @Transactional(readOnly = true)
     public Optional<CandidatureEntity> findCandidatureById(@org.springframework.lang.NonNull Long id) {
         return candidatureRepository.findById(id);
     }
     
     @Transactional
     public CandidatureEntity updateCandidature(@org.springframework.lang.NonNull CandidatureEntity candidature) {
+        contentVersions.incrementer(ContentVersionService.CANDIDATURES);
         return candidatureRepository.save(candidature);
     }
     
@@ -199,27 +303,62 @@ public class DatabaseStorageService {
     public ProjetEntity createProjet(CandidatureEntity candidature, List<ProblemeEntity> problemes,
                                      PrestataireEntity prestataire) {
         ProjetEntity projet = new ProjetEntity(candidature, problemes, prestataire);
-        return projetRepository.save(projet);
+        contentVersions.incrementer(ContentVersionService.PROJETS);
+        ProjetEntity sauvegarde = projetRepository.save(projet);
+        evenements.publishEvent(new SearchIndexEvent.DocumentModifie(SearchDocument.from(sauvegarde)));
+        return sauvegarde;
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProjetListView> findAllProjets() {
+        return lireEnCache("projets", "all", ContentVersionService.PROJETS,
+            chargementsProjets, projetRepository::findAllViews);
     }
     
-    @Cacheable(value = "projets", key = "'all'")
-    public List<ProjetEntity> findAllProjets() {
-        return projetRepository.findAll();
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProjetListView> findProjetsByPrestataire(String neq) {
+        return lireEnCache("projets", "neq:" + neq, ContentVersionService.PROJETS,
+            chargementsProjets, () -> projetRepository.findViewsByPrestataireNeq(neq));
     }
     
-    @Cacheable(value = "projets", key = "#neq")
-    public List<ProjetEntity> findProjetsByPrestataire(String neq) {
-        return projetRepository.findByPrestataireNeq(neq);
+    /**
+     * Lecture en cache d'une liste chargée par single-flight
+     * 
+     * Un appelant qui rejoint un chargement commencé avant une écriture reçoit l'ancien état, et
+     * l'écriture (@CacheEvict) peut avoir vidé le cache avant que ce chargement ne s'y inscrive.
+     * L'entrée porte donc la version de la collection lue avant la requête : une version dépassée
+     * (incrémentée après le commit, voir ContentVersionService) est traitée comme un cache manquant.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T lireEnCache(String nomCache, String cle, String collection,
+                              SingleFlight<String, T> chargements, Supplier<T> requete) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(nomCache), nomCache);
+        Cache.ValueWrapper present = cache.get(cle);
+        if (present != null && present.get() instanceof EntreeVersionnee<?> entree
+                && entree.version() == contentVersions.version(collection)) {
+            return (T) entree.valeur();
+        }
+        return chargements.executer(cle, () -> {
+            long version = contentVersions.version(collection);
+            T valeur = requete.get();
+            cache.put(cle, new EntreeVersionnee<>(version, valeur));
+            return valeur;
+        });
     }
     
+    @Transactional(readOnly = true)
     public Optional<ProjetEntity> findProjetById(@org.springframework.lang.NonNull Long id) {
         return projetRepository.findById(id);
     }
     
     @Transactional
+    @CacheEvict(value = "projets", allEntries = true)
     public ProjetEntity updateProjet(ProjetEntity projet) {
         projet.setDerniereMiseAJour(LocalDateTime.now());
-        return projetRepository.save(projet);
+        contentVersions.incrementer(ContentVersionService.PROJETS);
+        ProjetEntity sauvegarde = projetRepository.save(projet);
+        evenements.publishEvent(new SearchIndexEvent.DocumentModifie(SearchDocument.from(sauvegarde)));
+        return sauvegarde;
     }
     
     
@@ -276,18 +415,42 @@ public class DatabaseStorageService {
         return notificationRepository.save(notification);
     }
     
+    @Transactional(readOnly = true)
     public List<NotificationEntity> findNotificationsByResident(String email) {
         return notificationRepository.findByResidentEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public List<NotificationEntity> findStpmNotifications() {
         return notificationRepository.findStpmNotifications();
     }
     
+    @Transactional(readOnly = true)
     public List<NotificationEntity> findPrestataireNotifications(String neq) {
         return notificationRepository.findPrestataireNotifications(neq);
     }
     
+    @Transactional(readOnly = true)
+    public List<NotificationListView> findNotificationViewsByResident(String email) {
+        return notificationRepository.findViewsByResidentEmail(email, debutFenetreNotifications());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationListView> findStpmNotificationViews() {
+        return notificationRepository.findStpmNotificationViews(debutFenetreNotifications());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationListView> findPrestataireNotificationViews(String neq) {
+        return notificationRepository.findPrestataireNotificationViews(neq, debutFenetreNotifications());
+    }
+    
+    // Fenêtre = rétention (premier jour du plus ancien mois conservé par NotificationPartitionManager) :
+    // tout ce qui est stocké reste listable, et PostgreSQL ignore les partitions hors rétention
+    private LocalDateTime debutFenetreNotifications() {
+        return YearMonth.now().minusMonths(retentionNotificationsMois).atDay(1).atStartOfDay();
+    }
+    
     @Transactional
     public void markNotificationsAsRead(List<Long> notificationIds) {
         notificationIds.forEach(id -> {
@@ -364,10 +527,12 @@ public class DatabaseStorageService {
         return abonnementRepository.save(abonnement);
     }
     
+    @Transactional(readOnly = true)
     public List<AbonnementEntity> findAbonnementsByResident(String email) {
         return abonnementRepository.findByResidentEmail(email);
     }
     
+    @Transactional(readOnly = true)
     public List<AbonnementEntity> findAbonnementsByTypeAndValeur(String type, String valeur) {
         return abonnementRepository.findByTypeAndValeur(type, valeur);
     }
@@ -447,76 +612,55 @@ public class DatabaseStorageService {
     }
     
     
+    /**
+     * Vide les listes en cache (problèmes, projets, candidatures)
+     * 
+     * Appelé par StartupTasks une fois initializeWithSampleData() validée : une requête servie pendant
+     * l'initialisation en arrière-plan a pu mettre en cache une liste vide, jamais expirée sinon.
+     * Non fait par initializeWithSampleData() elle-même : l'éviction pourrait précéder le commit.
+     */
+    @CacheEvict(value = {"problemes", "projets", "candidatures"}, allEntries = true)
+    public void viderCachesListes() {
+        logger.debug("Caches problemes, projets et candidatures vidés");
+    }
+    
     /**
      * Initialise la base de données avec des données de test si elle est vide
      */
     @Transactional
     public void initializeWithSampleData() {
-        // Vérifier si la base contient déjà des données
-        if (!residentRepository.findAll().isEmpty()) {
+        // EXISTS (LIMIT 1) : pas de chargement de la table pour savoir si elle est vide
+        if (residentRepository.existsByIdIsNotNull()) {
             logger.debug("Database already initialized, skipping initialization");
             return;
         }
         
         logger.info("Initializing database with realistic sample data...");
+        long debut = System.currentTimeMillis();
         
-        ResidentEntity resident1 = findOrCreateResident("marie@test.com", "Marie", "Dupont", "514-123-4567", "123 Rue Saint-Denis, Plateau-Mont-Royal");
-        if (resident1.getPasswordHash() == null) {
-            resident1.setPasswordHash(hashPassword("password123"));
-            residentRepository.save(resident1);
-        }
-        
-        ResidentEntity resident2 = findOrCreateResident("jean@test.com", "Jean", "Martin", "514-234-5678", "456 Avenue du Parc, Villeray");
-        if (resident2.getPasswordHash() == null) {
-            resident2.setPasswordHash(hashPassword("password123"));
-            residentRepository.save(resident2);
-        }
-        
-        ResidentEntity resident3 = findOrCreateResident("sophie.tremblay@gmail.com", "Sophie", "Tremblay", "514-345-6789", "789 Boulevard Saint-Laurent, Rosemont");
-        if (resident3.getPasswordHash() == null) {
-            resident3.setPasswordHash(hashPassword("password123"));
-            residentRepository.save(resident3);
-        }
+        // Même mot de passe pour tous les comptes de démonstration : un seul hash BCrypt
+        String motDePasse = hashPassword("password123");
         
-        ResidentEntity resident4 = findOrCreateResident("luc.gagnon@outlook.com", "Luc", "Gagnon", "514-456-7890", "321 Rue Sherbrooke, Ville-Marie");
-        if (resident4.getPasswordHash() == null) {
-            resident4.setPasswordHash(hashPassword("password123"));
-            residentRepository.save(resident4);
-        }
+        ResidentEntity resident1 = new ResidentEntity("Marie", "Dupont", "marie@test.com", "514-123-4567", "123 Rue Saint-Denis, Plateau-Mont-Royal");
+        ResidentEntity resident2 = new ResidentEntity("Jean", "Martin", "jean@test.com", "514-234-5678", "456 Avenue du Parc, Villeray");
+        ResidentEntity resident3 = new ResidentEntity("Sophie", "Tremblay", "sophie.tremblay@gmail.com", "514-345-6789", "789 Boulevard Saint-Laurent, Rosemont");
+        ResidentEntity resident4 = new ResidentEntity("Luc", "Gagnon", "luc.gagnon@outlook.com", "514-456-7890", "321 Rue Sherbrooke, Ville-Marie");
+        ResidentEntity resident5 = new ResidentEntity("Amélie", "Roy", "amelie.roy@yahoo.ca", "514-567-8901", "654 Avenue Mont-Royal, Le Plateau");
+        List<ResidentEntity> residents = List.of(resident1, resident2, resident3, resident4, resident5);
+        residents.forEach(r -> r.setPasswordHash(motDePasse));
+        residentRepository.saveAll(residents);
         
-        ResidentEntity resident5 = findOrCreateResident("amelie.roy@yahoo.ca", "Amélie", "Roy", "514-567-8901", "654 Avenue Mont-Royal, Le Plateau");
-        if (resident5.getPasswordHash() == null) {
-            resident5.setPasswordHash(hashPassword("password123"));
-            residentRepository.save(resident5);
-        }
-        
-        PrestataireEntity prestataire1 = findOrCreatePrestataire("ABC123", "Construction ABC Inc.", "Pierre Lavoie", "514-345-6789", "contact@abc.com");
-        if (prestataire1.getPasswordHash() == null) {
-            prestataire1.setPasswordHash(hashPassword("password123"));
-            prestataireRepository.save(prestataire1);
-        }
-        
-        PrestataireEntity prestataire2 = findOrCreatePrestataire("XYZ789", "Pavage XYZ Ltée", "Isabelle Côté", "514-456-7890", "contact@xyz.com");
-        if (prestataire2.getPasswordHash() == null) {
-            prestataire2.setPasswordHash(hashPassword("password123"));
-            prestataireRepository.save(prestataire2);
-        }
-        
-        PrestataireEntity prestataire3 = findOrCreatePrestataire("MTL456", "Électricité Montréal Pro", "Marc Dubois", "514-678-9012", "info@mtlpro.ca");
-        if (prestataire3.getPasswordHash() == null) {
-            prestataire3.setPasswordHash(hashPassword("password123"));
-            prestataireRepository.save(prestataire3);
-        }
-        
-        PrestataireEntity prestataire4 = findOrCreatePrestataire("QC2024", "Plomberie Québec Expert", "Nathalie Bergeron", "514-789-0123", "service@qcexpert.com");
-        if (prestataire4.getPasswordHash() == null) {
-            prestataire4.setPasswordHash(hashPassword("password123"));
-            prestataireRepository.save(prestataire4);
-        }
+        PrestataireEntity prestataire1 = new PrestataireEntity("ABC123", "Construction ABC Inc.", "Pierre Lavoie", "514-345-6789", "contact@abc.com");
+        PrestataireEntity prestataire2 = new PrestataireEntity("XYZ789", "Pavage XYZ Ltée", "Isabelle Côté", "514-456-7890", "contact@xyz.com");
+        PrestataireEntity prestataire3 = new PrestataireEntity("MTL456", "Électricité Montréal Pro", "Marc Dubois", "514-678-9012", "info@mtlpro.ca");
+        PrestataireEntity prestataire4 = new PrestataireEntity("QC2024", "Plomberie Québec Expert", "Nathalie Bergeron", "514-789-0123", "service@qcexpert.com");
+        List<PrestataireEntity> prestataires = List.of(prestataire1, prestataire2, prestataire3, prestataire4);
+        prestataires.forEach(p -> p.setPasswordHash(motDePasse));
+        prestataireRepository.saveAll(prestataires);
         
         
         // High priority problems
-        ProblemeEntity prob1 = createProbleme(
+        ProblemeEntity prob1 = new ProblemeEntity(
             "123 Rue Saint-Denis, Plateau-Mont-Royal",
             TypeTravaux.ENTRETIEN_URBAIN,
             "Large pothole causing vehicle damage. Urgent repair needed.",
@@ -524,7 +668,7 @@ public class DatabaseStorageService {
             Priorite.ELEVEE
         );
         
-        ProblemeEntity prob2 = createProbleme(
+        ProblemeEntity prob2 = new ProblemeEntity(
             "456 Avenue du Parc, Villeray",
             TypeTravaux.TRAVAUX_ROUTIERS,
             "Missing stop sign at busy intersection. Safety hazard.",
@@ -532,7 +676,7 @@ public class DatabaseStorageService {
             Priorite.ELEVEE
         );
         
-        ProblemeEntity prob3 = createProbleme(
+        ProblemeEntity prob3 = new ProblemeEntity(
             "789 Boulevard Saint-Laurent, Rosemont",
             TypeTravaux.TRAVAUX_GAZ_ELECTRICITE,
             "Gas leak detected near residential building. Immediate attention required.",
@@ -541,7 +685,7 @@ public class DatabaseStorageService {
         );
         
         // Medium priority problems
-        ProblemeEntity prob4 = createProbleme(
+        ProblemeEntity prob4 = new ProblemeEntity(
             "321 Rue Sherbrooke, Ville-Marie",
             TypeTravaux.TRAVAUX_SIGNALISATION_ECLAIRAGE,
             "Street lights not working for 3 blocks. Poor visibility at night.",
@@ -549,7 +693,7 @@ public class DatabaseStorageService {
             Priorite.MOYENNE
         );
         
-        ProblemeEntity prob5 = createProbleme(
+        ProblemeEntity prob5 = new ProblemeEntity(
             "654 Avenue Mont-Royal, Le Plateau",
             TypeTravaux.ENTRETIEN_PAYSAGER,
             "Overgrown trees blocking sidewalk and street signs.",
@@ -557,7 +701,7 @@ public class DatabaseStorageService {
             Priorite.MOYENNE
         );
         
-        ProblemeEntity prob6 = createProbleme(
+        ProblemeEntity prob6 = new ProblemeEntity(
             "987 Rue Ontario, Hochelaga",
             TypeTravaux.TRAVAUX_SOUTERRAINS,
             "Sewer backup causing flooding in basement. Water damage ongoing.",
@@ -565,7 +709,7 @@ public class DatabaseStorageService {
             Priorite.MOYENNE
         );
         
-        ProblemeEntity prob7 = createProbleme(
+        ProblemeEntity prob7 = new ProblemeEntity(
             "234 Avenue Papineau, Centre-Sud",
             TypeTravaux.TRAVAUX_TRANSPORTS_COMMUN,
             "Bus shelter damaged and glass shattered. Unsafe for commuters.",
@@ -574,7 +718,7 @@ public class DatabaseStorageService {
         );
         
         // Low priority problems
-        ProblemeEntity prob8 = createProbleme(
+        ProblemeEntity prob8 = new ProblemeEntity(
             "567 Rue Sainte-Catherine, Downtown",
             TypeTravaux.ENTRETIEN_URBAIN,
             "Graffiti on public wall. Aesthetic improvement needed.",
@@ -582,7 +726,7 @@ public class DatabaseStorageService {
             Priorite.FAIBLE
         );
         
-        ProblemeEntity prob9 = createProbleme(
+        ProblemeEntity prob9 = new ProblemeEntity(
             "890 Boulevard René-Lévesque, Griffintown",
             TypeTravaux.CONSTRUCTION_RENOVATION,
             "Sidewalk uneven but passable. Minor repair recommended.",
@@ -590,13 +734,15 @@ public class DatabaseStorageService {
             Priorite.FAIBLE
         );
         
-        ProblemeEntity prob10 = createProbleme(
+        ProblemeEntity prob10 = new ProblemeEntity(
             "111 Rue Beaubien, Rosemont",
             TypeTravaux.ENTRETIEN_RESEAUX_TELECOM,
             "Loose telecom cables hanging low. Not urgent but should be secured.",
             resident5,
             Priorite.FAIBLE
         );
+        List<ProblemeEntity> problemes = List.of(prob1, prob2, prob3, prob4, prob5, prob6, prob7, prob8, prob9, prob10);
+        problemeRepository.saveAll(problemes);
         
         
         // Application for problem 1 (approved)
@@ -609,7 +755,6 @@ public class DatabaseStorageService {
         cand1.setDateDebutPrevue(LocalDate.now().plusDays(5));
         cand1.setDateFinPrevue(LocalDate.now().plusDays(7));
         cand1.setStatut(StatutCandidature.APPROUVEE);
-        candidatureRepository.save(cand1);
         
         // Application for problem 2 (submitted)
         CandidatureEntity cand2 = new CandidatureEntity();
@@ -621,7 +766,6 @@ public class DatabaseStorageService {
         cand2.setDateDebutPrevue(LocalDate.now().plusDays(3));
         cand2.setDateFinPrevue(LocalDate.now().plusDays(4));
         cand2.setStatut(StatutCandidature.SOUMISE);
-        candidatureRepository.save(cand2);
         
         // Application for problem 3 (approved)
         CandidatureEntity cand3 = new CandidatureEntity();
@@ -633,7 +777,6 @@ public class DatabaseStorageService {
         cand3.setDateDebutPrevue(LocalDate.now().plusDays(1));
         cand3.setDateFinPrevue(LocalDate.now().plusDays(2));
         cand3.setStatut(StatutCandidature.APPROUVEE);
-        candidatureRepository.save(cand3);
         
         // Application for problem 4 (submitted)
         CandidatureEntity cand4 = new CandidatureEntity();
@@ -645,7 +788,8 @@ public class DatabaseStorageService {
         cand4.setDateDebutPrevue(LocalDate.now().plusDays(10));
         cand4.setDateFinPrevue(LocalDate.now().plusDays(15));
         cand4.setStatut(StatutCandidature.SOUMISE);
-        candidatureRepository.save(cand4);
+        List<CandidatureEntity> candidatures = List.of(cand1, cand2, cand3, cand4);
+        candidatureRepository.saveAll(candidatures);
         
         
         // Project 1: In progress (from approved application)
@@ -664,7 +808,6 @@ public class DatabaseStorageService {
         projet1.setDateDebutReelle(LocalDate.now().plusDays(5));
         projet1.setStatut(StatutProjet.EN_COURS);
         projet1.setNombreRapports(0);
-        projetRepository.save(projet1);
         
         // Project 2: Approved, not started yet
         ProjetEntity projet2 = new ProjetEntity();
@@ -681,11 +824,16 @@ public class DatabaseStorageService {
         projet2.setDateFinPrevue(LocalDate.now().plusDays(2));
         projet2.setStatut(StatutProjet.APPROUVE);
         projet2.setNombreRapports(0);
-        projetRepository.save(projet2);
+        List<ProjetEntity> projets = List.of(projet1, projet2);
+        projetRepository.saveAll(projets);
         
-        logger.info("Realistic sample data initialized: {} residents, {} service providers, {} problems, {} applications, {} projects",
-            residentRepository.count(), prestataireRepository.count(), problemeRepository.count(), 
-            candidatureRepository.count(), projetRepository.count());
+        contentVersions.incrementer(ContentVersionService.PROBLEMES);
+        contentVersions.incrementer(ContentVersionService.CANDIDATURES);
+        contentVersions.incrementer(ContentVersionService.PROJETS);
+        evenements.publishEvent(new SearchIndexEvent.Reconstruction());
+        
+        logger.info("Realistic sample data initialized in {} ms: {} residents, {} service providers, {} problems, {} applications, {} projects",
+            System.currentTimeMillis() - debut, residents.size(), prestataires.size(), problemes.size(),
+            candidatures.size(), projets.size());
     }
 }
-
@@ -0,0 +1,74 @@
+package ca.udem.maville.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+
+/**
+ * Prépare la recherche plein texte PostgreSQL (idempotent, exécuté au démarrage)
+ * 
+ * - configuration maville_fr : racinisation française + unaccent (recherche insensible aux accents)
+ * - colonnes tsvector générées (STORED) sur problemes et projets : maintenues par PostgreSQL à chaque écriture
+ * - index GIN sur ces colonnes
+ */
+@Service
+public class FullTextSearchSetup {
+    private static final Logger logger = LoggerFactory.getLogger(FullTextSearchSetup.class);
+    
+    public static final String CONFIGURATION = "maville_fr";
+    
+    private final JdbcTemplate jdbc;
+    private volatile boolean disponible = false;
+    
+    public FullTextSearchSetup(DataSource dataSource,
+                               EntityManagerFactory entityManagerFactory) { // tables créées par Hibernate avant
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+    
+    @PostConstruct
+    public void initialiser() {
+        try {
+            String produit = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(produit)) {
+                logger.info("Recherche plein texte non disponible (base {})", produit);
+                return;
+            }
+            
+            jdbc.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            Boolean configurationExiste = jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = ?)", Boolean.class, CONFIGURATION);
+            if (!Boolean.TRUE.equals(configurationExiste)) {
+                jdbc.execute("CREATE TEXT SEARCH CONFIGURATION " + CONFIGURATION + " (COPY = french)");
+                jdbc.execute("ALTER TEXT SEARCH CONFIGURATION " + CONFIGURATION +
+                             " ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem");
+            }
+            
+            // Lieu / localisation pèsent plus que la description (poids A vs B)
+            ajouterColonneRecherche("problemes", "lieu", "description");
+            ajouterColonneRecherche("projets", "localisation", "description_projet");
+            
+            disponible = true;
+            logger.info("Recherche plein texte prête (configuration {})", CONFIGURATION);
+        } catch (Exception e) {
+            logger.warn("Recherche plein texte non initialisée: {}", e.getMessage());
+        }
+    }
+    
+    private void ajouterColonneRecherche(String table, String colonneA, String colonneB) {
+        jdbc.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS recherche tsvector " +
+                     "GENERATED ALWAYS AS (" +
+                     "setweight(to_tsvector('" + CONFIGURATION + "', coalesce(" + colonneA + ", '')), 'A') || " +
+                     "setweight(to_tsvector('" + CONFIGURATION + "', coalesce(" + colonneB + ", '')), 'B')) STORED");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_recherche ON " + table + " USING GIN (recherche)");
+    }
+    
+    public boolean estDisponible() {
+        return disponible;
+    }
+}
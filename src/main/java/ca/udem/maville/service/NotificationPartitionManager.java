@@ -0,0 +1,191 @@
+package ca.udem.maville.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partitionnement mensuel de la table notifications (PostgreSQL, RANGE sur date_creation)
+ * 
+ * - Au démarrage (après la mise à jour du schéma par Hibernate), convertit la table si elle
+ *   n'est pas encore partitionnée : clé primaire (id, date_creation), séquence dédiée.
+ *   Toute la conversion est une seule transaction (DDL transactionnel de PostgreSQL) : en cas
+ *   d'échec, la table d'origine reste intacte
+ * - Chaque nuit, crée les partitions des mois à venir et détache/supprime celles qui sortent
+ *   de la rétention : la purge devient une opération de métadonnées au lieu d'un DELETE massif
+ * 
+ * Désactivé sur les rôles "api" et "streaming" : seul le rôle "worker" convertit et maintient la table.
+ */
+@Service
+@ConditionalOnProperty(name = "maville.notifications.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationPartitionManager {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPartitionManager.class);
+    
+    private static final String TABLE = "notifications";
+    private static final Pattern NOM_PARTITION = Pattern.compile("^notifications_p(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter SUFFIXE = DateTimeFormatter.ofPattern("yyyy_MM");
+    // Verrou consultatif : une seule instance convertit / maintient les partitions à la fois
+    private static final long VERROU = 0x4d56_4e4f_5449_4650L;
+    
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transaction;
+    private final int moisAvance;
+    private final int retentionMois;
+    
+    public NotificationPartitionManager(DataSource dataSource,
+                                        EntityManagerFactory entityManagerFactory, // schéma Hibernate créé avant
+                                        @Value("${maville.notifications.partitioning.months-ahead:3}") int moisAvance,
+                                        @Value("${maville.notifications.retention-months:12}") int retentionMois) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        // Gestionnaire JDBC sur la même source que jdbc : verrou, renommage, copie et suppression
+        // s'exécutent sur une seule connexion, dans une seule transaction
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.moisAvance = moisAvance;
+        this.retentionMois = retentionMois;
+    }
+    
+    @PostConstruct
+    public void initialiser() {
+        try {
+            if (!estPostgres() || !tableExiste()) {
+                logger.info("Partitionnement des notifications ignoré (base non PostgreSQL ou table absente)");
+                return;
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbc.execute("SELECT pg_advisory_xact_lock(" + VERROU + ")");
+                if (!estPartitionnee()) {
+                    convertir();
+                }
+                creerPartitionsAVenir();
+            });
+        } catch (Exception e) {
+            logger.error("Échec de la mise en place du partitionnement des notifications (table inchangée)", e);
+        }
+    }
+    
+    /**
+     * Maintenance quotidienne : partitions futures et purge au-delà de la rétention
+     */
+    @Scheduled(cron = "${maville.notifications.partitioning.cron:0 15 3 * * *}")
+    public void maintenir() {
+        try {
+            if (!estPostgres() || !tableExiste() || !estPartitionnee()) {
+                return;
+            }
+            transaction.executeWithoutResult(status -> {
+                jdbc.execute("SELECT pg_advisory_xact_lock(" + VERROU + ")");
+                creerPartitionsAVenir();
+                purgerPartitionsExpirees();
+            });
+        } catch (Exception e) {
+            logger.error("Échec de la maintenance des partitions de notifications", e);
+        }
+    }
+    
+    private void convertir() {
+        logger.info("Conversion de la table {} en table partitionnée par mois", TABLE);
+        jdbc.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+        // date_creation devient la clé de partitionnement (et de la clé primaire) : la colonne
+        // pouvait être nulle dans les anciens schémas
+        int sansDate = jdbc.update("UPDATE " + TABLE + " SET date_creation = now() " +
+                                   "WHERE date_creation IS NULL");
+        if (sansDate > 0) {
+            logger.warn("{} notification(s) sans date_creation, datée(s) du moment de la conversion", sansDate);
+        }
+        jdbc.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_legacy");
+        
+        // LIKE recopie colonnes, types, NOT NULL et défauts (pas l'identité ni la clé primaire)
+        jdbc.execute("CREATE TABLE " + TABLE + " (LIKE " + TABLE + "_legacy INCLUDING DEFAULTS) " +
+                     "PARTITION BY RANGE (date_creation)");
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + TABLE + "_part_id_seq");
+        jdbc.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + TABLE + "_part_id_seq')");
+        jdbc.execute("ALTER SEQUENCE " + TABLE + "_part_id_seq OWNED BY " + TABLE + ".id");
+        jdbc.execute("ALTER TABLE " + TABLE + " ALTER COLUMN date_creation SET NOT NULL");
+        jdbc.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, date_creation)");
+        jdbc.execute("CREATE TABLE " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+        
+        // Partitions couvrant les données existantes
+        LocalDate plusAncienne = jdbc.queryForObject(
+            "SELECT MIN(date_creation)::date FROM " + TABLE + "_legacy", LocalDate.class);
+        YearMonth debut = plusAncienne != null ? YearMonth.from(plusAncienne) : YearMonth.now();
+        for (YearMonth mois = debut; !mois.isAfter(YearMonth.now()); mois = mois.plusMonths(1)) {
+            creerPartition(mois);
+        }
+        
+        jdbc.execute("INSERT INTO " + TABLE + " SELECT * FROM " + TABLE + "_legacy");
+        jdbc.execute("SELECT setval('" + TABLE + "_part_id_seq', " +
+                     "COALESCE((SELECT MAX(id) FROM " + TABLE + "_legacy), 0) + 1, false)");
+        jdbc.execute("DROP TABLE " + TABLE + "_legacy");
+        
+        // Index partitionnés pour les listes par destinataire (tri par date décroissante)
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_notifications_destinataire_date ON " + TABLE +
+                     " (type_destinataire, destinataire, date_creation DESC)");
+        jdbc.execute("CREATE INDEX IF NOT EXISTS idx_notifications_resident_date ON " + TABLE +
+                     " (resident_email, date_creation DESC)");
+        logger.info("Table {} partitionnée", TABLE);
+    }
+    
+    private void creerPartitionsAVenir() {
+        YearMonth courant = YearMonth.now();
+        for (int i = 0; i <= moisAvance; i++) {
+            creerPartition(courant.plusMonths(i));
+        }
+    }
+    
+    private void creerPartition(YearMonth mois) {
+        String nom = TABLE + "_p" + mois.format(SUFFIXE);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + nom + " PARTITION OF " + TABLE +
+                     " FOR VALUES FROM ('" + mois.atDay(1) + "') TO ('" + mois.plusMonths(1).atDay(1) + "')");
+    }
+    
+    private void purgerPartitionsExpirees() {
+        YearMonth limite = YearMonth.now().minusMonths(retentionMois);
+        List<String> partitions = jdbc.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?", String.class, TABLE);
+        for (String partition : partitions) {
+            Matcher m = NOM_PARTITION.matcher(partition);
+            if (m.matches()) {
+                YearMonth mois = YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+                if (mois.isBefore(limite)) {
+                    jdbc.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                    jdbc.execute("DROP TABLE " + partition);
+                    logger.info("Partition {} détachée et supprimée (rétention: {} mois)", partition, retentionMois);
+                }
+            }
+        }
+    }
+    
+    private boolean estPostgres() {
+        String produit = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(produit);
+    }
+    
+    private boolean tableExiste() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+            "SELECT to_regclass(?) IS NOT NULL", Boolean.class, TABLE));
+    }
+    
+    private boolean estPartitionnee() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+            "WHERE c.oid = to_regclass(?))", Boolean.class, TABLE));
+    }
+}
@@ -0,0 +1,116 @@
+package ca.udem.maville.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalescence des appels concurrents identiques ("single-flight")
+ * 
+ * Quand plusieurs requêtes ratent le cache en même temps pour la même clé, une seule
+ * exécute le calcul ; les autres attendent et reçoivent le même résultat (ou la même exception).
+ * Évite l'effet "thundering herd" sur l'API Montréal et les findAll() de la base.
+ * 
+ * Compteurs maville.singleflight.calls{name, result=executed|coalesced}, enregistrés dans le
+ * registre global de Micrometer : les instances des beans @Lazy naissent après la liaison des
+ * MeterBinder, et Spring Boot y rattache ses registres (Prometheus compris).
+ */
+public class SingleFlight<K, V> {
+    private static final List<SingleFlight<?, ?>> INSTANCES = new CopyOnWriteArrayList<>();
+    
+    private final String nom;
+    private final Map<K, CompletableFuture<V>> enCours = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesces = new AtomicLong();
+    
+    public SingleFlight(String nom) {
+        this.nom = nom;
+        INSTANCES.add(this);
+        FunctionCounter.builder("maville.singleflight.calls", executions, AtomicLong::get)
+            .description("Calculs exécutés ou coalescés par clé")
+            .tag("name", nom)
+            .tag("result", "executed")
+            .register(Metrics.globalRegistry);
+        FunctionCounter.builder("maville.singleflight.calls", coalesces, AtomicLong::get)
+            .description("Calculs exécutés ou coalescés par clé")
+            .tag("name", nom)
+            .tag("result", "coalesced")
+            .register(Metrics.globalRegistry);
+    }
+    
+    /**
+     * Exécute le calcul pour la clé, ou attend celui déjà en cours pour cette clé
+     */
+    public V executer(K cle, Supplier<V> calcul) {
+        CompletableFuture<V> nouveau = new CompletableFuture<>();
+        CompletableFuture<V> existant = enCours.putIfAbsent(cle, nouveau);
+        if (existant != null) {
+            coalesces.incrementAndGet();
+            return attendre(existant);
+        }
+        
+        executions.incrementAndGet();
+        try {
+            V resultat = calcul.get();
+            nouveau.complete(resultat);
+            return resultat;
+        } catch (RuntimeException | Error e) {
+            nouveau.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCours.remove(cle, nouveau);
+        }
+    }
+    
+    private V attendre(CompletableFuture<V> calcul) {
+        try {
+            return calcul.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    
+    public String getNom() { return nom; }
+    
+    /** Nombre de calculs réellement exécutés */
+    public long getExecutions() { return executions.get(); }
+    
+    /** Nombre d'appels servis par un calcul déjà en cours */
+    public long getCoalesces() { return coalesces.get(); }
+    
+    /**
+     * Statistiques de toutes les instances, par nom
+     */
+    public static Map<String, Map<String, Long>> statistiques() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (SingleFlight<?, ?> instance : INSTANCES) {
+            stats.put(instance.nom, Map.of(
+                "executions", instance.getExecutions(),
+                "coalesces", instance.getCoalesces()
+            ));
+        }
+        return stats;
+    }
+    
+    /**
+     * Toutes les instances créées (pour l'exposition des métriques)
+     */
+    public static List<SingleFlight<?, ?>> instances() {
+        return List.copyOf(INSTANCES);
+    }
+}
@@ -0,0 +1,156 @@
+package ca.udem.maville.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Compte les requêtes SQL émises par Hibernate pour la requête HTTP en cours
+ * 
+ * Enregistré via hibernate.session_factory.statement_inspector : Hibernate l'instancie
+ * lui-même, d'où l'état statique. Le compteur est attaché au thread de la requête
+ * (les lectures déportées sur jdbc-bridge ou un autre thread ne sont pas comptées).
+ */
+public class SqlStatementCounter implements StatementInspector {
+    
+    private static final ThreadLocal<Mesure> MESURE = new ThreadLocal<>();
+    private static final Map<String, Statistique> STATISTIQUES = new ConcurrentHashMap<>();
+    
+    @Override
+    public String inspect(String sql) {
+        Mesure mesure = MESURE.get();
+        if (mesure != null) {
+            mesure.requetes++;
+            if (mesure.strict && mesure.budget >= 0 && mesure.requetes > mesure.budget) {
+                throw new QueryBudgetExceededException(mesure.endpoint, mesure.budget, mesure.requetes, sql);
+            }
+        }
+        return sql;
+    }
+    
+    /**
+     * Démarre le comptage pour le thread courant
+     * @param budget Nombre maximal de requêtes attendu (-1 : aucun budget)
+     * @param strict Si vrai, la requête SQL qui dépasse le budget échoue
+     */
+    public static void demarrer(String endpoint, int budget, boolean strict) {
+        MESURE.set(new Mesure(endpoint, budget, strict));
+    }
+    
+    /**
+     * Nombre de requêtes émises depuis demarrer(), ou 0 si aucun comptage en cours
+     */
+    public static int compteCourant() {
+        Mesure mesure = MESURE.get();
+        return mesure != null ? mesure.requetes : 0;
+    }
+    
+    /**
+     * Temps passé dans le pilote JDBC depuis demarrer() (nanosecondes), ou 0 si aucun comptage en cours
+     */
+    public static long dureeCouranteNanos() {
+        Mesure mesure = MESURE.get();
+        return mesure != null ? mesure.dureeNanos : 0;
+    }
+    
+    /**
+     * Ajoute au comptage courant le temps d'exécution d'une requête (voir SqlTimingListener)
+     */
+    static void ajouterDuree(long nanos) {
+        Mesure mesure = MESURE.get();
+        if (mesure != null) {
+            mesure.dureeNanos += nanos;
+        }
+    }
+    
+    /**
+     * Termine le comptage, l'agrège par endpoint et retourne le nombre de requêtes
+     */
+    public static int arreter() {
+        Mesure mesure = MESURE.get();
+        MESURE.remove();
+        if (mesure == null) {
+            return 0;
+        }
+        STATISTIQUES.computeIfAbsent(mesure.endpoint, e -> new Statistique()).enregistrer(mesure.requetes);
+        return mesure.requetes;
+    }
+    
+    /**
+     * Détache le comptage du thread courant (requête asynchrone) sans l'enregistrer
+     * @return Mesure opaque à passer à reprendre() lors du dispatch asynchrone, ou null
+     */
+    public static Object suspendre() {
+        Mesure mesure = MESURE.get();
+        MESURE.remove();
+        return mesure;
+    }
+    
+    /**
+     * Rattache au thread courant un comptage suspendu
+     */
+    public static void reprendre(Object mesure) {
+        if (mesure instanceof Mesure m) {
+            MESURE.set(m);
+        }
+    }
+    
+    /**
+     * Statistiques par endpoint : appels, total et maximum de requêtes SQL
+     */
+    public static Map<String, Map<String, Long>> statistiques() {
+        Map<String, Map<String, Long>> resultat = new LinkedHashMap<>();
+        STATISTIQUES.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> resultat.put(e.getKey(), e.getValue().enMap()));
+        return resultat;
+    }
+    
+    private static final class Mesure {
+        final String endpoint;
+        final int budget;
+        final boolean strict;
+        int requetes;
+        long dureeNanos;
+        
+        Mesure(String endpoint, int budget, boolean strict) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+            this.strict = strict;
+        }
+    }
+    
+    private static final class Statistique {
+        final AtomicLong appels = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final LongAccumulator max = new LongAccumulator(Long::max, 0);
+        
+        void enregistrer(int requetes) {
+            appels.incrementAndGet();
+            total.addAndGet(requetes);
+            max.accumulate(requetes);
+        }
+        
+        Map<String, Long> enMap() {
+            Map<String, Long> m = new LinkedHashMap<>();
+            m.put("appels", appels.get());
+            m.put("total", total.get());
+            m.put("max", max.get());
+            return m;
+        }
+    }
+    
+    /**
+     * Levée en mode strict quand un endpoint dépasse son budget de requêtes
+     */
+    public static class QueryBudgetExceededException extends RuntimeException {
+        public QueryBudgetExceededException(String endpoint, int budget, int requetes, String sql) {
+            super("Budget SQL dépassé pour " + endpoint + " : " + requetes + " requêtes (budget " + budget
+                  + "). Dernière requête : " + sql);
+        }
+    }
+}
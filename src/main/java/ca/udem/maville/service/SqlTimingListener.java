@@ -0,0 +1,36 @@
+package ca.udem.maville.service;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mesure le temps d'exécution JDBC des requêtes d'une session Hibernate et l'ajoute au comptage
+ * de SqlStatementCounter (même thread, même portée que le nombre de requêtes)
+ * 
+ * Enregistré via hibernate.session.events.auto : une instance par session, utilisée par un seul
+ * thread à la fois. Le temps de lecture des ResultSet n'est pas inclus.
+ */
+public class SqlTimingListener implements SessionEventListener {
+    
+    private long debutRequete;
+    private long debutLot;
+    
+    @Override
+    public void jdbcExecuteStatementStart() {
+        debutRequete = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.ajouterDuree(System.nanoTime() - debutRequete);
+    }
+    
+    @Override
+    public void jdbcExecuteBatchStart() {
+        debutLot = System.nanoTime();
+    }
+    
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.ajouterDuree(System.nanoTime() - debutLot);
+    }
+}
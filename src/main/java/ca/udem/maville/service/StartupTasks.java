@@ -0,0 +1,151 @@
+package ca.udem.maville.service;
+
+import ca.udem.maville.api.MontrealApiService;
+import ca.udem.maville.service.search.SearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tâches de démarrage exécutées en arrière-plan, pendant que l'application sert déjà le trafic
+ * 
+ * 1. données de démonstration si la base est vide (maville.startup.sample-data.enabled)
+ * 2. préchauffage (maville.startup.warmup.enabled) : travaux de Montréal et projets en cache,
+ *    première page des problèmes (plan de requête, pool JDBC), index de recherche
+ * 
+ * Les durées (démarrage, données initiales, préchauffage), ainsi que les profils actifs, le nombre
+ * de beans et le heap utilisé une fois prêt (comparaison des rôles api / streaming / worker),
+ * sont exposées par statistiques(). Les durées des tâches d'arrière-plan sont aussi publiées
+ * (maville.startup.task.duration{task=...}) ; celles de Spring le sont par Boot (application.ready.time).
+ */
+@Service
+public class StartupTasks implements MeterBinder {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTasks.class);
+    
+    private final DatabaseStorageService dbStorage;
+    private final MontrealApiService montrealApiService;
+    private final SearchIndex searchIndex;
+    private final boolean donneesInitiales;
+    private final boolean prechauffage;
+    private final String[] profils;
+    
+    private volatile long demarrageMs = -1;
+    private volatile long demarrageJvmMs = -1;
+    private volatile int beans = -1;
+    private volatile long heapPretMo = -1;
+    private volatile long donneesInitialesMs = -1;
+    private volatile long prechauffageMs = -1;
+    private volatile boolean termine = false;
+    
+    public StartupTasks(DatabaseStorageService dbStorage, @Lazy MontrealApiService montrealApiService,
+                        SearchIndex searchIndex,
+                        @Value("${maville.startup.sample-data.enabled:true}") boolean donneesInitiales,
+                        @Value("${maville.startup.warmup.enabled:true}") boolean prechauffage,
+                        Environment environment) {
+        this.dbStorage = dbStorage;
+        this.montrealApiService = montrealApiService;
+        this.searchIndex = searchIndex;
+        this.donneesInitiales = donneesInitiales;
+        this.prechauffage = prechauffage;
+        this.profils = environment.getActiveProfiles();
+    }
+    
+    /**
+     * Enregistre la durée de démarrage de Spring (contexte prêt) et de la JVM, le nombre de beans
+     * et le heap utilisé à cet instant (avant les tâches d'arrière-plan)
+     */
+    public void demarrageTermine(Duration tempsSpring, int nombreBeans) {
+        demarrageMs = tempsSpring != null ? tempsSpring.toMillis() : -1;
+        demarrageJvmMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        beans = nombreBeans;
+        heapPretMo = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        logger.info("Application prête en {} ms (JVM: {} ms, profils: {}, {} beans, heap: {} Mo)",
+                    demarrageMs, demarrageJvmMs, Arrays.toString(profils), beans, heapPretMo);
+    }
+    
+    @Async
+    public CompletableFuture<Void> executer() {
+        if (donneesInitiales) {
+            long debut = System.currentTimeMillis();
+            try {
+                dbStorage.initializeWithSampleData();
+                // Après le commit et avant le préchauffage : listes mises en cache vides pendant l'initialisation
+                dbStorage.viderCachesListes();
+                logger.info("Data initialized successfully");
+            } catch (Exception e) {
+                logger.warn("Unable to initialize data (PostgreSQL not available?): {}", e.getMessage());
+            }
+            donneesInitialesMs = System.currentTimeMillis() - debut;
+        }
+        
+        if (prechauffage) {
+            prechauffer();
+        }
+        termine = true;
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    private void prechauffer() {
+        long debut = System.currentTimeMillis();
+        // Chaque étape est indépendante : un échec (API de Montréal indisponible) n'arrête pas les autres
+        etape("travauxMontreal", () -> montrealApiService.getTravauxEnCours(50));
+        etape("projets", dbStorage::findAllProjets);
+        etape("problemes", () -> dbStorage.findNonResolusViews(null, null, 0, 10));
+        etape("recherche", () -> searchIndex.rechercherProblemes("travaux", PageRequest.of(0, 1)));
+        prechauffageMs = System.currentTimeMillis() - debut;
+        logger.info("Préchauffage terminé en {} ms", prechauffageMs);
+    }
+    
+    private void etape(String nom, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            logger.warn("Préchauffage '{}' ignoré: {}", nom, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        // NaN tant que la tâche n'est pas terminée (ou si elle est désactivée)
+        TimeGauge.builder("maville.startup.task.duration", this, TimeUnit.MILLISECONDS,
+                          t -> t.donneesInitialesMs >= 0 ? t.donneesInitialesMs : Double.NaN)
+            .description("Durée des tâches de démarrage en arrière-plan")
+            .tag("task", "sample-data")
+            .register(registry);
+        TimeGauge.builder("maville.startup.task.duration", this, TimeUnit.MILLISECONDS,
+                          t -> t.prechauffageMs >= 0 ? t.prechauffageMs : Double.NaN)
+            .description("Durée des tâches de démarrage en arrière-plan")
+            .tag("task", "warmup")
+            .register(registry);
+    }
+    
+    public Map<String, Object> statistiques() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("profils", Arrays.asList(profils));
+        stats.put("demarrageMs", demarrageMs);
+        stats.put("demarrageJvmMs", demarrageJvmMs);
+        stats.put("beans", beans);
+        stats.put("heapPretMo", heapPretMo);
+        stats.put("donneesInitialesMs", donneesInitialesMs);
+        stats.put("prechauffageMs", prechauffageMs);
+        stats.put("tachesTerminees", termine);
+        return stats;
+    }
+}
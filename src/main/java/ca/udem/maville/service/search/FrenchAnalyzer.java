@@ -0,0 +1,77 @@
+package ca.udem.maville.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Analyse de texte français pour l'index en mémoire, proche de la configuration maville_fr :
+ * minuscules, suppression des accents (unaccent), mots vides, racinisation légère
+ * 
+ * La racinisation est volontairement minimale (pluriels et suffixes fréquents) :
+ * "déneigement", "déneiger" et "deneigé" donnent tous "deneig".
+ */
+final class FrenchAnalyzer {
+    
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+    
+    private static final Set<String> MOTS_VIDES = Set.of(
+        "a", "au", "aux", "avec", "ce", "ces", "c", "d", "dans", "de", "des", "du", "elle", "en", "est",
+        "et", "il", "ils", "j", "l", "la", "le", "les", "leur", "lui", "m", "ma", "mais", "me", "mes",
+        "n", "ne", "nos", "notre", "nous", "on", "ou", "par", "pas", "pour", "qu", "que", "qui", "s",
+        "sa", "se", "ses", "son", "sont", "sur", "t", "ta", "te", "tes", "ton", "tu", "un", "une", "vos",
+        "votre", "vous", "y"
+    );
+    
+    // Du plus long au plus court : un seul suffixe retiré par mot
+    private static final String[] SUFFIXES = {
+        "issement", "ements", "ement", "ations", "ation", "ateurs", "ateur", "ments", "ment",
+        "euses", "euse", "eurs", "eur", "iques", "ique", "istes", "iste", "ees", "ee", "er", "es", "e"
+    };
+    
+    private static final int RACINE_MIN = 3;
+    
+    private FrenchAnalyzer() {
+    }
+    
+    /**
+     * Termes indexés d'un texte (dans l'ordre, doublons conservés pour les fréquences)
+     */
+    static List<String> analyser(String texte) {
+        List<String> termes = new ArrayList<>();
+        if (texte == null || texte.isBlank()) {
+            return termes;
+        }
+        for (String mot : SEPARATEURS.split(normaliser(texte))) {
+            if (!mot.isEmpty() && !MOTS_VIDES.contains(mot)) {
+                termes.add(raciniser(mot));
+            }
+        }
+        return termes;
+    }
+    
+    static String normaliser(String texte) {
+        String sansAccents = DIACRITIQUES.matcher(Normalizer.normalize(texte, Normalizer.Form.NFD)).replaceAll("");
+        return sansAccents.toLowerCase(Locale.ROOT);
+    }
+    
+    static String raciniser(String mot) {
+        if (mot.length() <= RACINE_MIN || !Character.isLetter(mot.charAt(mot.length() - 1))) {
+            return mot;
+        }
+        String racine = mot;
+        if ((racine.endsWith("s") || racine.endsWith("x")) && racine.length() > RACINE_MIN) {
+            racine = racine.substring(0, racine.length() - 1);
+        }
+        for (String suffixe : SUFFIXES) {
+            if (racine.endsWith(suffixe) && racine.length() - suffixe.length() >= RACINE_MIN) {
+                return racine.substring(0, racine.length() - suffixe.length());
+            }
+        }
+        return racine;
+    }
+}
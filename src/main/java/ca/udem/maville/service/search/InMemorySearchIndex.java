@@ -0,0 +1,91 @@
+package ca.udem.maville.service.search;
+
+import ca.udem.maville.entity.ProblemeEntity;
+import ca.udem.maville.entity.ProjetEntity;
+import ca.udem.maville.repository.ProblemeRepository;
+import ca.udem.maville.repository.ProjetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Index de recherche embarqué : index inversés en mémoire (BM25), propres à l'instance
+ * 
+ * Construit depuis la base à la première recherche (ou sur SearchIndexEvent.Reconstruction),
+ * puis tenu à jour document par document après chaque commit. Les mises à jour et la
+ * reconstruction sont sérialisées : un événement reçu pendant un rechargement est appliqué
+ * après lui (réindexer un document déjà chargé ne change rien).
+ */
+public class InMemorySearchIndex implements SearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySearchIndex.class);
+    
+    private final ProblemeRepository problemeRepository;
+    private final ProjetRepository projetRepository;
+    
+    private volatile InvertedIndex problemes = new InvertedIndex();
+    private volatile InvertedIndex projets = new InvertedIndex();
+    private volatile boolean construit = false;
+    
+    public InMemorySearchIndex(ProblemeRepository problemeRepository, ProjetRepository projetRepository) {
+        this.problemeRepository = problemeRepository;
+        this.projetRepository = projetRepository;
+    }
+    
+    @Override
+    public Page<SearchHit> rechercherProblemes(String texte, Pageable pageable) {
+        assurerConstruit();
+        return problemes.rechercher(RequeteRecherche.analyser(texte), pageable);
+    }
+    
+    @Override
+    public Page<SearchHit> rechercherProjets(String texte, Pageable pageable) {
+        assurerConstruit();
+        return projets.rechercher(RequeteRecherche.analyser(texte), pageable);
+    }
+    
+    @Override
+    public synchronized void indexer(SearchDocument document) {
+        if (!construit || document.id() == null) {
+            return; // sera chargé par la construction initiale
+        }
+        if (SearchDocument.PROJET.equals(document.source())) {
+            projets.indexer(document);
+        } else {
+            problemes.indexer(document);
+        }
+    }
+    
+    @Override
+    public synchronized void reconstruire() {
+        long debut = System.currentTimeMillis();
+        InvertedIndex nouveauxProblemes = new InvertedIndex();
+        for (ProblemeEntity p : problemeRepository.findAll()) {
+            nouveauxProblemes.indexer(SearchDocument.from(p));
+        }
+        InvertedIndex nouveauxProjets = new InvertedIndex();
+        for (ProjetEntity p : projetRepository.findAll()) {
+            nouveauxProjets.indexer(SearchDocument.from(p));
+        }
+        problemes = nouveauxProblemes;
+        projets = nouveauxProjets;
+        construit = true;
+        logger.info("Index de recherche en mémoire construit: {} problèmes, {} projets ({} ms)",
+            nouveauxProblemes.taille(), nouveauxProjets.taille(), System.currentTimeMillis() - debut);
+    }
+    
+    private void assurerConstruit() {
+        if (!construit) {
+            synchronized (this) {
+                if (!construit) {
+                    reconstruire();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public String nom() {
+        return "memoire";
+    }
+}
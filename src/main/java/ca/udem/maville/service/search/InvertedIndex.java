@@ -0,0 +1,155 @@
+package ca.udem.maville.service.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé d'une collection (problèmes ou projets) avec classement BM25
+ * 
+ * Les termes du lieu sont comptés deux fois (équivalent du poids A de la configuration PostgreSQL).
+ * Lectures concurrentes, écritures exclusives (les écritures sont rares : une par création/modification).
+ */
+class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int POIDS_LIEU = 2;
+    
+    private record Entree(SearchDocument document, Map<String, Integer> frequences, int longueur) {
+    }
+    
+    private final Map<Long, Entree> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private long longueurTotale = 0;
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+    
+    void indexer(SearchDocument document) {
+        Map<String, Integer> frequences = new HashMap<>();
+        int longueur = 0;
+        for (String terme : FrenchAnalyzer.analyser(document.lieu())) {
+            frequences.merge(terme, POIDS_LIEU, Integer::sum);
+            longueur += POIDS_LIEU;
+        }
+        for (String terme : FrenchAnalyzer.analyser(document.description())) {
+            frequences.merge(terme, 1, Integer::sum);
+            longueur++;
+        }
+        
+        verrou.writeLock().lock();
+        try {
+            retirer(document.id());
+            documents.put(document.id(), new Entree(document, frequences, longueur));
+            for (String terme : frequences.keySet()) {
+                postings.computeIfAbsent(terme, t -> new HashSet<>()).add(document.id());
+            }
+            longueurTotale += longueur;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+    
+    // Appelé sous le verrou d'écriture
+    private void retirer(Long id) {
+        Entree ancienne = documents.remove(id);
+        if (ancienne == null) {
+            return;
+        }
+        longueurTotale -= ancienne.longueur();
+        for (String terme : ancienne.frequences().keySet()) {
+            Set<Long> ids = postings.get(terme);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(terme);
+            }
+        }
+    }
+    
+    int taille() {
+        verrou.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+    
+    Page<SearchHit> rechercher(RequeteRecherche requete, Pageable pageable) {
+        if (requete.estVide()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        
+        List<SearchHit> resultats = new ArrayList<>();
+        verrou.readLock().lock();
+        try {
+            Set<Long> candidats = new HashSet<>();
+            for (RequeteRecherche.Clause clause : requete.clauses()) {
+                candidats.addAll(correspondances(clause));
+            }
+            
+            int total = documents.size();
+            double longueurMoyenne = total > 0 ? (double) longueurTotale / total : 1.0;
+            Map<String, Double> idf = new HashMap<>();
+            for (String terme : requete.termesPositifs()) {
+                int df = postings.getOrDefault(terme, Set.of()).size();
+                idf.put(terme, Math.log(1 + (total - df + 0.5) / (df + 0.5)));
+            }
+            
+            for (Long id : candidats) {
+                Entree entree = documents.get(id);
+                double norme = K1 * (1 - B + B * entree.longueur() / longueurMoyenne);
+                double score = 0;
+                for (Map.Entry<String, Double> e : idf.entrySet()) {
+                    int tf = entree.frequences().getOrDefault(e.getKey(), 0);
+                    if (tf > 0) {
+                        score += e.getValue() * tf * (K1 + 1) / (tf + norme);
+                    }
+                }
+                resultats.add(new SearchHit(entree.document(), score));
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+        
+        // Même ordre que la requête SQL : score décroissant puis id
+        resultats.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparing(h -> h.document().id()));
+        int debut = (int) Math.min(pageable.getOffset(), resultats.size());
+        int fin = Math.min(debut + pageable.getPageSize(), resultats.size());
+        return new PageImpl<>(new ArrayList<>(resultats.subList(debut, fin)), pageable, resultats.size());
+    }
+    
+    // Appelé sous le verrou de lecture : intersection des termes requis, moins les exclus
+    private Set<Long> correspondances(RequeteRecherche.Clause clause) {
+        Set<Long> ids = null;
+        for (String terme : clause.requis()) {
+            Set<Long> avecTerme = postings.get(terme);
+            if (avecTerme == null) {
+                return Set.of();
+            }
+            if (ids == null) {
+                ids = new HashSet<>(avecTerme);
+            } else {
+                ids.retainAll(avecTerme);
+            }
+            if (ids.isEmpty()) {
+                return ids;
+            }
+        }
+        for (String terme : clause.exclus()) {
+            Set<Long> avecTerme = postings.get(terme);
+            if (avecTerme != null) {
+                ids.removeAll(avecTerme);
+            }
+        }
+        return ids;
+    }
+}
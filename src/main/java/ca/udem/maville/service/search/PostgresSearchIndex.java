@@ -0,0 +1,70 @@
+package ca.udem.maville.service.search;
+
+import ca.udem.maville.modele.StatutProjet;
+import ca.udem.maville.modele.TypeTravaux;
+import ca.udem.maville.repository.ProblemeRepository;
+import ca.udem.maville.repository.ProjetRepository;
+import ca.udem.maville.repository.projection.ProblemeSearchView;
+import ca.udem.maville.repository.projection.ProjetSearchView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Recherche PostgreSQL (websearch_to_tsquery + ts_rank_cd, voir FullTextSearchSetup)
+ * Les colonnes tsvector sont générées : rien à maintenir côté application
+ */
+public class PostgresSearchIndex implements SearchIndex {
+    
+    private final ProblemeRepository problemeRepository;
+    private final ProjetRepository projetRepository;
+    
+    public PostgresSearchIndex(ProblemeRepository problemeRepository, ProjetRepository projetRepository) {
+        this.problemeRepository = problemeRepository;
+        this.projetRepository = projetRepository;
+    }
+    
+    @Override
+    public Page<SearchHit> rechercherProblemes(String texte, Pageable pageable) {
+        return problemeRepository.rechercher(texte, pageable).map(PostgresSearchIndex::versResultat);
+    }
+    
+    @Override
+    public Page<SearchHit> rechercherProjets(String texte, Pageable pageable) {
+        return projetRepository.rechercher(texte, pageable).map(PostgresSearchIndex::versResultat);
+    }
+    
+    @Override
+    public void indexer(SearchDocument document) {
+        // Colonne générée STORED : mise à jour par PostgreSQL dans la même transaction
+    }
+    
+    @Override
+    public void reconstruire() {
+        // Idem
+    }
+    
+    @Override
+    public String nom() {
+        return "postgres";
+    }
+    
+    private static SearchHit versResultat(ProblemeSearchView p) {
+        return new SearchHit(new SearchDocument(
+            SearchDocument.PROBLEME,
+            p.getId(),
+            p.getLieu(),
+            p.getDescription(),
+            p.getTypeProbleme() != null ? TypeTravaux.valueOf(p.getTypeProbleme()).getDescription() : null
+        ), p.getScore() != null ? p.getScore() : 0.0);
+    }
+    
+    private static SearchHit versResultat(ProjetSearchView p) {
+        return new SearchHit(new SearchDocument(
+            SearchDocument.PROJET,
+            p.getId(),
+            p.getLocalisation(),
+            p.getDescriptionProjet(),
+            p.getStatut() != null ? StatutProjet.valueOf(p.getStatut()).getDescription() : null
+        ), p.getScore() != null ? p.getScore() : 0.0);
+    }
+}
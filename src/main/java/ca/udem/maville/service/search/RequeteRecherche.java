@@ -0,0 +1,92 @@
+package ca.udem.maville.service.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Requête analysée, même syntaxe que websearch_to_tsquery :
+ * mots séparés par des espaces = ET, "expression" = tous ses mots, -mot = exclusion, OR = alternative
+ * 
+ * Une requête est une disjonction de clauses; un document correspond à une clause s'il contient
+ * tous ses termes requis et aucun de ses termes exclus. Les expressions entre guillemets ne
+ * vérifient pas l'adjacence des mots (l'index ne conserve pas les positions).
+ */
+record RequeteRecherche(List<Clause> clauses) {
+    
+    record Clause(Set<String> requis, Set<String> exclus) {
+    }
+    
+    static RequeteRecherche analyser(String texte) {
+        List<Clause> clauses = new ArrayList<>();
+        Set<String> requis = new LinkedHashSet<>();
+        Set<String> exclus = new LinkedHashSet<>();
+        
+        int i = 0;
+        int n = texte != null ? texte.length() : 0;
+        while (i < n) {
+            char c = texte.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            boolean exclusion = c == '-';
+            if (exclusion) {
+                i++;
+                if (i >= n) {
+                    break;
+                }
+                c = texte.charAt(i);
+            }
+            int fin;
+            String fragment;
+            if (c == '"') {
+                fin = texte.indexOf('"', i + 1);
+                if (fin < 0) {
+                    fin = n;
+                }
+                fragment = texte.substring(i + 1, fin);
+                i = fin + 1;
+            } else {
+                fin = i;
+                while (fin < n && !Character.isWhitespace(texte.charAt(fin))) {
+                    fin++;
+                }
+                fragment = texte.substring(i, fin);
+                i = fin;
+                if (!exclusion && "or".equalsIgnoreCase(fragment)) {
+                    fermer(clauses, requis, exclus);
+                    requis = new LinkedHashSet<>();
+                    exclus = new LinkedHashSet<>();
+                    continue;
+                }
+            }
+            (exclusion ? exclus : requis).addAll(FrenchAnalyzer.analyser(fragment));
+        }
+        fermer(clauses, requis, exclus);
+        return new RequeteRecherche(clauses);
+    }
+    
+    private static void fermer(List<Clause> clauses, Set<String> requis, Set<String> exclus) {
+        // Une clause sans terme requis ne correspondrait à rien (comme websearch_to_tsquery)
+        if (!requis.isEmpty()) {
+            clauses.add(new Clause(requis, exclus));
+        }
+    }
+    
+    boolean estVide() {
+        return clauses.isEmpty();
+    }
+    
+    /**
+     * Termes qui contribuent au score
+     */
+    Set<String> termesPositifs() {
+        Set<String> termes = new LinkedHashSet<>();
+        for (Clause clause : clauses) {
+            termes.addAll(clause.requis());
+        }
+        return termes;
+    }
+}
@@ -0,0 +1,41 @@
+package ca.udem.maville.service.search;
+
+import ca.udem.maville.entity.ProblemeEntity;
+import ca.udem.maville.entity.ProjetEntity;
+
+/**
+ * Document indexable : un problème ou un projet réduit aux champs recherchés
+ * @param source "probleme" ou "projet"
+ * @param lieu Champ principal (lieu / localisation), pèse plus que la description
+ * @param categorie Libellé du type de travaux (problème) ou du statut (projet)
+ */
+public record SearchDocument(
+    String source,
+    Long id,
+    String lieu,
+    String description,
+    String categorie
+) {
+    public static final String PROBLEME = "probleme";
+    public static final String PROJET = "projet";
+    
+    public static SearchDocument from(ProblemeEntity p) {
+        return new SearchDocument(
+            PROBLEME,
+            p.getId(),
+            p.getLieu(),
+            p.getDescription(),
+            p.getTypeProbleme() != null ? p.getTypeProbleme().getDescription() : null
+        );
+    }
+    
+    public static SearchDocument from(ProjetEntity p) {
+        return new SearchDocument(
+            PROJET,
+            p.getId(),
+            p.getLocalisation(),
+            p.getDescriptionProjet(),
+            p.getStatut() != null ? p.getStatut().getDescription() : null
+        );
+    }
+}
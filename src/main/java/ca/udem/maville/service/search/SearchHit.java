@@ -0,0 +1,7 @@
+package ca.udem.maville.service.search;
+
+/**
+ * Document trouvé et son score de pertinence (plus grand = plus pertinent)
+ */
+public record SearchHit(SearchDocument document, double score) {
+}
@@ -0,0 +1,35 @@
+package ca.udem.maville.service.search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Index de recherche plein texte sur les problèmes et les projets
+ * 
+ * Deux implémentations, choisies par maville.search.backend (voir SearchIndexConfig) :
+ * - PostgresSearchIndex : tsvector + GIN, maintenu par PostgreSQL lui-même
+ * - InMemorySearchIndex : index inversé BM25 en mémoire (H2, tests, base sans unaccent)
+ * 
+ * La requête accepte la syntaxe usuelle : "expression exacte", -exclusion, OR
+ */
+public interface SearchIndex {
+    
+    Page<SearchHit> rechercherProblemes(String texte, Pageable pageable);
+    
+    Page<SearchHit> rechercherProjets(String texte, Pageable pageable);
+    
+    /**
+     * Ajoute ou remplace un document (appelé après le commit de l'écriture)
+     */
+    void indexer(SearchDocument document);
+    
+    /**
+     * Recharge l'index depuis la base
+     */
+    void reconstruire();
+    
+    /**
+     * Nom du moteur, exposé dans les réponses de recherche
+     */
+    String nom();
+}
@@ -0,0 +1,16 @@
+package ca.udem.maville.service.search;
+
+/**
+ * Événements publiés par DatabaseStorageService pour tenir l'index de recherche à jour
+ * Traités après le commit (voir SearchIndexUpdater)
+ */
+public sealed interface SearchIndexEvent {
+    
+    /** Un problème ou un projet a été créé ou modifié */
+    record DocumentModifie(SearchDocument document) implements SearchIndexEvent {
+    }
+    
+    /** Écritures en masse (données initiales) : l'index doit être reconstruit */
+    record Reconstruction() implements SearchIndexEvent {
+    }
+}
@@ -0,0 +1,41 @@
+package ca.udem.maville.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applique à l'index les événements publiés par DatabaseStorageService, après le commit :
+ * une transaction annulée ne laisse aucune trace dans l'index
+ */
+@Component
+public class SearchIndexUpdater {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexUpdater.class);
+    
+    private final SearchIndex searchIndex;
+    
+    public SearchIndexUpdater(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void documentModifie(SearchIndexEvent.DocumentModifie evenement) {
+        try {
+            searchIndex.indexer(evenement.document());
+        } catch (Exception e) {
+            // L'écriture est déjà validée : ne pas la faire échouer pour l'index
+            logger.warn("Indexation de {} {} impossible: {}", evenement.document().source(),
+                evenement.document().id(), e.getMessage());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void reconstruction(SearchIndexEvent.Reconstruction evenement) {
+        try {
+            searchIndex.reconstruire();
+        } catch (Exception e) {
+            logger.warn("Reconstruction de l'index de recherche impossible: {}", e.getMessage());
+        }
+    }
+}
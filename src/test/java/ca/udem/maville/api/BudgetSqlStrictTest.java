@@ -0,0 +1,62 @@
+package ca.udem.maville.api;
+
+import ca.udem.maville.service.SqlStatementCounter.QueryBudgetExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Base des tests d'endpoints en mode strict (maville.sql.budget.strict=true)
+ *
+ * La requête SQL qui dépasse le @QueryBudget de l'endpoint lève QueryBudgetExceededException :
+ * respecteBudget() échoue alors, depasseBudget() vérifie au contraire que l'appel a échoué ainsi.
+ */
+@SpringBootTest(properties = "maville.sql.budget.strict=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class BudgetSqlStrictTest {
+    
+    @Autowired
+    protected MockMvc mockMvc;
+    
+    /**
+     * Exécute la requête et vérifie qu'aucune requête SQL n'a dépassé le budget
+     */
+    protected MvcResult respecteBudget(RequestBuilder requete) throws Exception {
+        MvcResult resultat = mockMvc.perform(requete).andReturn();
+        QueryBudgetExceededException depassement = depassement(resultat.getResolvedException());
+        if (depassement != null) {
+            fail(depassement.getMessage());
+        }
+        return resultat;
+    }
+    
+    /**
+     * Exécute la requête et vérifie qu'elle a échoué (500) sur un dépassement du budget SQL
+     */
+    protected QueryBudgetExceededException depasseBudget(RequestBuilder requete) throws Exception {
+        MvcResult resultat = mockMvc.perform(requete).andReturn();
+        QueryBudgetExceededException depassement = depassement(resultat.getResolvedException());
+        assertTrue(depassement != null, "Budget SQL respecté, dépassement attendu");
+        assertEquals(500, resultat.getResponse().getStatus());
+        return depassement;
+    }
+    
+    private static QueryBudgetExceededException depassement(Throwable erreur) {
+        // Hibernate et Spring peuvent envelopper l'exception levée par SqlStatementCounter
+        for (Throwable t = erreur; t != null; t = t.getCause()) {
+            if (t instanceof QueryBudgetExceededException e) {
+                return e;
+            }
+        }
+        return null;
+    }
+}
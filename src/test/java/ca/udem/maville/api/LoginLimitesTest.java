@@ -0,0 +1,102 @@
+package ca.udem.maville.api;
+
+import ca.udem.maville.api.exception.TooManyRequestsException;
+import ca.udem.maville.api.security.PasswordVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Limites de /api/auth/login : seaux par IP et par identifiant, exécuteur BCrypt saturé (429 + Retry-After)
+ *
+ * Débits quasi nuls : un seau vidé ne se remplit pas pendant le test. Chaque test utilise ses
+ * propres IP et identifiants, les seaux étant partagés par le contexte.
+ */
+@SpringBootTest(properties = {
+    "maville.auth.rate-limit.identifier.capacity=2",
+    "maville.auth.rate-limit.identifier.per-minute=0.001",
+    "maville.auth.rate-limit.ip.capacity=3",
+    "maville.auth.rate-limit.ip.per-minute=0.001",
+    "maville.auth.verification.threads=1",
+    "maville.auth.verification.queue=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginLimitesTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+    
+    @Test
+    void seauParIdentifiantRenvoie429() throws Exception {
+        assertEquals(401, connexion("seau-identifiant@test.com", "10.0.1.1").getResponse().getStatus());
+        // Identifiant normalisé : casse et espaces n'ouvrent pas un nouveau seau
+        assertEquals(401, connexion(" Seau-Identifiant@test.com", "10.0.1.2").getResponse().getStatus());
+        
+        assertTropDeRequetes(connexion("seau-identifiant@test.com", "10.0.1.3"));
+    }
+    
+    @Test
+    void seauParIpRenvoie429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(401, connexion("seau-ip-" + i + "@test.com", "10.0.2.1").getResponse().getStatus());
+        }
+        
+        assertTropDeRequetes(connexion("seau-ip-3@test.com", "10.0.2.1"));
+    }
+    
+    @Test
+    void executeurSatureRenvoie429() throws Exception {
+        // Coût 14 : chaque vérification occupe le thread unique pendant environ une seconde
+        String hashLent = new BCryptPasswordEncoder(14).encode("correct");
+        CompletableFuture<Boolean> enCours = passwordVerifier.verifier("sature-1", "faux", hashLent);
+        CompletableFuture<Boolean> enFile = null;
+        // La file (1 place) se libère dès que le thread prend la première vérification
+        while (enFile == null) {
+            try {
+                enFile = passwordVerifier.verifier("sature-2", "faux", hashLent);
+            } catch (TooManyRequestsException e) {
+                Thread.onSpinWait();
+            }
+        }
+        try {
+            assertTropDeRequetes(connexion("sature@test.com", "10.0.3.1"));
+        } finally {
+            CompletableFuture.allOf(enCours, enFile).join();
+        }
+    }
+    
+    private MvcResult connexion(String identifiant, String ip) throws Exception {
+        MvcResult resultat = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"identifier\":\"" + identifiant + "\",\"password\":\"mauvais\"}")
+                .with(requete -> {
+                    requete.setRemoteAddr(ip);
+                    return requete;
+                }))
+            .andReturn();
+        // Vérification BCrypt asynchrone : la réponse n'est produite qu'au dispatch
+        return resultat.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(resultat)).andReturn() : resultat;
+    }
+    
+    private static void assertTropDeRequetes(MvcResult resultat) {
+        assertEquals(429, resultat.getResponse().getStatus());
+        assertNotNull(resultat.getResponse().getHeader("Retry-After"));
+    }
+}
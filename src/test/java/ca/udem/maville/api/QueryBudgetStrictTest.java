@@ -0,0 +1,53 @@
+package ca.udem.maville.api;
+
+import ca.udem.maville.api.util.QueryBudget;
+import ca.udem.maville.repository.PrestataireRepository;
+import ca.udem.maville.service.SqlStatementCounter.QueryBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Mode strict du budget SQL : un endpoint au-delà de son @QueryBudget échoue, les autres répondent
+ */
+@Import(QueryBudgetStrictTest.ControleurHorsBudget.class)
+class QueryBudgetStrictTest extends BudgetSqlStrictTest {
+    
+    @Test
+    void endpointDansSonBudgetRepond() throws Exception {
+        assertEquals(200, respecteBudget(get("/api/stpm/candidatures")).getResponse().getStatus());
+    }
+    
+    @Test
+    void endpointHorsBudgetEchoue() throws Exception {
+        QueryBudgetExceededException e = depasseBudget(get("/api/test/hors-budget"));
+        assertTrue(e.getMessage().contains("ControleurHorsBudget.deuxRequetes"), e.getMessage());
+    }
+    
+    /**
+     * Endpoint de test : deux requêtes SQL pour un budget d'une seule
+     */
+    @RestController
+    static class ControleurHorsBudget {
+        private final PrestataireRepository prestataireRepository;
+        
+        ControleurHorsBudget(PrestataireRepository prestataireRepository) {
+            this.prestataireRepository = prestataireRepository;
+        }
+        
+        @GetMapping("/api/test/hors-budget")
+        @QueryBudget(1)
+        public Map<String, Object> deuxRequetes() {
+            prestataireRepository.count();
+            prestataireRepository.findByNumeroEntreprise("0000000000");
+            return Map.of("status", "ok");
+        }
+    }
+}
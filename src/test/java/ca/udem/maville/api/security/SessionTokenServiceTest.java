@@ -0,0 +1,96 @@
+package ca.udem.maville.api.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Jetons de session : signature, expiration, altération et révocation
+ */
+class SessionTokenServiceTest {
+    
+    private static final String SECRET = "secret-des-tests";
+    
+    private final SessionTokenService sessions = new SessionTokenService(Duration.ofMinutes(30), SECRET);
+    
+    @Test
+    void jetonEmisEstValide() {
+        SessionTokenService.Session emise = sessions.emettre("RESIDENT", "marie@test.com", 42L);
+        
+        SessionTokenService.Session session = sessions.valider(emise.jeton()).orElseThrow();
+        
+        assertEquals("RESIDENT", session.type());
+        assertEquals("marie@test.com", session.identifiant());
+        assertEquals(42L, session.userId());
+        assertEquals(emise.expiration().getEpochSecond(), session.expiration().getEpochSecond());
+    }
+    
+    @Test
+    void identifiantAvecSeparateurConserve() {
+        String jeton = sessions.emettre("PRESTATAIRE", "a|b|c", null).jeton();
+        
+        SessionTokenService.Session session = sessions.valider(jeton).orElseThrow();
+        
+        assertEquals("a|b|c", session.identifiant());
+        assertEquals(null, session.userId());
+    }
+    
+    @Test
+    void jetonExpireRefuse() {
+        SessionTokenService courte = new SessionTokenService(Duration.ofSeconds(-1), SECRET);
+        
+        assertTrue(courte.valider(courte.emettre("RESIDENT", "marie@test.com", 1L).jeton()).isEmpty());
+    }
+    
+    @Test
+    void chargeUtileModifieeRefusee() {
+        String[] parties = sessions.emettre("RESIDENT", "marie@test.com", 1L).jeton().split("\\.");
+        String charge = new String(Base64.getUrlDecoder().decode(parties[1]), StandardCharsets.UTF_8);
+        String falsifiee = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(charge.replace("marie@test.com", "admin@test.com").getBytes(StandardCharsets.UTF_8));
+        
+        assertTrue(sessions.valider(parties[0] + "." + falsifiee + "." + parties[2]).isEmpty());
+    }
+    
+    @Test
+    void signatureModifieeRefusee() {
+        String jeton = sessions.emettre("RESIDENT", "marie@test.com", 1L).jeton();
+        // Premier caractère de la signature : ses 6 bits sont significatifs (pas le dernier)
+        int debut = jeton.lastIndexOf('.') + 1;
+        char c = jeton.charAt(debut);
+        String altere = jeton.substring(0, debut) + (c == 'A' ? 'B' : 'A') + jeton.substring(debut + 1);
+        
+        assertTrue(sessions.valider(altere).isEmpty());
+    }
+    
+    @Test
+    void jetonDUneAutreCleRefuse() {
+        SessionTokenService autre = new SessionTokenService(Duration.ofMinutes(30), "autre-secret");
+        
+        assertTrue(sessions.valider(autre.emettre("RESIDENT", "marie@test.com", 1L).jeton()).isEmpty());
+    }
+    
+    @Test
+    void jetonsMalFormesRefuses() {
+        assertEquals(Optional.empty(), sessions.valider(null));
+        assertEquals(Optional.empty(), sessions.valider(""));
+        assertEquals(Optional.empty(), sessions.valider("v1.abc"));
+        assertEquals(Optional.empty(), sessions.valider("v2.abc.def"));
+        assertEquals(Optional.empty(), sessions.valider("v1.@@@.###"));
+    }
+    
+    @Test
+    void jetonRevoqueRefuse() {
+        String jeton = sessions.emettre("RESIDENT", "marie@test.com", 1L).jeton();
+        
+        sessions.revoquer(jeton);
+        
+        assertTrue(sessions.valider(jeton).isEmpty());
+    }
+}
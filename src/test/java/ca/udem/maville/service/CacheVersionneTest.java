@@ -0,0 +1,58 @@
+package ca.udem.maville.service;
+
+import ca.udem.maville.entity.ProblemeEntity;
+import ca.udem.maville.entity.ResidentEntity;
+import ca.udem.maville.modele.Priorite;
+import ca.udem.maville.modele.TypeTravaux;
+import ca.udem.maville.repository.ProblemeRepository;
+import ca.udem.maville.repository.ResidentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listes en cache : une entrée chargée avant une écriture validée n'est plus servie,
+ * même si elle a été inscrite après le @CacheEvict de cette écriture
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheVersionneTest {
+    
+    @Autowired
+    private DatabaseStorageService dbStorage;
+    
+    @Autowired
+    private ContentVersionService contentVersions;
+    
+    @Autowired
+    private ProblemeRepository problemeRepository;
+    
+    @Autowired
+    private ResidentRepository residentRepository;
+    
+    @AfterEach
+    void nettoyer() {
+        problemeRepository.deleteAll();
+        residentRepository.deleteAll();
+    }
+    
+    @Test
+    void entreeAnterieureAUneEcritureIgnoree() {
+        int avant = dbStorage.findAllProblemes().size();
+        
+        // Écriture sans éviction : l'état qu'aurait laissé un chargement coalescé inscrit après le @CacheEvict
+        ResidentEntity declarant = residentRepository.save(
+            new ResidentEntity("Marie", "Test", "cache@test.com", "514-000-0000", "1 rue Test"));
+        problemeRepository.save(new ProblemeEntity("1 rue Test", TypeTravaux.values()[0], "Nid-de-poule",
+            declarant, Priorite.values()[0]));
+        assertEquals(avant, dbStorage.findAllProblemes().size(), "Cache servi tant que la version est inchangée");
+        
+        contentVersions.incrementer(ContentVersionService.PROBLEMES);
+        
+        assertEquals(avant + 1, dbStorage.findAllProblemes().size());
+    }
+}
@@ -0,0 +1,83 @@
+package ca.udem.maville.service;
+
+import ca.udem.maville.entity.CandidatureEntity;
+import ca.udem.maville.entity.PrestataireEntity;
+import ca.udem.maville.repository.CandidatureRepository;
+import ca.udem.maville.repository.PrestataireRepository;
+import ca.udem.maville.repository.projection.CandidatureListView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pagination des candidatures (GET /api/stpm/candidatures) : la page est découpée en SQL
+ * et le nombre de requêtes ne dépend pas du nombre de candidatures en base
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CandidaturePaginationTest {
+    
+    @Autowired
+    private DatabaseStorageService dbStorage;
+    
+    @Autowired
+    private PrestataireRepository prestataireRepository;
+    
+    @Autowired
+    private CandidatureRepository candidatureRepository;
+    
+    @AfterEach
+    void nettoyer() {
+        SqlStatementCounter.arreter();
+        SqlCapture.vider();
+        candidatureRepository.deleteAll();
+        prestataireRepository.deleteAll();
+    }
+    
+    @Test
+    void pageLimiteeEnSqlAvecNombreDeRequetesConstant() {
+        PrestataireEntity prestataire = prestataireRepository.save(
+            new PrestataireEntity("1234567890", "Construction Test", "Contact", "514-000-0000", "test@exemple.ca"));
+        
+        creerCandidatures(prestataire, 5);
+        int requetesPetiteBase = requetesPourPage();
+        
+        creerCandidatures(prestataire, 200);
+        int requetesGrandeBase = requetesPourPage();
+        
+        assertEquals(requetesPetiteBase, requetesGrandeBase, "Le nombre de requêtes doit rester constant");
+        assertEquals(2, requetesGrandeBase, "Page + comptage attendus");
+        assertTrue(SqlCapture.requetes().stream().anyMatch(SqlCapture::estLimitee),
+                   "La page doit être limitée en SQL : " + SqlCapture.requetes());
+    }
+    
+    private int requetesPourPage() {
+        SqlCapture.vider();
+        SqlStatementCounter.demarrer("test", -1, false);
+        Page<CandidatureListView> page = dbStorage.findCandidatureViews(0, 3);
+        int requetes = SqlStatementCounter.arreter();
+        
+        assertEquals(3, page.getNumberOfElements());
+        page.getContent().forEach(c -> assertEquals("Construction Test", c.getPrestataire()));
+        return requetes;
+    }
+    
+    private void creerCandidatures(PrestataireEntity prestataire, int nombre) {
+        List<CandidatureEntity> candidatures = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            candidatures.add(new CandidatureEntity(prestataire, List.of(), "Candidature " + i, 1000.0,
+                                                   LocalDate.now(), LocalDate.now().plusDays(5)));
+        }
+        candidatureRepository.saveAll(candidatures);
+    }
+}
@@ -0,0 +1,57 @@
+package ca.udem.maville.service;
+
+import ca.udem.maville.entity.NotificationEntity;
+import ca.udem.maville.repository.NotificationRepository;
+import ca.udem.maville.repository.projection.NotificationListView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Fenêtre des listes de notifications : toute la rétention (maville.notifications.retention-months)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationFenetreTest {
+    
+    private static final String EMAIL = "fenetre@test.com";
+    
+    @Autowired
+    private DatabaseStorageService dbStorage;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @AfterEach
+    void nettoyer() {
+        notificationRepository.deleteAll();
+    }
+    
+    @Test
+    void notificationsListeesJusquALaFinDeLaRetention() {
+        creer("récente", LocalDateTime.now().minusDays(2));
+        creer("six mois", LocalDateTime.now().minusMonths(6));
+        creer("hors rétention", LocalDateTime.now().minusMonths(14));
+        
+        List<NotificationListView> vues = dbStorage.findNotificationViewsByResident(EMAIL);
+        
+        assertEquals(List.of("récente", "six mois"), vues.stream().map(NotificationListView::getMessage).toList());
+    }
+    
+    private void creer(String message, LocalDateTime date) {
+        NotificationEntity notification = new NotificationEntity();
+        notification.setMessage(message);
+        notification.setResidentEmail(EMAIL);
+        notification.setTypeDestinataire("RESIDENT");
+        notification.setDestinataire(EMAIL);
+        notification.setDateCreation(date);
+        notificationRepository.save(notification);
+    }
+}
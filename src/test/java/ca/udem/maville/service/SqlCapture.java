@@ -0,0 +1,35 @@
+package ca.udem.maville.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * SqlStatementCounter qui conserve aussi le texte des requêtes (profil test, voir application-test.properties)
+ */
+public class SqlCapture extends SqlStatementCounter {
+    
+    private static final List<String> REQUETES = new CopyOnWriteArrayList<>();
+    
+    @Override
+    public String inspect(String sql) {
+        REQUETES.add(sql);
+        return super.inspect(sql);
+    }
+    
+    public static List<String> requetes() {
+        return List.copyOf(REQUETES);
+    }
+    
+    public static void vider() {
+        REQUETES.clear();
+    }
+    
+    /**
+     * Vrai si la requête limite ses lignes en SQL (LIMIT ou FETCH FIRST selon le dialecte)
+     */
+    public static boolean estLimitee(String sql) {
+        String s = sql.toLowerCase(Locale.ROOT);
+        return s.contains(" limit ") || s.contains(" fetch first ");
+    }
+}